@@ -0,0 +1,74 @@
+package seedu.allonus;
+
+import seedu.allonus.contacts.ContactsManager;
+import seedu.allonus.expense.ExpenseTracker;
+import seedu.allonus.modules.StudyManager;
+import seedu.allonus.tools.DatasetGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+
+/**
+ * Provides the data used by the benchmarks. All data comes from a <code>DatasetGenerator</code> with a
+ * fixed seed, so that results of different runs and releases are measured on exactly the same data.
+ */
+public class BenchmarkFixtures {
+    public static final long SEED = DatasetGenerator.DEFAULT_SEED;
+    public static final int RECORDS_PER_MODULE = 10;
+    public static final int RECORDS_PER_CONTACT = 10;
+    public static final PrintStream NULL_OUTPUT = new PrintStream(new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    });
+
+    /**
+     * Returns a new generator with the fixed seed and default settings.
+     *
+     * @return dataset generator.
+     */
+    public static DatasetGenerator newGenerator() {
+        return new DatasetGenerator(SEED, DatasetGenerator.DEFAULT_SKEW,
+                LocalDate.parse(DatasetGenerator.DEFAULT_FROM_DATE), LocalDate.parse(DatasetGenerator.DEFAULT_TO_DATE));
+    }
+
+    /**
+     * Writes a text data file with <code>recordCount</code> records, of which one in ten is a module
+     * and one in ten is a contact, and the rest are expenses.
+     *
+     * @param path path of the data file.
+     * @param recordCount number of records to write.
+     * @throws IOException when there is some error writing to the file.
+     */
+    public static void writeDataFile(String path, int recordCount) throws IOException {
+        int moduleCount = recordCount / RECORDS_PER_MODULE;
+        int contactCount = recordCount / RECORDS_PER_CONTACT;
+        newGenerator().writeDataFile(path, recordCount - moduleCount - contactCount, moduleCount, contactCount);
+    }
+
+    /**
+     * Removes all entries from the expense tracker, study manager and contacts manager.
+     *
+     * @param expenseTracker the expense tracker to be emptied.
+     * @param studyManager the study manager to be emptied.
+     * @param contactsManager the contacts manager to be emptied.
+     */
+    public static void clearManagers(ExpenseTracker expenseTracker, StudyManager studyManager,
+                                     ContactsManager contactsManager) {
+        for (int i = expenseTracker.getExpenseCount() - 1; i >= 0; i--) {
+            ExpenseTracker.loadRemove(i);
+        }
+        for (int i = studyManager.getModuleCount() - 1; i >= 0; i--) {
+            studyManager.loadRemove(i);
+        }
+        for (int i = contactsManager.getContactsCount() - 1; i >= 0; i--) {
+            contactsManager.loadRemove(i);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package seedu.allonus.contacts;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import seedu.allonus.BenchmarkFixtures;
+import seedu.allonus.tools.DatasetGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures splitting <code>recordCount</code> contact entries into their fields.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ContactParserBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int recordCount;
+
+    private String[] entries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DatasetGenerator generator = BenchmarkFixtures.newGenerator();
+        entries = new String[recordCount];
+        for (int i = 0; i < recordCount; i++) {
+            entries[i] = generator.nextContactEntry(i);
+        }
+    }
+
+    @Benchmark
+    public void getFieldStrings(Blackhole blackhole) {
+        for (String entry : entries) {
+            blackhole.consume(ContactParser.getFieldStrings(entry));
+        }
+    }
+}
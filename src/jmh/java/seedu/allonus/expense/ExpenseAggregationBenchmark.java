@@ -0,0 +1,86 @@
+package seedu.allonus.expense;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import seedu.allonus.BenchmarkFixtures;
+import seedu.allonus.tools.DatasetGenerator;
+import seedu.allonus.expense.exceptions.ExpenseAmountException;
+import seedu.allonus.expense.exceptions.ExpenseCurrencyException;
+import seedu.allonus.expense.exceptions.ExpenseEmptyFieldException;
+import seedu.allonus.expense.exceptions.ExpenseMissingFieldException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures totalling <code>recordCount</code> expenses in the calling thread and on the fork/join pool, to find
+ * the list size from which <code>ExpenseAggregation.PARALLEL_THRESHOLD</code> should split the list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExpenseAggregationBenchmark {
+    public static final String REMARK_KEYWORD = "a";
+
+    @Param({"1000", "4000", "16000", "32000", "65536", "131072", "262144", "1000000"})
+    public int recordCount;
+
+    @Param({"false", "true"})
+    public boolean isColumnar;
+
+    private List<Expense> expenses;
+
+    /**
+     * Generates the expenses, in an <code>ArrayList</code> or a <code>ColumnarExpenseList</code>.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws ExpenseAmountException, ExpenseMissingFieldException, ExpenseEmptyFieldException,
+            ExpenseCurrencyException {
+        DatasetGenerator generator = BenchmarkFixtures.newGenerator();
+        expenses = isColumnar ? new ColumnarExpenseList() : new ArrayList<>(recordCount);
+        for (int i = 0; i < recordCount; i++) {
+            String[] fields = ExpenseParser.parseNewExpense(generator.nextExpenseEntry(i));
+            expenses.add(new Expense(fields[0], fields[1], fields[2], fields[3]));
+        }
+    }
+
+    /**
+     * Totals all expenses by category and by month in the calling thread.
+     */
+    @Benchmark
+    public ExpenseAggregation.Totals sequential() {
+        return ExpenseAggregation.aggregate(expenses, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Totals all expenses by category and by month on the fork/join pool.
+     */
+    @Benchmark
+    public ExpenseAggregation.Totals parallel() {
+        return ExpenseAggregation.aggregate(expenses, null, 0);
+    }
+
+    /**
+     * Totals the expenses whose remarks contain <code>REMARK_KEYWORD</code> in the calling thread.
+     */
+    @Benchmark
+    public ExpenseAggregation.Totals sequentialFiltered() {
+        return ExpenseAggregation.aggregate(expenses, REMARK_KEYWORD, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Totals the expenses whose remarks contain <code>REMARK_KEYWORD</code> on the fork/join pool.
+     */
+    @Benchmark
+    public ExpenseAggregation.Totals parallelFiltered() {
+        return ExpenseAggregation.aggregate(expenses, REMARK_KEYWORD, 0);
+    }
+}
@@ -0,0 +1,115 @@
+package seedu.allonus.expense;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import seedu.allonus.BenchmarkFixtures;
+import seedu.allonus.tools.DatasetGenerator;
+import seedu.allonus.expense.exceptions.ExpenseAmountException;
+import seedu.allonus.expense.exceptions.ExpenseCurrencyException;
+import seedu.allonus.expense.exceptions.ExpenseEmptyFieldException;
+import seedu.allonus.expense.exceptions.ExpenseMissingFieldException;
+import seedu.allonus.ui.TextUi;
+
+import java.io.ByteArrayInputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing and adding <code>recordCount</code> expenses, and finding expenses among them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExpenseTrackerBenchmark {
+    public static final String FIND_COMMANDS = "find #4242\nmenu\n";
+
+    @Param({"1000", "100000", "1000000"})
+    public int recordCount;
+
+    private final ExpenseTracker expenseTracker = new ExpenseTracker();
+    private String[] entries;
+    private PrintStream standardOutput;
+
+    /**
+     * Generates the expense entries and silences the output of the expense tracker.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        DatasetGenerator generator = BenchmarkFixtures.newGenerator();
+        entries = new String[recordCount];
+        for (int i = 0; i < recordCount; i++) {
+            entries[i] = generator.nextExpenseEntry(i);
+        }
+        expenseTracker.getLogger().setLevel(java.util.logging.Level.OFF);
+        standardOutput = System.out;
+        System.setOut(BenchmarkFixtures.NULL_OUTPUT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(standardOutput);
+    }
+
+    /**
+     * Holds an expense tracker that already contains all expense entries.
+     */
+    @State(Scope.Benchmark)
+    public static class LoadedExpenseTracker {
+        @Setup(Level.Trial)
+        public void setUp(ExpenseTrackerBenchmark benchmark) {
+            benchmark.clearExpenses();
+            for (String entry : benchmark.entries) {
+                ExpenseTracker.loadAdd(entry);
+            }
+        }
+    }
+
+    private void clearExpenses() {
+        for (int i = expenseTracker.getExpenseCount() - 1; i >= 0; i--) {
+            ExpenseTracker.loadRemove(i);
+        }
+    }
+
+    /**
+     * Parses every expense entry without adding it.
+     */
+    @Benchmark
+    public void parse(Blackhole blackhole) throws ExpenseAmountException, ExpenseMissingFieldException,
+            ExpenseEmptyFieldException, ExpenseCurrencyException {
+        for (String entry : entries) {
+            blackhole.consume(ExpenseParser.parseNewExpense(entry));
+        }
+    }
+
+    /**
+     * Parses and adds every expense entry to an empty expense tracker.
+     */
+    @Benchmark
+    public int add() {
+        clearExpenses();
+        for (String entry : entries) {
+            ExpenseTracker.loadAdd(entry);
+        }
+        return expenseTracker.getExpenseCount();
+    }
+
+    /**
+     * Runs a find command over all expenses in the expense tracker.
+     */
+    @Benchmark
+    public int find(LoadedExpenseTracker loadedExpenseTracker) {
+        TextUi ui = new TextUi(new ByteArrayInputStream(FIND_COMMANDS.getBytes(StandardCharsets.UTF_8)));
+        ExpenseTracker.expenseRunner(ui);
+        return expenseTracker.getExpenseCount();
+    }
+}
@@ -0,0 +1,55 @@
+package seedu.allonus.modules;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import seedu.allonus.BenchmarkFixtures;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures importing an NUSMods .ics calendar with <code>recordCount</code> events. Calendars are
+ * parsed into memory as a whole by ical4j, so the largest size is left out to keep the heap needed
+ * by the benchmark reasonable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ModuleCalendarReaderBenchmark {
+    @Param({"1000", "100000"})
+    public int recordCount;
+
+    private File icsFile;
+    private PrintStream standardOutput;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        icsFile = File.createTempFile("allonusBenchmark", ".ics");
+        BenchmarkFixtures.newGenerator().writeIcsFile(icsFile.getPath(), recordCount);
+        standardOutput = System.out;
+        System.setOut(BenchmarkFixtures.NULL_OUTPUT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(standardOutput);
+        icsFile.delete();
+    }
+
+    @Benchmark
+    public ArrayList<Module> parseIcsCalendar() {
+        ModuleCalendarReader.icsFilePath = icsFile.getPath();
+        return new ModuleCalendarReader().parseIcsCalendar();
+    }
+}
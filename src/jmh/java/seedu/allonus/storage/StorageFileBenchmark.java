@@ -0,0 +1,81 @@
+package seedu.allonus.storage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import seedu.allonus.BenchmarkFixtures;
+import seedu.allonus.contacts.ContactsManager;
+import seedu.allonus.expense.ExpenseTracker;
+import seedu.allonus.modules.StudyManager;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading the text data file into the managers/trackers and saving them back to it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StorageFileBenchmark {
+    public static final String FILE_NAME = "allonusBenchmarkData.txt";
+
+    @Param({"1000", "100000", "1000000"})
+    public int recordCount;
+
+    private final ExpenseTracker expenseTracker = new ExpenseTracker();
+    private final StudyManager studyManager = new StudyManager();
+    private final ContactsManager contactsManager = new ContactsManager();
+    private StorageFile storageFile;
+
+    /**
+     * Writes a data file with <code>recordCount</code> records and loads it once, so that there is
+     * data to be saved.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        StorageFile.setFields(contactsManager, expenseTracker, studyManager, FILE_NAME);
+        storageFile = new StorageFile();
+        storageFile.createFile();
+        storageFile.getLogger().setLevel(java.util.logging.Level.OFF);
+        expenseTracker.getLogger().setLevel(java.util.logging.Level.OFF);
+        studyManager.getLogger().setLevel(java.util.logging.Level.OFF);
+        contactsManager.getLogger().setLevel(java.util.logging.Level.OFF);
+        BenchmarkFixtures.writeDataFile(storageFile.getDatafileRelativePath(), recordCount);
+        storageFile.transferDataFromFileToList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFixtures.clearManagers(expenseTracker, studyManager, contactsManager);
+        Files.deleteIfExists(Paths.get(storageFile.getDatafileRelativePath()));
+    }
+
+    /**
+     * Loads the data file into empty managers/trackers.
+     */
+    @Benchmark
+    public int load() throws FileNotFoundException {
+        BenchmarkFixtures.clearManagers(expenseTracker, studyManager, contactsManager);
+        storageFile.transferDataFromFileToList();
+        return expenseTracker.getExpenseCount();
+    }
+
+    /**
+     * Rewrites the data file with the entries of all managers/trackers.
+     */
+    @Benchmark
+    public void save() throws IOException {
+        storageFile.writeDataToFile();
+    }
+}
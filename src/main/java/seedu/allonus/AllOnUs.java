@@ -3,9 +3,11 @@
 package seedu.allonus;
 
 import seedu.allonus.contacts.ContactsManager;
+import seedu.allonus.expense.ExchangeRates;
 import seedu.allonus.expense.ExpenseTracker;
 
 import seedu.allonus.storage.StorageFile;
+import seedu.allonus.storage.StorageWriter;
 
 import seedu.allonus.ui.TextUi;
 
@@ -20,6 +22,14 @@ import java.util.logging.Logger;
  */
 public class AllOnUs {
     public static final String FILE_NAME = "allonusData.txt";
+    public static final String SAVE_WINDOW_PROPERTY = "allonus.saveWindowMillis";
+    public static final String BINARY_SNAPSHOT_PROPERTY = "allonus.binarySnapshot";
+    public static final String SHARDED_STORAGE_PROPERTY = "allonus.shardedStorage";
+    public static final String PREFETCH_PROPERTY = "allonus.prefetch";
+    public static final String ARCHIVE_AFTER_DAYS_PROPERTY = "allonus.archiveAfterDays";
+    public static final String COLUMNAR_EXPENSES_PROPERTY = "allonus.columnarExpenses";
+    public static final String OUTLIER_WARNINGS_PROPERTY = "allonus.outlierWarnings";
+    public static final String BASE_CURRENCY_PROPERTY = "allonus.baseCurrency";
     private TextUi ui;
     private static Logger logger = Logger.getLogger("MenuLog");
 
@@ -136,9 +146,21 @@ public class AllOnUs {
         ExpenseTracker expenseTracker = new ExpenseTracker();
 
 
+        ExpenseTracker.setColumnarStore(Boolean.getBoolean(COLUMNAR_EXPENSES_PROPERTY));
+        ExpenseTracker.setBaseCurrency(System.getProperty(BASE_CURRENCY_PROPERTY, ExchangeRates.DEFAULT_BASE_CURRENCY));
+        ExpenseTracker.setOutlierWarnings(Boolean.parseBoolean(System.getProperty(OUTLIER_WARNINGS_PROPERTY, "true")));
         StorageFile.setFields(contactsManager, expenseTracker, studyManager, FILE_NAME);
+        StorageFile.setJournalMode(true);
+        StorageFile.setBinaryMode(Boolean.getBoolean(BINARY_SNAPSHOT_PROPERTY));
+        StorageFile.setShardedMode(Boolean.getBoolean(SHARDED_STORAGE_PROPERTY));
+        StorageFile.setArchiveAfterDays(Long.getLong(ARCHIVE_AFTER_DAYS_PROPERTY, 0));
+        StorageFile.startWriteBehind(Long.getLong(SAVE_WINDOW_PROPERTY,
+                StorageWriter.DEFAULT_COALESCING_WINDOW_MILLIS));
         StorageFile storageFile = new StorageFile();
-        storageFile.loadData();
+        storageFile.deferLoadData();
+        if (Boolean.getBoolean(PREFETCH_PROPERTY)) {
+            StorageFile.startPrefetch();
+        }
 
         while (true) {
             System.out.println("Menu:");
@@ -187,6 +209,7 @@ public class AllOnUs {
             }
         }
         assert userInput != "exit" : "Loop broke without an exit command from user.";
+        StorageFile.stopWriteBehind();
     }
 
     /**
@@ -2,6 +2,7 @@ package seedu.allonus.contacts;
 
 import seedu.allonus.contacts.entry.Contact;
 import seedu.allonus.storage.StorageFile;
+import seedu.allonus.ui.ListPrinter;
 import seedu.allonus.ui.TextUi;
 
 import java.lang.reflect.Array;
@@ -12,6 +13,7 @@ import java.util.logging.Logger;
 import static seedu.allonus.contacts.ContactParser.getFieldStrings;
 import static seedu.allonus.contacts.ContactParser.parseContact;
 import static seedu.allonus.contacts.ContactParser.setContactFields;
+import static seedu.allonus.ui.TextUi.DIVIDER;
 import static seedu.allonus.ui.TextUi.showToUser;
 
 /**
@@ -84,19 +86,20 @@ public class ContactsManager {
         logger.log(Level.FINER, CONTACTS_ENTER_LOG_MESSAGE);
     }
 
-    private static void listContacts() {
+    private static void listContacts(String userInput) {
         if (contactsList.size() == 0) {
             printFormat(CONTACTS_EMPTY_LIST_MESSAGE);
             return;
         }
-
-        String listAsString = "";
-        for (int i = 0; i < contactsList.size(); i++) {
-            Contact curr = contactsList.get(i);
-            String currEntry = String.format(CONTACTS_ENUMERATE_HEADER, i + 1, curr);
-            listAsString = listAsString.concat(currEntry);
+        int[] range;
+        try {
+            range = ListPrinter.parseRange(userInput, contactsList.size());
+        } catch (IllegalArgumentException e) {
+            printFormat(ListPrinter.MSG_INVALID_LIST_OPTIONS);
+            return;
         }
-        printFormat(CONTACTS_LIST_SUCCESS_MESSAGE + listAsString);
+        ListPrinter.print(DIVIDER + "\n" + CONTACTS_LIST_SUCCESS_MESSAGE, contactsList, range,
+                CONTACTS_ENUMERATE_HEADER, "\n" + DIVIDER + "\n");
     }
 
     /**
@@ -124,6 +127,7 @@ public class ContactsManager {
      * @return contacts list.
      */
     public ArrayList<Contact> getContactsList() {
+        storageFile.ensureLoaded(StorageFile.CONTACT_TAG);
         return contactsList;
     }
 
@@ -136,6 +140,7 @@ public class ContactsManager {
             contactsList.remove(taskInd);
             assert taskInd >= 0;
             assert taskInd < CONTACTS_LIST_MAX_SIZE;
+            storageFile.recordRemove(StorageFile.CONTACT_TAG, taskInd);
         } catch (IndexOutOfBoundsException | NumberFormatException e) {
             printFormat(CONTACTS_REMOVE_INVALID_INDEX_MESSAGE);
             return;
@@ -157,6 +162,7 @@ public class ContactsManager {
         if (fromCommandLine) {
             printFormat(CONTACTS_ADD_SUCCESS_MESSAGE + contact
                     + String.format(CONTACTS_UPDATED_LIST_SIZE_MESSAGE, contactsList.size()));
+            storageFile.recordAdd(StorageFile.CONTACT_TAG, contactsList.size() - 1);
         }
         isModified = true;
     }
@@ -170,6 +176,53 @@ public class ContactsManager {
         addContact(savedContact, false);
     }
 
+    /**
+     * Adds a contact that has already been decoded from a data file.
+     *
+     * @param savedContact the saved contact
+     */
+    public void loadAdd(Contact savedContact) {
+        contactsList.add(savedContact);
+    }
+
+    /**
+     * Parses a saved contact entry without printing any messages, so that it can be called from
+     * several threads at once while loading a data file.
+     *
+     * @param savedContact the saved contact entry
+     * @return the parsed contact, or null if the entry is invalid
+     */
+    public static Contact parseSavedContact(String savedContact) {
+        try {
+            return parseContact(savedContact);
+        } catch (InvalidContactField e) {
+            return null;
+        }
+    }
+
+    /**
+     * Removes the contact at <code>listIndex</code> when replaying a saved removal from the journal file.
+     *
+     * @param listIndex index of the contact in the contacts list
+     */
+    public void loadRemove(int listIndex) {
+        contactsList.remove(listIndex);
+    }
+
+    /**
+     * Replaces the contact at <code>listIndex</code> with a saved contact entry from the journal file.
+     *
+     * @param listIndex index of the contact in the contacts list
+     * @param savedContact the saved contact entry
+     */
+    public void loadReplace(int listIndex, String savedContact) {
+        int contactsCount = contactsList.size();
+        addContact(savedContact, false);
+        if (contactsList.size() > contactsCount) {
+            contactsList.set(listIndex, contactsList.remove(contactsCount));
+        }
+    }
+
     /**
      * Prints contacts that contain a certain keyword.
      *
@@ -205,8 +258,9 @@ public class ContactsManager {
 
     private static void editContact(String userInput) {
         Contact curr;
+        int taskInd;
         try {
-            int taskInd = ContactParser.parseNum(userInput);
+            taskInd = ContactParser.parseNum(userInput);
             curr = contactsList.get(taskInd);
             assert taskInd >= 0;
             assert taskInd <= contactsList.size();
@@ -227,6 +281,7 @@ public class ContactsManager {
             printFormat(e.getMessage());
         }
         printFormat(CONTACTS_EDIT_SUCCESS_MESSAGE + curr);
+        storageFile.recordEdit(StorageFile.CONTACT_TAG, taskInd);
         isModified = true;
     }
 
@@ -237,6 +292,7 @@ public class ContactsManager {
      * @param ui An TextUi object for getting user input.
      */
     public static void contactsRunner(TextUi ui) {
+        storageFile.ensureLoaded(StorageFile.CONTACT_TAG);
         contactsWelcome();
         String userInput;
         while (true) {
@@ -245,8 +301,8 @@ public class ContactsManager {
             if (userInput.equals("menu")) {
                 logger.log(Level.FINER, CONTACTS_EXIT_LOG_MESSAGE);
                 return;
-            } else if (userInput.equals("list")) {
-                listContacts();
+            } else if (userInput.equals("list") || userInput.startsWith("list ")) {
+                listContacts(userInput);
             } else if (userInput.startsWith("rm")) {
                 deleteContact(userInput);
             } else if (userInput.startsWith("add")) {
@@ -260,7 +316,7 @@ public class ContactsManager {
                 logger.log(Level.FINER, String.format(CONTACTS_INVALID_COMMAND_LOG_MESSAGE, userInput));
             }
             if (isModified) {
-                storageFile.saveData();
+                storageFile.requestSave();
             }
         }
     }
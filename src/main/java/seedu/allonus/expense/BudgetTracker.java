@@ -0,0 +1,213 @@
+package seedu.allonus.expense;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Monthly budgets, overall and for each category, together with the amounts spent in each month, overall and
+ * on each category, so that an expense being added, deleted or edited updates the amount spent against its
+ * budgets in O(1) time and the user is alerted as soon as a budget threshold is crossed.
+ *
+ * <p>Like <code>ExpenseSummary</code>, the amounts spent are built in a single pass over the expense list when
+ * they are first needed, are then kept up to date by <code>add</code>, <code>replace</code> and
+ * <code>remove</code>, and are rebuilt after <code>invalidate</code>. No amounts are kept while no budget is set.
+ */
+public class BudgetTracker {
+    public static final String OVERALL = "";
+    public static final String OVERALL_NAME = "overall";
+    public static final int WARNING_PERCENT = 80;
+    public static final int FULL_PERCENT = 100;
+    public static final String MSG_BUDGET_WARNING = "Heads up! You have used %d%% of your %s budget of $%s for %s.";
+    public static final String MSG_BUDGET_EXCEEDED = "Alert! You have spent $%s, over your %s budget of $%s for %s.";
+    public static final String MSG_BUDGET_STATUS = " %s: $%s of $%s spent (%d%%)";
+
+    private final Supplier<List<Expense>> expenses;
+    private final TreeMap<String, Long> limits = new TreeMap<>();
+    private final HashMap<YearMonth, HashMap<String, Long>> centsByMonth = new HashMap<>();
+    private boolean isStale = true;
+
+    /**
+     * Creates a budget tracker of the expenses returned by <code>expenses</code>.
+     *
+     * @param expenses supplier of the current expense list
+     */
+    public BudgetTracker(Supplier<List<Expense>> expenses) {
+        this.expenses = expenses;
+    }
+
+    /**
+     * Sets the monthly budget of a category, or the overall monthly budget if <code>category</code> is
+     * <code>OVERALL</code>. A budget of 0 removes the budget.
+     *
+     * @param category category of the budget, or <code>OVERALL</code>
+     * @param cents    monthly budget in cents
+     */
+    public void setLimit(String category, long cents) {
+        if (cents <= 0) {
+            limits.remove(category);
+        } else {
+            limits.put(category, cents);
+        }
+    }
+
+    /**
+     * Replaces all budgets, e.g. with the budgets loaded from the budget file.
+     *
+     * @param newLimits monthly budgets in cents by category, with <code>OVERALL</code> for the overall budget
+     */
+    public void setLimits(Map<String, Long> newLimits) {
+        limits.clear();
+        for (Map.Entry<String, Long> limit : newLimits.entrySet()) {
+            setLimit(limit.getKey(), limit.getValue());
+        }
+    }
+
+    /**
+     * Returns the monthly budgets in cents by category, with <code>OVERALL</code>, which sorts first, for the
+     * overall budget.
+     *
+     * @return monthly budgets
+     */
+    public SortedMap<String, Long> getLimits() {
+        return Collections.unmodifiableSortedMap(limits);
+    }
+
+    /**
+     * Adds an expense that has just been added to the expense list to the amounts spent, and returns an alert
+     * for each of its budgets whose threshold it made the amount spent cross.
+     *
+     * @param expense the added expense
+     * @return alerts to be shown to the user, if any
+     */
+    public List<String> add(Expense expense) {
+        return replace(null, expense);
+    }
+
+    /**
+     * Replaces an expense that has just been edited in the amounts spent, and returns an alert for each of the
+     * budgets of the edited expense whose threshold the edit made the amount spent cross.
+     *
+     * @param original the expense before it was edited, or null if the expense was added
+     * @param edited   the expense after it was edited
+     * @return alerts to be shown to the user, if any
+     */
+    public List<String> replace(Expense original, Expense edited) {
+        if (limits.isEmpty()) {
+            isStale = true;
+            return Collections.emptyList();
+        }
+        if (isStale) {
+            rebuild();
+            update(edited, -edited.getBaseCents());
+            if (original != null) {
+                update(original, original.getBaseCents());
+            }
+        }
+        YearMonth month = YearMonth.from(LocalDate.ofEpochDay(edited.getEpochDay()));
+        long overallBefore = getCentsSpent(OVERALL, month);
+        long categoryBefore = getCentsSpent(edited.getCategory(), month);
+        if (original != null) {
+            update(original, -original.getBaseCents());
+        }
+        update(edited, edited.getBaseCents());
+        List<String> alerts = new ArrayList<>();
+        addAlert(alerts, OVERALL, month, overallBefore);
+        addAlert(alerts, edited.getCategory(), month, categoryBefore);
+        return alerts;
+    }
+
+    /**
+     * Takes an expense that has just been removed from the expense list out of the amounts spent.
+     *
+     * @param expense the removed expense
+     */
+    public void remove(Expense expense) {
+        if (!isStale) {
+            update(expense, -expense.getBaseCents());
+        }
+    }
+
+    /**
+     * Discards the amounts spent, so that they are rebuilt from the expense list when they are next needed.
+     */
+    public void invalidate() {
+        isStale = true;
+    }
+
+    /**
+     * Returns the amount spent in <code>month</code> on <code>category</code>, or on all categories if
+     * <code>category</code> is <code>OVERALL</code>.
+     *
+     * @param category category of the expenses, or <code>OVERALL</code>
+     * @param month    month of the expenses
+     * @return amount spent in cents
+     */
+    public long getCentsSpent(String category, YearMonth month) {
+        if (isStale) {
+            rebuild();
+        }
+        return centsByMonth.getOrDefault(month, new HashMap<>()).getOrDefault(category, 0L);
+    }
+
+    /**
+     * Returns a line for each budget showing how much of it has been spent in <code>month</code>.
+     *
+     * @param month month of the expenses
+     * @return status of each budget
+     */
+    public List<String> getStatus(YearMonth month) {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, Long> limit : limits.entrySet()) {
+            long spent = getCentsSpent(limit.getKey(), month);
+            lines.add(String.format(MSG_BUDGET_STATUS, getName(limit.getKey()), Expense.formatCents(spent),
+                    Expense.formatCents(limit.getValue()), getPercent(spent, limit.getValue())));
+        }
+        return lines;
+    }
+
+    private void addAlert(List<String> alerts, String category, YearMonth month, long spentBefore) {
+        Long limit = limits.get(category);
+        if (limit == null) {
+            return;
+        }
+        long spent = getCentsSpent(category, month);
+        if (spent > limit && spentBefore <= limit) {
+            alerts.add(String.format(MSG_BUDGET_EXCEEDED, Expense.formatCents(spent), getName(category),
+                    Expense.formatCents(limit), month));
+        } else if (getPercent(spent, limit) >= WARNING_PERCENT && getPercent(spentBefore, limit) < WARNING_PERCENT) {
+            alerts.add(String.format(MSG_BUDGET_WARNING, getPercent(spent, limit), getName(category),
+                    Expense.formatCents(limit), month));
+        }
+    }
+
+    private static String getName(String category) {
+        return category.equals(OVERALL) ? OVERALL_NAME : category;
+    }
+
+    private static int getPercent(long spent, long limit) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, spent) * FULL_PERCENT / limit);
+    }
+
+    private void update(Expense expense, long centsChange) {
+        YearMonth month = YearMonth.from(LocalDate.ofEpochDay(expense.getEpochDay()));
+        HashMap<String, Long> centsByCategory = centsByMonth.computeIfAbsent(month, m -> new HashMap<>());
+        centsByCategory.merge(OVERALL, centsChange, Long::sum);
+        centsByCategory.merge(expense.getCategory(), centsChange, Long::sum);
+    }
+
+    private void rebuild() {
+        centsByMonth.clear();
+        isStale = false;
+        for (Expense expense : expenses.get()) {
+            update(expense, expense.getBaseCents());
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package seedu.allonus.expense;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.RandomAccess;
+import java.util.function.Predicate;
+
+/**
+ * A list of expenses stored column by column in primitive arrays instead of as <code>Expense</code> objects.
+ * Dates are kept as epoch days, amounts as cents, categories and currencies as ids into dictionaries of distinct
+ * categories and currencies, and remarks as offsets into a single shared buffer of UTF-8 bytes. This takes about
+ * half the memory of an <code>ArrayList</code> of expenses, and totals and date filters can be computed by
+ * scanning the arrays directly with the primitive accessors.
+ *
+ * <p><code>get</code> returns a new <code>Expense</code> built from the columns, so changes made to it are only
+ * stored once it is passed back to <code>set</code>.
+ */
+public class ColumnarExpenseList extends AbstractList<Expense> implements RandomAccess {
+    public static final int INITIAL_CAPACITY = 16;
+    public static final int INITIAL_REMARK_CAPACITY = 256;
+    public static final short BASE_CURRENCY_ID = 0;
+
+    private int size = 0;
+    private int[] epochDays = new int[INITIAL_CAPACITY];
+    private long[] cents = new long[INITIAL_CAPACITY];
+    private byte[] amountScales = new byte[INITIAL_CAPACITY];
+    private int[] categoryIds = new int[INITIAL_CAPACITY];
+    private short[] currencyIds = new short[INITIAL_CAPACITY];
+    private int[] remarkOffsets = new int[INITIAL_CAPACITY];
+    private int[] remarkLengths = new int[INITIAL_CAPACITY];
+
+    private byte[] remarkBytes = new byte[INITIAL_REMARK_CAPACITY];
+    private int remarkBytesUsed = 0;
+    private int remarkBytesLive = 0;
+
+    private final ArrayList<String> categories = new ArrayList<>();
+    private final HashMap<String, Integer> categoryIdsByName = new HashMap<>();
+    private final ArrayList<String> currencies = new ArrayList<>(Collections.singletonList(null));
+    private final HashMap<String, Short> currencyIdsByCode = new HashMap<>();
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Expense get(int index) {
+        checkIndex(index, size);
+        return new Expense(epochDays[index], cents[index], amountScales[index], categories.get(categoryIds[index]),
+                getRemark(index), currencies.get(currencyIds[index]));
+    }
+
+    @Override
+    public Expense set(int index, Expense expense) {
+        Expense previous = get(index);
+        remarkBytesLive -= remarkLengths[index];
+        store(index, expense);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Expense expense) {
+        checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        shift(index, index + 1, size - index);
+        size++;
+        store(index, expense);
+        modCount++;
+    }
+
+    @Override
+    public Expense remove(int index) {
+        Expense removed = get(index);
+        remarkBytesLive -= remarkLengths[index];
+        shift(index + 1, index, size - index - 1);
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        remarkBytesUsed = 0;
+        remarkBytesLive = 0;
+        modCount++;
+    }
+
+    /**
+     * Removes all expenses satisfying <code>filter</code> in a single pass over the columns.
+     *
+     * @param filter predicate returning true for expenses to be removed.
+     * @return true if any expense was removed.
+     */
+    @Override
+    public boolean removeIf(Predicate<? super Expense> filter) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (filter.test(get(i))) {
+                remarkBytesLive -= remarkLengths[i];
+                continue;
+            }
+            if (kept != i) {
+                shift(i, kept, 1);
+            }
+            kept++;
+        }
+        boolean isModified = kept != size;
+        size = kept;
+        if (isModified) {
+            modCount++;
+        }
+        return isModified;
+    }
+
+    public int getEpochDay(int index) {
+        checkIndex(index, size);
+        return epochDays[index];
+    }
+
+    public long getCents(int index) {
+        checkIndex(index, size);
+        return cents[index];
+    }
+
+    /**
+     * Returns the amount of the expense at <code>index</code> in cents of the base currency, converting it only if
+     * the expense is in another currency.
+     *
+     * @param index index of the expense.
+     * @return amount in cents of the base currency.
+     */
+    public long getBaseCents(int index) {
+        checkIndex(index, size);
+        if (currencyIds[index] == BASE_CURRENCY_ID) {
+            return cents[index];
+        }
+        return Expense.getExchangeRates().toBaseCents(cents[index], currencies.get(currencyIds[index]),
+                epochDays[index]);
+    }
+
+    public int getCategoryId(int index) {
+        checkIndex(index, size);
+        return categoryIds[index];
+    }
+
+    public String getRemark(int index) {
+        checkIndex(index, size);
+        return new String(remarkBytes, remarkOffsets[index], remarkLengths[index], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the category with the given id, as returned by <code>getCategoryId</code>.
+     *
+     * @param categoryId id of the category.
+     * @return the category.
+     */
+    public String getCategory(int categoryId) {
+        return categories.get(categoryId);
+    }
+
+    /**
+     * Returns the number of distinct categories seen so far. Category ids range from 0 to one less than this.
+     *
+     * @return number of distinct categories.
+     */
+    public int getCategoryCount() {
+        return categories.size();
+    }
+
+    /**
+     * Returns the total amount in cents of the base currency of the expenses dated from <code>fromEpochDay</code> to
+     * <code>toEpochDay</code> inclusive.
+     *
+     * @param fromEpochDay earliest date, as a number of days since 1970-01-01.
+     * @param toEpochDay latest date, as a number of days since 1970-01-01.
+     * @return total amount in cents.
+     */
+    public long sumCents(long fromEpochDay, long toEpochDay) {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            if (epochDays[i] >= fromEpochDay && epochDays[i] <= toEpochDay) {
+                total += currencyIds[i] == BASE_CURRENCY_ID ? cents[i] : getBaseCents(i);
+            }
+        }
+        return total;
+    }
+
+    private void store(int index, Expense expense) {
+        assert expense != null : ExpenseTracker.ASSERT_EXPENSE_OBJECT_NOT_NULL;
+        epochDays[index] = expense.getEpochDay();
+        cents[index] = expense.getCents();
+        amountScales[index] = (byte) expense.getAmountScale();
+        categoryIds[index] = getOrAddCategoryId(expense.getCategory());
+        currencyIds[index] = getOrAddCurrencyId(expense.getCurrency());
+        byte[] remark = expense.getRemark().getBytes(StandardCharsets.UTF_8);
+        remarkLengths[index] = 0;
+        ensureRemarkCapacity(remark.length);
+        System.arraycopy(remark, 0, remarkBytes, remarkBytesUsed, remark.length);
+        remarkOffsets[index] = remarkBytesUsed;
+        remarkLengths[index] = remark.length;
+        remarkBytesUsed += remark.length;
+        remarkBytesLive += remark.length;
+    }
+
+    private int getOrAddCategoryId(String category) {
+        Integer categoryId = categoryIdsByName.get(category);
+        if (categoryId == null) {
+            categoryId = categories.size();
+            categories.add(category);
+            categoryIdsByName.put(category, categoryId);
+        }
+        return categoryId;
+    }
+
+    private short getOrAddCurrencyId(String currency) {
+        if (currency == null) {
+            return BASE_CURRENCY_ID;
+        }
+        Short currencyId = currencyIdsByCode.get(currency);
+        if (currencyId == null) {
+            currencyId = (short) currencies.size();
+            currencies.add(currency);
+            currencyIdsByCode.put(currency, currencyId);
+        }
+        return currencyId;
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(epochDays, from, epochDays, to, length);
+        System.arraycopy(cents, from, cents, to, length);
+        System.arraycopy(amountScales, from, amountScales, to, length);
+        System.arraycopy(categoryIds, from, categoryIds, to, length);
+        System.arraycopy(currencyIds, from, currencyIds, to, length);
+        System.arraycopy(remarkOffsets, from, remarkOffsets, to, length);
+        System.arraycopy(remarkLengths, from, remarkLengths, to, length);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= epochDays.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, epochDays.length * 2);
+        epochDays = Arrays.copyOf(epochDays, newCapacity);
+        cents = Arrays.copyOf(cents, newCapacity);
+        amountScales = Arrays.copyOf(amountScales, newCapacity);
+        categoryIds = Arrays.copyOf(categoryIds, newCapacity);
+        currencyIds = Arrays.copyOf(currencyIds, newCapacity);
+        remarkOffsets = Arrays.copyOf(remarkOffsets, newCapacity);
+        remarkLengths = Arrays.copyOf(remarkLengths, newCapacity);
+    }
+
+    /**
+     * Makes room for <code>length</code> more remark bytes, first dropping the bytes of remarks that
+     * have been removed or replaced if they take up at least half of the buffer.
+     */
+    private void ensureRemarkCapacity(int length) {
+        if (remarkBytesUsed + length <= remarkBytes.length) {
+            return;
+        }
+        if (remarkBytesLive < remarkBytesUsed / 2) {
+            compactRemarks();
+        }
+        if (remarkBytesUsed + length > remarkBytes.length) {
+            int newCapacity = Math.max(remarkBytesUsed + length, remarkBytes.length * 2);
+            remarkBytes = Arrays.copyOf(remarkBytes, newCapacity);
+        }
+    }
+
+    private void compactRemarks() {
+        byte[] compacted = new byte[remarkBytes.length];
+        int used = 0;
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(remarkBytes, remarkOffsets[i], compacted, used, remarkLengths[i]);
+            remarkOffsets[i] = used;
+            used += remarkLengths[i];
+        }
+        remarkBytes = compacted;
+        remarkBytesUsed = used;
+        remarkBytesLive = used;
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package seedu.allonus.expense;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Amounts spent on each day, kept in blocks of <code>BLOCK_DAYS</code> consecutive days. Each block holds its
+ * total and a Fenwick tree (binary indexed tree) of its days, so that the total over any period, or up to any
+ * day, is found in O(b + log BLOCK_DAYS) time, where b is the number of blocks in the period, and a change to
+ * one day's total takes O(log BLOCK_DAYS) time.
+ *
+ * <p>Blocks are only created for days that have expenses, in a sorted map keyed by block, so memory grows
+ * with the number of distinct periods of about three years that have expenses rather than with the span from
+ * the earliest day to the latest. A single expense dated far in the past or future thus costs one block.
+ */
+public class DailyTotals {
+    public static final int BLOCK_DAYS = 1024;
+
+    /**
+     * The totals of the days of one block.
+     */
+    private static class Block {
+        private final long[] tree = new long[BLOCK_DAYS + 1];
+        private long totalCents = 0;
+
+        private void add(int offset, long cents) {
+            totalCents += cents;
+            for (int i = offset + 1; i < tree.length; i += i & -i) {
+                tree[i] += cents;
+            }
+        }
+
+        /**
+         * Returns the total of the first <code>count</code> days of the block.
+         */
+        private long getCentsOfFirst(int count) {
+            long total = 0;
+            for (int i = count; i > 0; i -= i & -i) {
+                total += tree[i];
+            }
+            return total;
+        }
+    }
+
+    private final TreeMap<Long, Block> blocks = new TreeMap<>();
+
+    /**
+     * Adds <code>cents</code> to the total of the given day. A negative amount takes an expense out again.
+     *
+     * @param epochDay the day, as a number of days since 1970-01-01
+     * @param cents    amount to be added, in cents
+     */
+    public void add(int epochDay, long cents) {
+        blocks.computeIfAbsent(getBlock(epochDay), block -> new Block()).add(getOffset(epochDay), cents);
+    }
+
+    /**
+     * Returns the total amount spent from <code>fromEpochDay</code> to <code>toEpochDay</code> inclusive.
+     *
+     * @param fromEpochDay earliest day, as a number of days since 1970-01-01
+     * @param toEpochDay   latest day, as a number of days since 1970-01-01
+     * @return total amount in cents
+     */
+    public long getCentsBetween(long fromEpochDay, long toEpochDay) {
+        if (fromEpochDay > toEpochDay) {
+            return 0;
+        }
+        long fromBlock = getBlock(fromEpochDay);
+        long toBlock = getBlock(toEpochDay);
+        long total = 0;
+        for (Map.Entry<Long, Block> block : blocks.subMap(fromBlock, true, toBlock, true).entrySet()) {
+            int firstCount = block.getKey() == fromBlock ? getOffset(fromEpochDay) : 0;
+            int lastCount = block.getKey() == toBlock ? getOffset(toEpochDay) + 1 : BLOCK_DAYS;
+            if (firstCount == 0 && lastCount == BLOCK_DAYS) {
+                total += block.getValue().totalCents;
+            } else {
+                total += block.getValue().getCentsOfFirst(lastCount) - block.getValue().getCentsOfFirst(firstCount);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns the running total of the amounts spent up to and including <code>epochDay</code>.
+     *
+     * @param epochDay latest day, as a number of days since 1970-01-01
+     * @return total amount in cents
+     */
+    public long getCentsUpTo(long epochDay) {
+        if (blocks.isEmpty()) {
+            return 0;
+        }
+        return getCentsBetween(Math.min(epochDay, blocks.firstKey() * BLOCK_DAYS), epochDay);
+    }
+
+    private static long getBlock(long epochDay) {
+        return Math.floorDiv(epochDay, (long) BLOCK_DAYS);
+    }
+
+    private static int getOffset(long epochDay) {
+        return (int) Math.floorMod(epochDay, (long) BLOCK_DAYS);
+    }
+}
@@ -0,0 +1,143 @@
+package seedu.allonus.expense;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A table of dated exchange rates from other currencies to the base currency, used to total expenses entered in
+ * different currencies. A rate is the amount in the base currency of one unit of the other currency, and an
+ * expense is converted at the latest rate dated on or before the expense, or at the earliest rate if the expense
+ * is older than all rates of its currency.
+ *
+ * <p>Resolving a rate looks it up in a sorted map, so resolved rates are memoized by currency and date. Totals
+ * over many expenses then cost one hash lookup per expense, and the memo of a currency is only cleared when one
+ * of its rates is changed. The memo may be read and filled by several threads at once, as when totals are
+ * computed in parallel, but rates must only be changed while no totals are being computed.
+ */
+public class ExchangeRates {
+    public static final String DEFAULT_BASE_CURRENCY = "SGD";
+
+    private String baseCurrency = DEFAULT_BASE_CURRENCY;
+    private final TreeMap<String, TreeMap<Integer, BigDecimal>> ratesByCurrency = new TreeMap<>();
+    private final ConcurrentHashMap<String, ConcurrentHashMap<Integer, BigDecimal>> resolvedRates =
+            new ConcurrentHashMap<>();
+
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    public void setBaseCurrency(String baseCurrency) {
+        this.baseCurrency = baseCurrency;
+    }
+
+    /**
+     * Sets the rate of <code>currency</code> from <code>epochDay</code> onwards, or removes the rate set on that
+     * day if <code>rate</code> is zero.
+     *
+     * @param currency ISO 4217 code of the currency
+     * @param epochDay date of the rate, as a number of days since 1970-01-01
+     * @param rate     amount in the base currency of one unit of <code>currency</code>
+     */
+    public void setRate(String currency, int epochDay, BigDecimal rate) {
+        resolvedRates.remove(currency);
+        TreeMap<Integer, BigDecimal> rates = ratesByCurrency.computeIfAbsent(currency, code -> new TreeMap<>());
+        if (rate.signum() == 0) {
+            rates.remove(epochDay);
+        } else {
+            rates.put(epochDay, rate);
+        }
+        if (rates.isEmpty()) {
+            ratesByCurrency.remove(currency);
+        }
+    }
+
+    /**
+     * Removes all rates.
+     */
+    public void clear() {
+        ratesByCurrency.clear();
+        resolvedRates.clear();
+    }
+
+    /**
+     * Checks whether expenses in <code>currency</code> can be converted to the base currency.
+     *
+     * @param currency ISO 4217 code of the currency
+     * @return true if the currency is the base currency or has at least one rate
+     */
+    public boolean canConvert(String currency) {
+        return currency == null || currency.equals(baseCurrency) || ratesByCurrency.containsKey(currency);
+    }
+
+    /**
+     * Returns all rates as lines of the rate file: date, currency and rate, separated by commas, sorted by
+     * currency and then date.
+     *
+     * @return rates in file format
+     */
+    public List<String> getRateLines() {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, TreeMap<Integer, BigDecimal>> rates : ratesByCurrency.entrySet()) {
+            for (Map.Entry<Integer, BigDecimal> rate : rates.getValue().entrySet()) {
+                lines.add(LocalDate.ofEpochDay(rate.getKey()) + "," + rates.getKey() + ","
+                        + rate.getValue().toPlainString());
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Returns the rate an expense in <code>currency</code> dated <code>epochDay</code> is converted at.
+     *
+     * @param currency ISO 4217 code of the currency
+     * @param epochDay date of the expense, as a number of days since 1970-01-01
+     * @return the rate, or null if the currency has no rates
+     */
+    public BigDecimal getRate(String currency, int epochDay) {
+        ConcurrentHashMap<Integer, BigDecimal> resolved = resolvedRates.computeIfAbsent(currency,
+                code -> new ConcurrentHashMap<>());
+        BigDecimal rate = resolved.get(epochDay);
+        if (rate == null) {
+            rate = resolveRate(currency, epochDay);
+            if (rate != null) {
+                resolved.put(epochDay, rate);
+            }
+        }
+        return rate;
+    }
+
+    /**
+     * Converts an amount in <code>currency</code> to the base currency, rounding half up to a whole cent.
+     * Amounts in a currency without rates are not converted.
+     *
+     * @param cents    amount in cents of <code>currency</code>
+     * @param currency ISO 4217 code of the currency, or null for the base currency
+     * @param epochDay date of the expense, as a number of days since 1970-01-01
+     * @return amount in cents of the base currency
+     */
+    public long toBaseCents(long cents, String currency, int epochDay) {
+        if (currency == null || currency.equals(baseCurrency)) {
+            return cents;
+        }
+        BigDecimal rate = getRate(currency, epochDay);
+        if (rate == null) {
+            return cents;
+        }
+        return BigDecimal.valueOf(cents).multiply(rate).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    private BigDecimal resolveRate(String currency, int epochDay) {
+        TreeMap<Integer, BigDecimal> rates = ratesByCurrency.get(currency);
+        if (rates == null) {
+            return null;
+        }
+        Map.Entry<Integer, BigDecimal> rate = rates.floorEntry(epochDay);
+        return rate != null ? rate.getValue() : rates.firstEntry().getValue();
+    }
+}
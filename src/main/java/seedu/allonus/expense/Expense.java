@@ -1,22 +1,50 @@
 package seedu.allonus.expense;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.util.logging.Logger;
 
+/**
+ * An expense record. The date is kept as a day count from the epoch and the amount as a whole number
+ * of cents, so that expenses can be summed, compared and filtered by date without parsing strings or
+ * rounding errors. Their string forms are derived when needed, with the amount shown with as many
+ * decimal places as it was entered with, up to two.
+ *
+ * <p>An expense may be in a currency other than the base currency, in which case its amount is in that currency
+ * and <code>getBaseCents</code> converts it with the shared <code>ExchangeRates</code> for totals.
+ */
 public class Expense {
+    public static final int CENTS_SCALE = 2;
 
-    private String date;
-    private String amount;
+    private int epochDay;
+    private long cents;
+    private int amountScale;
     private String category;
     private String remark;
+    private String currency;
     static  Logger logger;
     private static int noOfItems = 0;
+    private static final ExchangeRates exchangeRates = new ExchangeRates();
 
     public String getDate() {
-        return date;
+        return LocalDate.ofEpochDay(epochDay).toString();
+    }
+
+    public int getEpochDay() {
+        return epochDay;
     }
 
     public String getAmount() {
-        return amount;
+        return BigDecimal.valueOf(cents, CENTS_SCALE).setScale(amountScale, RoundingMode.UNNECESSARY).toPlainString();
+    }
+
+    public long getCents() {
+        return cents;
+    }
+
+    public int getAmountScale() {
+        return amountScale;
     }
 
     public String getCategory() {
@@ -27,12 +55,32 @@ public class Expense {
         return remark;
     }
 
+    /**
+     * Returns the ISO 4217 code of the currency of the amount.
+     *
+     * @return the currency, or null if the amount is in the base currency
+     */
+    public String getCurrency() {
+        return currency;
+    }
+
+    /**
+     * Returns the amount in cents of the base currency, converted at the rate of the expense's currency on
+     * its date.
+     *
+     * @return amount in cents of the base currency
+     */
+    public long getBaseCents() {
+        return currency == null ? cents : exchangeRates.toBaseCents(cents, currency, epochDay);
+    }
+
     public void setDate(String date) {
-        this.date = date;
+        this.epochDay = (int) ExpenseParser.parseDate(date).toEpochDay();
     }
 
     public void setAmount(String amount) {
-        this.amount = amount;
+        this.cents = toCents(amount);
+        this.amountScale = getAmountScale(amount, cents);
     }
 
     public void setCategory(String category) {
@@ -43,6 +91,15 @@ public class Expense {
         this.remark = remark;
     }
 
+    /**
+     * Sets the currency of the amount, with the base currency or null standing for the base currency.
+     *
+     * @param currency ISO 4217 code of the currency, or null
+     */
+    public void setCurrency(String currency) {
+        this.currency = currency == null || currency.equals(exchangeRates.getBaseCurrency()) ? null : currency;
+    }
+
     public static void setNoOfItems(int noOfItems) {
         Expense.noOfItems = noOfItems;
     }
@@ -51,16 +108,71 @@ public class Expense {
         return noOfItems;
     }
 
+    public static ExchangeRates getExchangeRates() {
+        return exchangeRates;
+    }
+
     public Expense(String date, String amount, String category, String remark) {
-        this.date = date;
-        this.amount = amount;
+        setDate(date);
+        setAmount(amount);
         this.category = category;
         this.remark = remark;
     }
 
+    public Expense(int epochDay, long cents, String category, String remark) {
+        this(epochDay, cents, CENTS_SCALE, category, remark);
+    }
+
+    public Expense(int epochDay, long cents, int amountScale, String category, String remark) {
+        this(epochDay, cents, amountScale, category, remark, null);
+    }
+
+    public Expense(int epochDay, long cents, int amountScale, String category, String remark, String currency) {
+        this.epochDay = epochDay;
+        this.cents = cents;
+        this.amountScale = amountScale;
+        this.category = category;
+        this.remark = remark;
+        setCurrency(currency);
+    }
+
+    /**
+     * Converts an amount into a whole number of cents, rounding half up.
+     *
+     * @param amount amount as entered by the user
+     * @return amount in cents
+     * @throws NumberFormatException if amount is not a number or is too large
+     */
+    public static long toCents(String amount) throws NumberFormatException {
+        try {
+            return new BigDecimal(amount).setScale(CENTS_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException(amount);
+        }
+    }
+
+    /**
+     * Formats a whole number of cents as an amount with two decimal places.
+     *
+     * @param cents amount in cents
+     * @return amount as a string
+     */
+    public static String formatCents(long cents) {
+        return BigDecimal.valueOf(cents, CENTS_SCALE).toPlainString();
+    }
+
+    private static int getAmountScale(String amount, long cents) {
+        int scale = new BigDecimal(amount).scale();
+        if (scale <= 0) {
+            return cents % 100 == 0 ? 0 : CENTS_SCALE;
+        }
+        return Math.min(scale, CENTS_SCALE);
+    }
+
     @Override
     public String toString() {
-        return date + " | " + "$" + amount + " | " + category + " | " + remark;
+        String currencySymbol = currency == null ? "$" : currency + " ";
+        return getDate() + " | " + currencySymbol + getAmount() + " | " + category + " | " + remark;
     }
 
 }
@@ -0,0 +1,227 @@
+package seedu.allonus.expense;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Totals of the expenses in an expense list, overall, by category and by month, optionally of only the expenses
+ * whose remarks contain a keyword. Unlike <code>ExpenseSummary</code>, the totals are not kept up to date, but
+ * computed in one pass over the expense list each time, which is what filters by remark need.
+ *
+ * <p>Lists of at least <code>PARALLEL_THRESHOLD</code> expenses are split into ranges of at most
+ * <code>LEAF_SIZE</code> expenses that are totalled on the common fork/join pool, each into its own partial
+ * totals, which are then merged pairwise. Smaller lists, and all lists when the pool has only one worker, are
+ * totalled in the calling thread, where the tasks and the merging of their totals would only add cost. The
+ * threshold has not been tuned: no crossover on several cores has been measured yet, and
+ * <code>ExpenseAggregationBenchmark</code> is the place to measure it. A <code>ColumnarExpenseList</code> is
+ * read through its primitive columns, with categories totalled by id in an array.
+ */
+public class ExpenseAggregation {
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+    public static final int LEAF_SIZE = 1 << 13;
+
+    /**
+     * Totals of a range of expenses.
+     */
+    public static class Totals {
+        private long totalCents = 0;
+        private int count = 0;
+        private final HashMap<String, Long> centsByCategory = new HashMap<>();
+        private final HashMap<Integer, Long> centsByMonth = new HashMap<>();
+
+        public long getTotalCents() {
+            return totalCents;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Adds an expense that is not in the expense list to the totals, such as an archived expense.
+         *
+         * @param expense the expense
+         */
+        public void add(Expense expense) {
+            LocalDate date = LocalDate.ofEpochDay(expense.getEpochDay());
+            long cents = expense.getBaseCents();
+            totalCents += cents;
+            count++;
+            centsByCategory.merge(expense.getCategory(), cents, Long::sum);
+            centsByMonth.merge(date.getYear() * 12 + date.getMonthValue() - 1, cents, Long::sum);
+        }
+
+        /**
+         * Returns the total amount in cents of the base currency of each category, sorted by category.
+         *
+         * @return totals by category
+         */
+        public SortedMap<String, Long> getCentsByCategory() {
+            return new TreeMap<>(centsByCategory);
+        }
+
+        /**
+         * Returns the total amount in cents of the base currency of each month, from the earliest month to the
+         * latest.
+         *
+         * @return totals by month
+         */
+        public SortedMap<YearMonth, Long> getCentsByMonth() {
+            TreeMap<YearMonth, Long> totals = new TreeMap<>();
+            for (Map.Entry<Integer, Long> month : centsByMonth.entrySet()) {
+                totals.put(YearMonth.of(month.getKey() / 12, month.getKey() % 12 + 1), month.getValue());
+            }
+            return totals;
+        }
+
+        private Totals merge(Totals other) {
+            if (other.centsByCategory.size() + other.centsByMonth.size()
+                    > centsByCategory.size() + centsByMonth.size()) {
+                return other.merge(this);
+            }
+            totalCents += other.totalCents;
+            count += other.count;
+            other.centsByCategory.forEach((category, cents) -> centsByCategory.merge(category, cents, Long::sum));
+            other.centsByMonth.forEach((month, cents) -> centsByMonth.merge(month, cents, Long::sum));
+            return this;
+        }
+    }
+
+    /**
+     * Totals a range of the expense list, splitting it in two until it is at most <code>LEAF_SIZE</code> long.
+     */
+    private static class AggregationTask extends RecursiveTask<Totals> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Expense> expenses;
+        private final String remarkKeyword;
+        private final int from;
+        private final int to;
+
+        private AggregationTask(List<Expense> expenses, String remarkKeyword, int from, int to) {
+            this.expenses = expenses;
+            this.remarkKeyword = remarkKeyword;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from <= LEAF_SIZE) {
+                return aggregateRange(expenses, remarkKeyword, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            AggregationTask left = new AggregationTask(expenses, remarkKeyword, from, middle);
+            left.fork();
+            Totals right = new AggregationTask(expenses, remarkKeyword, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Finds the month of a date as a number of months since year 0, remembering the last month found, as
+     * consecutive expenses are mostly in the same month.
+     */
+    private static class MonthFinder {
+        private long firstDay = 1;
+        private long lastDay = 0;
+        private int month;
+
+        private int getMonth(long epochDay) {
+            if (epochDay < firstDay || epochDay > lastDay) {
+                LocalDate date = LocalDate.ofEpochDay(epochDay);
+                month = date.getYear() * 12 + date.getMonthValue() - 1;
+                firstDay = date.withDayOfMonth(1).toEpochDay();
+                lastDay = date.withDayOfMonth(date.lengthOfMonth()).toEpochDay();
+            }
+            return month;
+        }
+    }
+
+    /**
+     * Returns the totals of the expenses in <code>expenses</code> whose remarks contain
+     * <code>remarkKeyword</code>, ignoring case, or of all expenses if <code>remarkKeyword</code> is null.
+     *
+     * @param expenses      the expense list, which must not be changed while it is totalled
+     * @param remarkKeyword keyword the remarks must contain, or null
+     * @return the totals
+     */
+    public static Totals aggregate(List<Expense> expenses, String remarkKeyword) {
+        boolean canSplit = ForkJoinPool.getCommonPoolParallelism() > 1;
+        return aggregate(expenses, remarkKeyword, canSplit ? PARALLEL_THRESHOLD : Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the totals as <code>aggregate(expenses, remarkKeyword)</code> does, splitting the list if it has at
+     * least <code>parallelThreshold</code> expenses.
+     */
+    static Totals aggregate(List<Expense> expenses, String remarkKeyword, int parallelThreshold) {
+        if (expenses.size() < parallelThreshold) {
+            return aggregateRange(expenses, remarkKeyword, 0, expenses.size());
+        }
+        return ForkJoinPool.commonPool().invoke(new AggregationTask(expenses, remarkKeyword, 0, expenses.size()));
+    }
+
+    private static Totals aggregateRange(List<Expense> expenses, String remarkKeyword, int from, int to) {
+        if (expenses instanceof ColumnarExpenseList) {
+            return aggregateColumns((ColumnarExpenseList) expenses, remarkKeyword, from, to);
+        }
+        Totals totals = new Totals();
+        MonthFinder months = new MonthFinder();
+        for (int i = from; i < to; i++) {
+            Expense expense = expenses.get(i);
+            if (remarkKeyword != null && !containsIgnoreCase(expense.getRemark(), remarkKeyword)) {
+                continue;
+            }
+            long cents = expense.getBaseCents();
+            totals.totalCents += cents;
+            totals.count++;
+            totals.centsByCategory.merge(expense.getCategory(), cents, Long::sum);
+            totals.centsByMonth.merge(months.getMonth(expense.getEpochDay()), cents, Long::sum);
+        }
+        return totals;
+    }
+
+    private static Totals aggregateColumns(ColumnarExpenseList columns, String remarkKeyword, int from, int to) {
+        int categoryCount = columns.getCategoryCount();
+        long[] centsByCategoryId = new long[categoryCount];
+        int[] countsByCategoryId = new int[categoryCount];
+        Totals totals = new Totals();
+        MonthFinder months = new MonthFinder();
+        for (int i = from; i < to; i++) {
+            if (remarkKeyword != null && !containsIgnoreCase(columns.getRemark(i), remarkKeyword)) {
+                continue;
+            }
+            long cents = columns.getBaseCents(i);
+            totals.totalCents += cents;
+            totals.count++;
+            int categoryId = columns.getCategoryId(i);
+            centsByCategoryId[categoryId] += cents;
+            countsByCategoryId[categoryId]++;
+            totals.centsByMonth.merge(months.getMonth(columns.getEpochDay(i)), cents, Long::sum);
+        }
+        for (int categoryId = 0; categoryId < categoryCount; categoryId++) {
+            if (countsByCategoryId[categoryId] > 0) {
+                totals.centsByCategory.merge(columns.getCategory(categoryId), centsByCategoryId[categoryId],
+                        Long::sum);
+            }
+        }
+        return totals;
+    }
+
+    static boolean containsIgnoreCase(String text, String keyword) {
+        for (int i = 0; i + keyword.length() <= text.length(); i++) {
+            if (text.regionMatches(true, i, keyword, 0, keyword.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
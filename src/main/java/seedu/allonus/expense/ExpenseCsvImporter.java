@@ -0,0 +1,341 @@
+package seedu.allonus.expense;
+
+import seedu.allonus.expense.exceptions.ExpenseAmountException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+import static seedu.allonus.expense.ExpenseParser.isAmountValid;
+import static seedu.allonus.expense.ExpenseParser.reformatDate;
+
+/**
+ * Reads expenses from a CSV file, such as a statement exported from a bank, for the <code>import</code> command.
+ *
+ * <p>The file is read in batches of <code>BATCH_SIZE</code> rows, so that a large file is never held in memory
+ * as a whole, and the rows of each batch are validated in parallel. Rows that are not valid expenses are written,
+ * with the reason they were rejected, to a CSV file next to the imported file, so that they can be fixed and
+ * imported again.
+ *
+ * <p>The columns holding the date, amount, category, remark and currency of each expense are given by a mapping
+ * such as
+ * <code>date=1,amount=Debit,remark=Description</code>, where each column is either a column number starting from
+ * 1 or the name of a column in the header row. The date and amount columns are required. Rows without a category
+ * or remark are given <code>DEFAULT_CATEGORY</code> or <code>DEFAULT_REMARK</code>, and rows without a currency
+ * are in the base currency.
+ *
+ * <p>As a single amount column may hold both spending and money received, such as refunds or salary, the mapping
+ * can also give the sign of spending, as <code>sign=positive</code>, the default, or <code>sign=negative</code>
+ * for statements that show spending as negative amounts or in parentheses. Rows with an amount of the other sign
+ * are rejected rather than imported as spending.
+ */
+public class ExpenseCsvImporter {
+    public static final String DEFAULT_MAPPING = "date=1,amount=2,category=3,remark=4";
+    public static final String DEFAULT_CATEGORY = "Others";
+    public static final String DEFAULT_REMARK = "Imported";
+    public static final String REJECTED_FILE_SUFFIX = ".rejected.csv";
+    public static final List<String> FIELDS = Arrays.asList("date", "amount", "category", "remark", "currency");
+    public static final int DATE_FIELD = 0;
+    public static final int AMOUNT_FIELD = 1;
+    public static final int CATEGORY_FIELD = 2;
+    public static final int REMARK_FIELD = 3;
+    public static final int CURRENCY_FIELD = 4;
+    public static final int NOT_MAPPED = -1;
+    public static final int BATCH_SIZE = 4096;
+    public static final String MAPPING_SEPARATOR = ",";
+    public static final String MAPPING_ASSIGNMENT = "=";
+    public static final String REASON_COLUMN = "reason";
+    public static final String SIGN_OPTION = "sign";
+    public static final String SIGN_POSITIVE = "positive";
+    public static final String SIGN_NEGATIVE = "negative";
+    public static final String DELIMITER_LIKE_TEXT = "(?<=[dacr])/";
+    public static final String MSG_INVALID_MAPPING = "Invalid column mapping! Try e.g. "
+            + "'map/date=1,amount=2,category=3,remark=4' or 'map/date=Date,amount=Amount,remark=Description,"
+            + "sign=negative'.";
+    public static final String MSG_COLUMN_NOT_FOUND = "Column %s not found in the header row!";
+    public static final String MSG_MISSING_COLUMN = "Missing column %d";
+    public static final String MSG_INVALID_DATE = "Invalid date (expected YYYY-MM-DD)";
+    public static final String MSG_INVALID_AMOUNT = "Invalid amount";
+    public static final String MSG_NOT_SPENDING = "Money received, such as a refund, not spending";
+    public static final String MSG_INVALID_CURRENCY = "Invalid currency";
+    public static final String MSG_NO_EXCHANGE_RATE = "No exchange rate for %s";
+
+    /**
+     * A validated row: either an expense, or the reason the row was rejected.
+     */
+    private static class Row {
+        private final Expense expense;
+        private final String reason;
+
+        private Row(Expense expense, String reason) {
+            this.expense = expense;
+            this.reason = reason;
+        }
+    }
+
+    private final int[] columns = new int[FIELDS.size()];
+    private final String[] columnNames = new String[FIELDS.size()];
+    private boolean hasNamedColumns = false;
+    private boolean isSpendingNegative = false;
+    private int rejectedCount = 0;
+
+    /**
+     * Creates an importer reading the columns given by <code>mapping</code>.
+     *
+     * @param mapping column of each field, as e.g. <code>date=1,amount=Debit</code>, optionally with the sign of
+     *                spending, or null for <code>DEFAULT_MAPPING</code>
+     * @throws IllegalArgumentException if the mapping is invalid
+     */
+    public ExpenseCsvImporter(String mapping) throws IllegalArgumentException {
+        Arrays.fill(columns, NOT_MAPPED);
+        for (String assignment : (mapping == null ? DEFAULT_MAPPING : mapping).split(MAPPING_SEPARATOR)) {
+            String[] parts = assignment.split(MAPPING_ASSIGNMENT, 2);
+            if (parts[0].trim().equalsIgnoreCase(SIGN_OPTION)) {
+                isSpendingNegative = parseSign(parts.length < 2 ? "" : parts[1].trim());
+                continue;
+            }
+            int field = FIELDS.indexOf(parts[0].trim().toLowerCase(Locale.ROOT));
+            if (parts.length < 2 || field < 0 || parts[1].trim().isEmpty()) {
+                throw new IllegalArgumentException(MSG_INVALID_MAPPING);
+            }
+            String column = parts[1].trim();
+            if (column.chars().allMatch(Character::isDigit)) {
+                columns[field] = Integer.parseInt(column) - 1;
+                if (columns[field] < 0) {
+                    throw new IllegalArgumentException(MSG_INVALID_MAPPING);
+                }
+            } else {
+                columnNames[field] = column;
+                hasNamedColumns = true;
+            }
+        }
+        if ((columns[DATE_FIELD] == NOT_MAPPED && columnNames[DATE_FIELD] == null)
+                || (columns[AMOUNT_FIELD] == NOT_MAPPED && columnNames[AMOUNT_FIELD] == null)) {
+            throw new IllegalArgumentException(MSG_INVALID_MAPPING);
+        }
+    }
+
+    private static boolean parseSign(String sign) throws IllegalArgumentException {
+        if (sign.equalsIgnoreCase(SIGN_NEGATIVE)) {
+            return true;
+        } else if (sign.equalsIgnoreCase(SIGN_POSITIVE)) {
+            return false;
+        }
+        throw new IllegalArgumentException(MSG_INVALID_MAPPING);
+    }
+
+    /**
+     * Returns the number of rows rejected by the last call to <code>importFile</code>.
+     *
+     * @return number of rejected rows
+     */
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Returns the path of the file that the rows of <code>csvPath</code> that are rejected are written to.
+     *
+     * @param csvPath path of the imported file
+     * @return path of the file of rejected rows
+     */
+    public static Path getRejectedPath(Path csvPath) {
+        return csvPath.resolveSibling(csvPath.getFileName() + REJECTED_FILE_SUFFIX);
+    }
+
+    /**
+     * Reads the expenses in a CSV file, writing the rows that are not valid expenses to the file given by
+     * <code>getRejectedPath</code>. The first row is taken to be a header row if columns are mapped by name, or
+     * if its date column does not hold a date.
+     *
+     * @param csvPath path of the file to be imported
+     * @return the valid expenses, in the order of the file
+     * @throws IOException              if the file cannot be read, or the file of rejected rows cannot be written
+     * @throws IllegalArgumentException if a column mapped by name is not in the header row
+     */
+    public List<Expense> importFile(Path csvPath) throws IOException, IllegalArgumentException {
+        List<Expense> expenses = new ArrayList<>();
+        rejectedCount = 0;
+        Path rejectedPath = getRejectedPath(csvPath);
+        Files.deleteIfExists(rejectedPath);
+        BufferedWriter rejectedWriter = null;
+        try (BufferedReader reader = Files.newBufferedReader(csvPath, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null) {
+                return expenses;
+            }
+            boolean isHeader = hasNamedColumns || !isDate(parseLine(header), columns[DATE_FIELD]);
+            if (isHeader) {
+                resolveColumnNames(parseLine(header));
+            }
+            List<String> batch = new ArrayList<>(BATCH_SIZE);
+            if (!isHeader) {
+                batch.add(header);
+            }
+            String line = reader.readLine();
+            while (line != null || !batch.isEmpty()) {
+                if (line != null && batch.size() < BATCH_SIZE) {
+                    if (!line.trim().isEmpty()) {
+                        batch.add(line);
+                    }
+                    line = reader.readLine();
+                    continue;
+                }
+                Row[] rows = validateAll(batch);
+                for (int i = 0; i < rows.length; i++) {
+                    if (rows[i].expense != null) {
+                        expenses.add(rows[i].expense);
+                        continue;
+                    }
+                    if (rejectedWriter == null) {
+                        rejectedWriter = Files.newBufferedWriter(rejectedPath, StandardCharsets.UTF_8);
+                        if (isHeader) {
+                            rejectedWriter.write(header + MAPPING_SEPARATOR + REASON_COLUMN + "\n");
+                        }
+                    }
+                    rejectedWriter.write(batch.get(i) + MAPPING_SEPARATOR + quote(rows[i].reason) + "\n");
+                    rejectedCount++;
+                }
+                batch.clear();
+            }
+        } finally {
+            if (rejectedWriter != null) {
+                rejectedWriter.close();
+            }
+        }
+        return expenses;
+    }
+
+    /**
+     * Splits a CSV row into its fields. Fields may be quoted with double quotes, within which commas are part of
+     * the field and a doubled double quote stands for a double quote.
+     *
+     * @param line a row of a CSV file
+     * @return the fields of the row
+     */
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean isQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (isQuoted && c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                field.append('"');
+                i++;
+            } else if (c == '"') {
+                isQuoted = !isQuoted;
+            } else if (c == ',' && !isQuoted) {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    private void resolveColumnNames(List<String> headerFields) throws IllegalArgumentException {
+        for (int field = 0; field < columnNames.length; field++) {
+            if (columnNames[field] == null) {
+                continue;
+            }
+            int column = NOT_MAPPED;
+            for (int i = 0; i < headerFields.size() && column == NOT_MAPPED; i++) {
+                if (headerFields.get(i).equalsIgnoreCase(columnNames[field])) {
+                    column = i;
+                }
+            }
+            if (column == NOT_MAPPED) {
+                throw new IllegalArgumentException(String.format(MSG_COLUMN_NOT_FOUND, columnNames[field]));
+            }
+            columns[field] = column;
+        }
+    }
+
+    private static boolean isDate(List<String> fields, int column) {
+        try {
+            return column < fields.size() && reformatDate(fields.get(column)) != null;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private Row[] validateAll(List<String> batch) {
+        Row[] rows = new Row[batch.size()];
+        IntStream.range(0, rows.length).parallel().forEach(i -> rows[i] = validate(batch.get(i)));
+        return rows;
+    }
+
+    private Row validate(String line) {
+        List<String> fields = parseLine(line);
+        for (int field = 0; field < columns.length; field++) {
+            if (columns[field] >= fields.size() && (field == DATE_FIELD || field == AMOUNT_FIELD)) {
+                return new Row(null, String.format(MSG_MISSING_COLUMN, columns[field] + 1));
+            }
+        }
+        String category = getOptionalField(fields, CATEGORY_FIELD, DEFAULT_CATEGORY);
+        String remark = getOptionalField(fields, REMARK_FIELD, DEFAULT_REMARK);
+        String currency = getOptionalField(fields, CURRENCY_FIELD, null);
+        try {
+            currency = currency == null ? null : Currency.getInstance(currency.toUpperCase(Locale.ROOT))
+                    .getCurrencyCode();
+        } catch (IllegalArgumentException e) {
+            return new Row(null, MSG_INVALID_CURRENCY);
+        }
+        if (!Expense.getExchangeRates().canConvert(currency)) {
+            return new Row(null, String.format(MSG_NO_EXCHANGE_RATE, currency));
+        }
+        try {
+            String date = reformatDate(fields.get(columns[DATE_FIELD]));
+            String amount = cleanAmount(fields.get(columns[AMOUNT_FIELD]));
+            long cents = Expense.toCents(amount);
+            if (cents != 0 && (cents < 0) != isSpendingNegative) {
+                return new Row(null, MSG_NOT_SPENDING);
+            }
+            amount = amount.startsWith("-") ? amount.substring(1) : amount;
+            isAmountValid(amount);
+            Expense expense = new Expense(date, amount, category, remark);
+            expense.setCurrency(currency);
+            return new Row(expense, null);
+        } catch (DateTimeParseException e) {
+            return new Row(null, MSG_INVALID_DATE);
+        } catch (NumberFormatException | ExpenseAmountException e) {
+            return new Row(null, MSG_INVALID_AMOUNT);
+        }
+    }
+
+    private String getOptionalField(List<String> fields, int field, String defaultValue) {
+        int column = columns[field];
+        if (column == NOT_MAPPED || column >= fields.size() || fields.get(column).isEmpty()) {
+            return defaultValue;
+        }
+        return fields.get(column).replaceAll(DELIMITER_LIKE_TEXT, " /");
+    }
+
+    /**
+     * Removes currency symbols and digit grouping from an amount, writing an amount in parentheses with a minus
+     * sign instead, e.g. turning <code>($1,234.50)</code> into <code>-1234.50</code>.
+     */
+    private static String cleanAmount(String amount) {
+        String cleaned = amount.replaceAll("[$,\\s]", "");
+        if (cleaned.startsWith("(") && cleaned.endsWith(")")) {
+            cleaned = "-" + cleaned.substring(1, cleaned.length() - 1);
+        }
+        return cleaned;
+    }
+
+    private static String quote(String field) {
+        return "\"" + field.replace("\"", "\"\"") + "\"";
+    }
+}
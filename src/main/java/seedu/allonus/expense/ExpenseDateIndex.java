@@ -0,0 +1,153 @@
+package seedu.allonus.expense;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * An index of the expense list by date, used to find the expenses in a date range without going through the
+ * whole expense list.
+ *
+ * <p>Each expense is kept as a key packing its epoch day into the high 32 bits and its position in the expense
+ * list into the low 32 bits, in a sorted primitive array. The expenses in a date range are then found with two
+ * binary searches, in O(log n + k) time for k matching expenses, in date order. Like
+ * <code>ExpenseSummary</code>, the index is built when it is first used, kept up to date by
+ * <code>add</code>, <code>remove</code> and <code>move</code>, and rebuilt after <code>invalidate</code>.
+ */
+public class ExpenseDateIndex {
+    public static final int INITIAL_CAPACITY = 16;
+    private static final long POSITION_MASK = 0xffffffffL;
+
+    private final Supplier<List<Expense>> expenses;
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int size = 0;
+    private boolean isStale = true;
+
+    /**
+     * Creates a date index of the expenses returned by <code>expenses</code>.
+     *
+     * @param expenses supplier of the current expense list
+     */
+    public ExpenseDateIndex(Supplier<List<Expense>> expenses) {
+        this.expenses = expenses;
+    }
+
+    /**
+     * Adds an expense that has just been added to the end of the expense list.
+     *
+     * @param epochDay date of the expense
+     * @param position position of the expense in the expense list
+     */
+    public void add(int epochDay, int position) {
+        if (isStale) {
+            return;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        long key = toKey(epochDay, position);
+        int insertionPoint = -Arrays.binarySearch(keys, 0, size, key) - 1;
+        System.arraycopy(keys, insertionPoint, keys, insertionPoint + 1, size - insertionPoint);
+        keys[insertionPoint] = key;
+        size++;
+    }
+
+    /**
+     * Removes an expense that has just been removed from the expense list, moving the expenses after it
+     * up by one position.
+     *
+     * @param epochDay date of the expense
+     * @param position position the expense had in the expense list
+     */
+    public void remove(int epochDay, int position) {
+        if (isStale) {
+            return;
+        }
+        removeKey(epochDay, position);
+        for (int i = 0; i < size; i++) {
+            if ((int) (keys[i] & POSITION_MASK) > position) {
+                keys[i]--;
+            }
+        }
+    }
+
+    /**
+     * Changes the date of an expense that has just been edited.
+     *
+     * @param oldEpochDay date of the expense before it was edited
+     * @param newEpochDay date of the expense after it was edited
+     * @param position    position of the expense in the expense list
+     */
+    public void move(int oldEpochDay, int newEpochDay, int position) {
+        if (isStale || oldEpochDay == newEpochDay) {
+            return;
+        }
+        removeKey(oldEpochDay, position);
+        add(newEpochDay, position);
+    }
+
+    /**
+     * Discards the index, so that it is rebuilt from the expense list when it is next used.
+     */
+    public void invalidate() {
+        isStale = true;
+    }
+
+    /**
+     * Returns the positions in the expense list of the expenses dated from <code>fromEpochDay</code> to
+     * <code>toEpochDay</code> inclusive, sorted by date and then by position.
+     *
+     * @param fromEpochDay earliest date, as a number of days since 1970-01-01
+     * @param toEpochDay   latest date, as a number of days since 1970-01-01
+     * @return positions of the expenses in the range
+     */
+    public int[] getPositionsBetween(long fromEpochDay, long toEpochDay) {
+        rebuildIfStale();
+        if (fromEpochDay > toEpochDay) {
+            return new int[0];
+        }
+        int from = findFirstKeyAtLeast(fromEpochDay << Integer.SIZE);
+        int to = findFirstKeyAtLeast((toEpochDay + 1) << Integer.SIZE);
+        int[] positions = new int[to - from];
+        for (int i = from; i < to; i++) {
+            positions[i - from] = (int) (keys[i] & POSITION_MASK);
+        }
+        return positions;
+    }
+
+    private int findFirstKeyAtLeast(long key) {
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private void removeKey(int epochDay, int position) {
+        int index = Arrays.binarySearch(keys, 0, size, toKey(epochDay, position));
+        if (index < 0) {
+            isStale = true;
+            return;
+        }
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        size--;
+    }
+
+    private void rebuildIfStale() {
+        if (!isStale) {
+            return;
+        }
+        List<Expense> expenseList = expenses.get();
+        size = expenseList.size();
+        keys = new long[Math.max(INITIAL_CAPACITY, size)];
+        for (int i = 0; i < size; i++) {
+            int epochDay = expenseList instanceof ColumnarExpenseList
+                    ? ((ColumnarExpenseList) expenseList).getEpochDay(i)
+                    : expenseList.get(i).getEpochDay();
+            keys[i] = toKey(epochDay, i);
+        }
+        Arrays.sort(keys, 0, size);
+        isStale = false;
+    }
+
+    private static long toKey(long epochDay, int position) {
+        return (epochDay << Integer.SIZE) | position;
+    }
+}
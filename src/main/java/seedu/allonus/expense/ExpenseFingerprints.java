@@ -0,0 +1,179 @@
+package seedu.allonus.expense;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A multiset of the contents of the expenses in the expense list, used to find duplicate expenses in O(1) time
+ * each instead of comparing every pair of expenses.
+ *
+ * <p>Two expenses are duplicates if they have the same date, amount and currency, and the same category and
+ * remark apart from case and spacing. Like <code>ExpenseSummary</code>, the multiset is built when it is first
+ * used, kept up to date by <code>add</code>, <code>remove</code> and <code>replace</code>, and rebuilt after
+ * <code>invalidate</code>.
+ */
+public class ExpenseFingerprints {
+    public static final String SPACES = "\\s+";
+
+    /**
+     * The content of an expense that duplicates are compared on.
+     */
+    private static final class Fingerprint {
+        private final int epochDay;
+        private final long cents;
+        private final String currency;
+        private final String category;
+        private final String remark;
+
+        private Fingerprint(Expense expense) {
+            epochDay = expense.getEpochDay();
+            cents = expense.getCents();
+            currency = expense.getCurrency();
+            category = normalize(expense.getCategory());
+            remark = normalize(expense.getRemark());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Fingerprint)) {
+                return false;
+            }
+            Fingerprint fingerprint = (Fingerprint) other;
+            return epochDay == fingerprint.epochDay && cents == fingerprint.cents
+                    && Objects.equals(currency, fingerprint.currency) && category.equals(fingerprint.category)
+                    && remark.equals(fingerprint.remark);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 31 * epochDay + Long.hashCode(cents);
+            hash = 31 * hash + Objects.hashCode(currency);
+            hash = 31 * hash + category.hashCode();
+            return 31 * hash + remark.hashCode();
+        }
+    }
+
+    private final Supplier<List<Expense>> expenses;
+    private final HashMap<Fingerprint, Integer> counts = new HashMap<>();
+    private boolean isStale = true;
+
+    /**
+     * Creates a multiset of the contents of the expenses returned by <code>expenses</code>.
+     *
+     * @param expenses supplier of the current expense list
+     */
+    public ExpenseFingerprints(Supplier<List<Expense>> expenses) {
+        this.expenses = expenses;
+    }
+
+    /**
+     * Adds an expense that has just been added to the expense list.
+     *
+     * @param expense the added expense
+     */
+    public void add(Expense expense) {
+        if (!isStale) {
+            counts.merge(new Fingerprint(expense), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Removes an expense that has just been removed from the expense list.
+     *
+     * @param expense the removed expense
+     */
+    public void remove(Expense expense) {
+        if (!isStale) {
+            counts.computeIfPresent(new Fingerprint(expense), (fingerprint, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    /**
+     * Replaces an expense that has just been edited.
+     *
+     * @param original the expense before it was edited
+     * @param edited   the expense after it was edited
+     */
+    public void replace(Expense original, Expense edited) {
+        remove(original);
+        add(edited);
+    }
+
+    /**
+     * Discards the multiset, so that it is rebuilt from the expense list when it is next used.
+     */
+    public void invalidate() {
+        isStale = true;
+    }
+
+    /**
+     * Returns the number of expenses in the expense list that <code>expense</code> is a duplicate of.
+     *
+     * @param expense the expense to look for
+     * @return number of duplicates in the expense list
+     */
+    public int countDuplicates(Expense expense) {
+        rebuildIfStale();
+        return counts.getOrDefault(new Fingerprint(expense), 0);
+    }
+
+    /**
+     * Returns whether <code>expense</code> is a duplicate of an expense in the expense list.
+     *
+     * @param expense the expense to look for
+     * @return true if the expense list holds a duplicate of the expense
+     */
+    public boolean isDuplicate(Expense expense) {
+        return countDuplicates(expense) > 0;
+    }
+
+    /**
+     * Returns a check, to be applied to the expenses of a list in order, of whether an expense is a duplicate of
+     * an earlier expense in the list. The check keeps the content of every distinct expense it has seen.
+     *
+     * @return check returning true for each expense whose content has been seen before
+     */
+    public static Predicate<Expense> newRepeatCheck() {
+        Set<Fingerprint> seen = new HashSet<>();
+        return expense -> !seen.add(new Fingerprint(expense));
+    }
+
+    /**
+     * Returns a check, to be applied in order to expenses about to be added to the expense list, of whether an
+     * expense is already in the expense list. Each expense in the expense list is matched by at most one expense
+     * checked, so that an expense checked k times that is in the expense list j times is found to be new
+     * k - j times.
+     *
+     * @return check returning true for each expense already in the expense list
+     */
+    public Predicate<Expense> newAlreadyAddedCheck() {
+        rebuildIfStale();
+        HashMap<Fingerprint, Integer> matchedCounts = new HashMap<>();
+        return expense -> {
+            Fingerprint fingerprint = new Fingerprint(expense);
+            int count = counts.getOrDefault(fingerprint, 0);
+            return count > 0 && matchedCounts.merge(fingerprint, 1, Integer::sum) <= count;
+        };
+    }
+
+    private static String normalize(String text) {
+        return text.trim().replaceAll(SPACES, " ").toLowerCase(Locale.ROOT);
+    }
+
+    private void rebuildIfStale() {
+        if (!isStale) {
+            return;
+        }
+        counts.clear();
+        isStale = false;
+        for (Expense expense : expenses.get()) {
+            add(expense);
+        }
+    }
+}
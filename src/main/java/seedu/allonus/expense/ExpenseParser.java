@@ -1,12 +1,13 @@
 package seedu.allonus.expense;
 
 import seedu.allonus.expense.exceptions.ExpenseAmountException;
+import seedu.allonus.expense.exceptions.ExpenseCurrencyException;
 import seedu.allonus.expense.exceptions.ExpenseEmptyFieldException;
 import seedu.allonus.expense.exceptions.ExpenseMissingFieldException;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Currency;
 
 public class ExpenseParser {
     public static final String DATE_DELIMITER = "d/";
@@ -14,6 +15,14 @@ public class ExpenseParser {
     public static final String CATEGORY_DELIMITER = "c/";
     public static final String REMARKS_DELIMITER = "r/";
     public static final String ALL_DELIMITERS = "[dacr]/";
+    public static final String FREQUENCY_DELIMITER = "f/";
+    public static final String END_DATE_DELIMITER = "e/";
+    public static final String RECURRENCE_FIELDS = "(^|\\s+)[fe]/\\S*";
+    public static final String CURRENCY_DELIMITER = "x/";
+    public static final String CURRENCY_FIELD = "(^|\\s+)x/\\S*";
+    public static final String FIELDS_WITH_SPACES = "[cr]/";
+    public static final String MSG_INVALID_CURRENCY = "%s is not a currency! Please enter a currency code such as "
+            + "'x/USD'.";
     public static final String ASSERT_INPUT_NOT_NULL = "User input should not be null";
     public static final String ASSERT_DELIMITER_NOT_NULL = "Delimiter should not be null";
     public static final String ASSERT_RESULT_NOT_NULL = "Result should not be null";
@@ -23,29 +32,50 @@ public class ExpenseParser {
     public static final int LEFT_SIDE = 0;
     public static final int ZERO = 0;
     public static final int INDEX_TO_BE_PARSED = 1;
+    public static final LocalDate EARLIEST_DATE = LocalDate.of(1, 1, 1);
+    public static final LocalDate LATEST_DATE = LocalDate.of(9999, 12, 31);
+    public static final String MSG_DATE_OUT_OF_RANGE = "Date must be from 0001-01-01 to 9999-12-31";
 
     /**
      * Reformats the date field into a valid date object.
      *
      * @param rawDate the date of the expense record entered by the user
      * @return a string of the reformatted date entered by the user
-     * @throws DateTimeParseException if user did not enter a valid date format
+     * @throws DateTimeParseException if user did not enter a valid date format, or a date outside the
+     *                                supported range
      */
     public static String reformatDate(String rawDate) throws DateTimeParseException {
-        LocalDate dateOfExpense = LocalDate.parse(rawDate);
-        String parsedDate = dateOfExpense.format(DateTimeFormatter.ofPattern("YYYY-MM-dd"));
-        return parsedDate;
+        LocalDate dateOfExpense = parseDate(rawDate);
+        return dateOfExpense.toString();
     }
 
     /**
-     * Checks if the specified expense amount is a valid integer/float and is non-negative.
+     * Parses a date in YYYY-MM-DD format, from <code>EARLIEST_DATE</code> to <code>LATEST_DATE</code>. Dates
+     * outside this range have years of more than four digits, which do not fit the YYYY-MM-DD format of saved
+     * expenses, and may have more days since 1970-01-01 than an expense can hold.
+     *
+     * @param rawDate the date entered by the user
+     * @return the date
+     * @throws DateTimeParseException if the date is of incorrect format or outside the supported range
+     */
+    public static LocalDate parseDate(String rawDate) throws DateTimeParseException {
+        LocalDate date = LocalDate.parse(rawDate);
+        if (date.isBefore(EARLIEST_DATE) || date.isAfter(LATEST_DATE)) {
+            throw new DateTimeParseException(MSG_DATE_OUT_OF_RANGE, rawDate, 0);
+        }
+        return date;
+    }
+
+    /**
+     * Checks if the specified expense amount is a valid decimal number of cents and is non-negative.
      *
      * @param amount the expense amount entered by the user
      * @throws ExpenseAmountException if amount is negative
+     * @throws NumberFormatException if amount is not a number or is too large
      */
     public static void isAmountValid(String amount) throws ExpenseAmountException {
-        float parsedAmount = Float.parseFloat(amount);
-        if (parsedAmount < 0) {
+        long cents = Expense.toCents(amount);
+        if (cents < 0) {
             throw new ExpenseAmountException("Amount cannot be negative!");
         }
     }
@@ -55,13 +85,16 @@ public class ExpenseParser {
      * provided.
      *
      * @param userInput the line that is inputted by the user
-     * @return list of parameters representing the date, amount, category and remarks
+     * @return list of parameters representing the date, amount, category, remarks and currency, which is null
+     *         if no currency is given
      * @throws IndexOutOfBoundsException if some fields are missing, or wrong delimiters are used
+     * @throws ExpenseCurrencyException  if the currency is not a valid currency code
      */
     public static String[] parseNewExpense(String userInput) throws IndexOutOfBoundsException,
             DateTimeParseException, NumberFormatException, ExpenseAmountException, ExpenseMissingFieldException,
-            ExpenseEmptyFieldException {
-        String rawInput = userInput.split(" ", SPLIT_IN_HALF)[EXPENSE_FIELDS].trim();
+            ExpenseEmptyFieldException, ExpenseCurrencyException {
+        String currency = parseCurrency(userInput);
+        String rawInput = removeCurrencyField(userInput).split(" ", SPLIT_IN_HALF)[EXPENSE_FIELDS].trim();
         assert rawInput != null : ASSERT_INPUT_NOT_NULL;
         if (!rawInput.contains(DATE_DELIMITER) || !rawInput.contains(AMOUNT_DELIMITER)
                 || !rawInput.contains(CATEGORY_DELIMITER) || !rawInput.contains(REMARKS_DELIMITER)) {
@@ -72,7 +105,7 @@ public class ExpenseParser {
         String amount = parseKeywordExpense(rawInput, AMOUNT_DELIMITER, ALL_DELIMITERS);
         String category = parseKeywordExpense(rawInput, CATEGORY_DELIMITER, ALL_DELIMITERS);
         String remarks = parseKeywordExpense(rawInput, REMARKS_DELIMITER, ALL_DELIMITERS);
-        String[] result = {date, amount, category, remarks};
+        String[] result = {date, amount, category, remarks, currency};
         return result;
     }
 
@@ -100,10 +133,7 @@ public class ExpenseParser {
         String[] stripRightOfDelimiter = rightOfDelimiter.split(rightDelimiter, SPLIT_IN_HALF);
         String result = stripRightOfDelimiter[LEFT_SIDE].trim();
         if (leftDelimiter.equals(AMOUNT_DELIMITER)) {
-            float amountCheck = Float.parseFloat(result);
-            if (amountCheck < 0) {
-                throw new ExpenseAmountException("Amount cannot be negative!");
-            }
+            isAmountValid(result);
         }
         assert result != null : ASSERT_RESULT_NOT_NULL;
         if (result.length() == ZERO) {
@@ -155,5 +185,120 @@ public class ExpenseParser {
         String result = rawInput[INDEX_TO_BE_PARSED];
         return result;
     }
-}
 
+    /**
+     * Parses the two dates of a date range, entered as <code>d/FROM d/TO</code>.
+     *
+     * @param userInput the line that is inputted by the user
+     * @return the earliest and latest dates of the range
+     * @throws IndexOutOfBoundsException if either date is missing
+     * @throws DateTimeParseException    if either date is of incorrect format
+     */
+    public static LocalDate[] parseDateRange(String userInput) throws IndexOutOfBoundsException,
+            DateTimeParseException {
+        assert userInput != null : ASSERT_INPUT_NOT_NULL;
+        String[] rawInput = userInput.split(DATE_DELIMITER);
+        LocalDate fromDate = parseDate(rawInput[1].split(ALL_DELIMITERS)[LEFT_SIDE].trim());
+        LocalDate toDate = parseDate(rawInput[2].split(ALL_DELIMITERS)[LEFT_SIDE].trim());
+        return new LocalDate[]{fromDate, toDate};
+    }
+
+    /**
+     * Parses the optional category of a command, entered as <code>c/CATEGORY</code>.
+     *
+     * @param userInput the line that is inputted by the user
+     * @return the category, or null if no category is given
+     */
+    public static String parseOptionalCategory(String userInput) {
+        assert userInput != null : ASSERT_INPUT_NOT_NULL;
+        String[] rawInput = userInput.split(CATEGORY_DELIMITER, SPLIT_IN_HALF);
+        if (rawInput.length < SPLIT_IN_HALF) {
+            return null;
+        }
+        String category = rawInput[RIGHT_SIDE].split(ALL_DELIMITERS, SPLIT_IN_HALF)[LEFT_SIDE].trim();
+        return category.isEmpty() ? null : category;
+    }
+
+    /**
+     * Parses an optional field whose value cannot contain spaces, such as <code>f/FREQUENCY</code> or
+     * <code>e/END</code> of a recurring expense, or <code>x/CURRENCY</code> of an expense. Such fields are
+     * entered before the category and remarks, so that text such as <code>f/y</code> in the remarks is kept
+     * as it is.
+     *
+     * @param userInput the line that is inputted by the user
+     * @param delimiter <code>FREQUENCY_DELIMITER</code>, <code>END_DATE_DELIMITER</code> or
+     *                  <code>CURRENCY_DELIMITER</code>
+     * @return the value of the field, or null if the field is not given
+     */
+    public static String parseSingleWordField(String userInput, String delimiter) {
+        assert userInput != null : ASSERT_INPUT_NOT_NULL;
+        String singleWordFields = userInput.substring(0, getSingleWordFieldsEnd(userInput));
+        for (String word : singleWordFields.trim().split("\\s+")) {
+            if (word.startsWith(delimiter) && word.length() > delimiter.length()) {
+                return word.substring(delimiter.length());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the line inputted by the user without the fields of a recurring expense, leaving the fields of
+     * its first occurrence to be parsed by <code>parseNewExpense</code>.
+     *
+     * @param userInput the line that is inputted by the user
+     * @return the line without <code>f/FREQUENCY</code> and <code>e/END</code>
+     */
+    public static String removeRecurrenceFields(String userInput) {
+        return removeSingleWordFields(userInput, RECURRENCE_FIELDS);
+    }
+
+    /**
+     * Parses the optional currency of an expense, entered as <code>x/CURRENCY</code> before the category and
+     * remarks.
+     *
+     * @param userInput the line that is inputted by the user
+     * @return the ISO 4217 code of the currency in upper case, or null if no currency is given
+     * @throws ExpenseCurrencyException if the currency is not a valid currency code
+     */
+    public static String parseCurrency(String userInput) throws ExpenseCurrencyException {
+        String code = parseSingleWordField(userInput, CURRENCY_DELIMITER);
+        if (code == null) {
+            return null;
+        }
+        try {
+            return Currency.getInstance(code.toUpperCase()).getCurrencyCode();
+        } catch (IllegalArgumentException e) {
+            throw new ExpenseCurrencyException(String.format(MSG_INVALID_CURRENCY, code));
+        }
+    }
+
+    /**
+     * Returns the line inputted by the user without the currency of an expense, leaving the category and
+     * remarks as they are.
+     *
+     * @param userInput the line that is inputted by the user
+     * @return the line without <code>x/CURRENCY</code>
+     */
+    public static String removeCurrencyField(String userInput) {
+        return removeSingleWordFields(userInput, CURRENCY_FIELD);
+    }
+
+    /**
+     * Returns the line inputted by the user without the fields matching <code>fields</code> that are entered
+     * before the category and remarks, leaving the category and remarks as they are.
+     */
+    private static String removeSingleWordFields(String userInput, String fields) {
+        assert userInput != null : ASSERT_INPUT_NOT_NULL;
+        int end = getSingleWordFieldsEnd(userInput);
+        return userInput.substring(0, end).replaceAll(fields, "") + userInput.substring(end);
+    }
+
+    /**
+     * Returns the index at which the category or remarks of an expense begin, after which text is not
+     * parsed as a single-word field such as <code>x/CURRENCY</code>, or the length of the line if neither
+     * is given.
+     */
+    private static int getSingleWordFieldsEnd(String userInput) {
+        return userInput.split(FIELDS_WITH_SPACES, SPLIT_IN_HALF)[LEFT_SIDE].length();
+    }
+}
@@ -0,0 +1,304 @@
+package seedu.allonus.expense;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * An inverted index of the words in the date, category and remarks of each expense, used by <code>find</code>
+ * to look up the expenses matching a query without going through the whole expense list.
+ *
+ * <p>Each lowercased word maps to a posting list of the positions in the expense list of the expenses
+ * containing it. Words are split on whitespace, and the letters and digits within a word are also indexed on
+ * their own, so that e.g. <code>#4242</code> is found by both <code>#4242</code> and <code>4242</code>. A query
+ * term matches every word it is a prefix of, which the sorted map of words finds with a range lookup.
+ *
+ * <p>A query is made of terms separated by spaces, all of which must match, and <code>or</code> between groups
+ * of terms, any of which may match, e.g. <code>lunch friends or dinner</code>. Like <code>ExpenseSummary</code>,
+ * the index is built when it is first used, kept up to date by <code>add</code>, <code>remove</code> and
+ * <code>replace</code>, and rebuilt after <code>invalidate</code>.
+ */
+public class ExpenseSearchIndex {
+    public static final String OR_KEYWORD = "or";
+    public static final String AND_KEYWORD = "and";
+    public static final String WORD_SEPARATOR = "\\s+";
+    public static final String PIECE_SEPARATOR = "[^\\p{L}\\p{N}]+";
+    public static final char LAST_CHARACTER = Character.MAX_VALUE;
+    public static final int INITIAL_POSTINGS = 4;
+
+    /**
+     * Positions of the expenses containing a word, in increasing order.
+     */
+    private static class Postings {
+        private int[] positions = new int[INITIAL_POSTINGS];
+        private int size = 0;
+
+        private void add(int position) {
+            int index = Arrays.binarySearch(positions, 0, size, position);
+            if (index >= 0) {
+                return;
+            }
+            index = -index - 1;
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            System.arraycopy(positions, index, positions, index + 1, size - index);
+            positions[index] = position;
+            size++;
+        }
+
+        private void remove(int position) {
+            int index = Arrays.binarySearch(positions, 0, size, position);
+            if (index >= 0) {
+                System.arraycopy(positions, index + 1, positions, index, size - index - 1);
+                size--;
+            }
+        }
+
+        private void shiftAfter(int position) {
+            int index = Arrays.binarySearch(positions, 0, size, position);
+            for (int i = index >= 0 ? index : -index - 1; i < size; i++) {
+                positions[i]--;
+            }
+        }
+    }
+
+    private final Supplier<List<Expense>> expenses;
+    private final TreeMap<String, Postings> postingsByWord = new TreeMap<>();
+    private boolean isStale = true;
+
+    /**
+     * Creates a search index of the expenses returned by <code>expenses</code>.
+     *
+     * @param expenses supplier of the current expense list
+     */
+    public ExpenseSearchIndex(Supplier<List<Expense>> expenses) {
+        this.expenses = expenses;
+    }
+
+    /**
+     * Adds the words of an expense that has just been added to the expense list.
+     *
+     * @param expense  the added expense
+     * @param position position of the expense in the expense list
+     */
+    public void add(Expense expense, int position) {
+        if (isStale) {
+            return;
+        }
+        for (String word : getWords(expense)) {
+            postingsByWord.computeIfAbsent(word, w -> new Postings()).add(position);
+        }
+    }
+
+    /**
+     * Removes the words of an expense that has just been removed from the expense list, moving the expenses
+     * after it up by one position.
+     *
+     * @param expense  the removed expense
+     * @param position position the expense had in the expense list
+     */
+    public void remove(Expense expense, int position) {
+        if (isStale) {
+            return;
+        }
+        removeWords(expense, position);
+        for (Postings postings : postingsByWord.values()) {
+            postings.shiftAfter(position);
+        }
+    }
+
+    /**
+     * Replaces the words of an expense that has just been edited.
+     *
+     * @param original the expense before it was edited
+     * @param edited   the expense after it was edited
+     * @param position position of the expense in the expense list
+     */
+    public void replace(Expense original, Expense edited, int position) {
+        if (isStale) {
+            return;
+        }
+        removeWords(original, position);
+        add(edited, position);
+    }
+
+    /**
+     * Discards the index, so that it is rebuilt from the expense list when it is next used.
+     */
+    public void invalidate() {
+        isStale = true;
+    }
+
+    /**
+     * Returns the positions in the expense list of the expenses matching <code>query</code>, in increasing order.
+     *
+     * @param query terms to look for, as parsed by <code>parseQuery</code>
+     * @return positions of the matching expenses
+     */
+    public int[] search(List<List<String>> query) {
+        rebuildIfStale();
+        int[] matches = new int[0];
+        for (List<String> terms : query) {
+            int[] groupMatches = null;
+            for (String term : terms) {
+                int[] termMatches = findTerm(term);
+                groupMatches = groupMatches == null ? termMatches : intersect(groupMatches, termMatches);
+            }
+            if (groupMatches != null) {
+                matches = union(matches, groupMatches);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Checks whether an expense that is not in the index, such as an archived expense, matches
+     * <code>query</code>.
+     *
+     * @param expense the expense to check
+     * @param query   terms to look for, as parsed by <code>parseQuery</code>
+     * @return true if the expense matches
+     */
+    public static boolean isMatching(Expense expense, List<List<String>> query) {
+        Set<String> words = getWords(expense);
+        for (List<String> terms : query) {
+            boolean isGroupMatching = !terms.isEmpty();
+            for (String term : terms) {
+                isGroupMatching = isGroupMatching && words.stream().anyMatch(word -> word.startsWith(term));
+            }
+            if (isGroupMatching) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses a query into groups of lowercased terms. An expense matches the query if it matches all the terms
+     * of any group.
+     *
+     * @param query the query entered by the user
+     * @return groups of terms
+     */
+    public static List<List<String>> parseQuery(String query) {
+        List<List<String>> groups = new ArrayList<>();
+        List<String> terms = new ArrayList<>();
+        for (String term : query.trim().toLowerCase(Locale.ROOT).split(WORD_SEPARATOR)) {
+            if (term.equals(OR_KEYWORD)) {
+                groups.add(terms);
+                terms = new ArrayList<>();
+            } else if (!term.isEmpty() && !term.equals(AND_KEYWORD)) {
+                terms.add(term);
+            }
+        }
+        groups.add(terms);
+        groups.removeIf(List::isEmpty);
+        return groups;
+    }
+
+    private int[] findTerm(String term) {
+        SortedMap<String, Postings> matchingWords = postingsByWord.subMap(term, term + LAST_CHARACTER);
+        int count = 0;
+        for (Postings postings : matchingWords.values()) {
+            count += postings.size;
+        }
+        int[] matches = new int[count];
+        count = 0;
+        for (Postings postings : matchingWords.values()) {
+            System.arraycopy(postings.positions, 0, matches, count, postings.size);
+            count += postings.size;
+        }
+        if (matchingWords.size() > 1) {
+            Arrays.sort(matches);
+            matches = Arrays.stream(matches).distinct().toArray();
+        }
+        return matches;
+    }
+
+    private void removeWords(Expense expense, int position) {
+        for (String word : getWords(expense)) {
+            Postings postings = postingsByWord.get(word);
+            if (postings == null) {
+                continue;
+            }
+            postings.remove(position);
+            if (postings.size == 0) {
+                postingsByWord.remove(word);
+            }
+        }
+    }
+
+    private void rebuildIfStale() {
+        if (!isStale) {
+            return;
+        }
+        postingsByWord.clear();
+        isStale = false;
+        List<Expense> expenseList = expenses.get();
+        for (int i = 0; i < expenseList.size(); i++) {
+            add(expenseList.get(i), i);
+        }
+    }
+
+    private static Set<String> getWords(Expense expense) {
+        Set<String> words = new HashSet<>();
+        String text = expense.getDate() + " " + expense.getCategory() + " " + expense.getRemark();
+        for (String word : text.toLowerCase(Locale.ROOT).split(WORD_SEPARATOR)) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            words.add(word);
+            for (String piece : word.split(PIECE_SEPARATOR)) {
+                if (!piece.isEmpty()) {
+                    words.add(piece);
+                }
+            }
+        }
+        return words;
+    }
+
+    private static int[] intersect(int[] first, int[] second) {
+        int[] result = new int[Math.min(first.length, second.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[size++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static int[] union(int[] first, int[] second) {
+        int[] result = new int[first.length + second.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length || j < second.length) {
+            int next;
+            if (j == second.length || (i < first.length && first[i] <= second[j])) {
+                next = first[i++];
+            } else {
+                next = second[j++];
+            }
+            if (size == 0 || result[size - 1] != next) {
+                result[size++] = next;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+}
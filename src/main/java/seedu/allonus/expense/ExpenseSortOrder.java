@@ -0,0 +1,216 @@
+package seedu.allonus.expense;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntBinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Permutations of the positions in the expense list that list the expenses sorted by date, amount or category,
+ * used by <code>list s/KEY</code> so that a sorted listing does not sort the whole expense list each time.
+ *
+ * <p>A permutation is sorted when it is first asked for, with expenses of equal keys kept in the order of the
+ * expense list, and is then patched as expenses are added, deleted or edited: a new or edited expense is put in
+ * its place with a binary search, and a deleted expense is taken out in a single pass that also moves the
+ * expenses after it up by one position. Changes that touch many expenses at once call <code>invalidate</code>
+ * instead, so that the permutations are sorted again when they are next asked for.
+ */
+public class ExpenseSortOrder {
+    public static final String SORT_BY_DATE = "date";
+    public static final String SORT_BY_AMOUNT = "amount";
+    public static final String SORT_BY_CATEGORY = "category";
+    public static final List<String> SORT_KEYS = Arrays.asList(SORT_BY_DATE, SORT_BY_AMOUNT, SORT_BY_CATEGORY);
+
+    /**
+     * Positions in the expense list, sorted by one key.
+     */
+    private static class Permutation {
+        private int[] positions;
+        private int size;
+
+        private Permutation(int[] positions) {
+            this.positions = positions;
+            this.size = positions.length;
+        }
+    }
+
+    private final Supplier<List<Expense>> expenses;
+    private final HashMap<String, Permutation> permutations = new HashMap<>();
+
+    /**
+     * Creates sort orders of the expenses returned by <code>expenses</code>.
+     *
+     * @param expenses supplier of the current expense list
+     */
+    public ExpenseSortOrder(Supplier<List<Expense>> expenses) {
+        this.expenses = expenses;
+    }
+
+    /**
+     * Returns the positions in the expense list of all expenses, sorted by <code>sortKey</code>.
+     *
+     * @param sortKey      one of <code>SORT_KEYS</code>
+     * @param isDescending whether the expenses are sorted from the highest key to the lowest
+     * @return positions of the expenses in sorted order
+     * @throws IllegalArgumentException if the sort key is unknown
+     */
+    public int[] getPositions(String sortKey, boolean isDescending) throws IllegalArgumentException {
+        if (!SORT_KEYS.contains(sortKey)) {
+            throw new IllegalArgumentException(sortKey);
+        }
+        Permutation permutation = permutations.computeIfAbsent(sortKey, this::sort);
+        if (!isDescending) {
+            return Arrays.copyOf(permutation.positions, permutation.size);
+        }
+        int[] positions = new int[permutation.size];
+        for (int i = 0; i < permutation.size; i++) {
+            positions[i] = permutation.positions[permutation.size - 1 - i];
+        }
+        return positions;
+    }
+
+    /**
+     * Puts an expense that has just been appended to the expense list in its place in each permutation.
+     *
+     * @param position position of the expense in the expense list
+     */
+    public void add(int position) {
+        for (Map.Entry<String, Permutation> permutation : permutations.entrySet()) {
+            insert(permutation.getValue(), getComparator(permutation.getKey()), position);
+        }
+    }
+
+    /**
+     * Takes an expense that has just been removed from the expense list out of each permutation, moving the
+     * expenses after it up by one position.
+     *
+     * @param position position the expense had in the expense list
+     */
+    public void remove(int position) {
+        for (Permutation permutation : permutations.values()) {
+            int size = 0;
+            for (int i = 0; i < permutation.size; i++) {
+                int current = permutation.positions[i];
+                if (current != position) {
+                    permutation.positions[size++] = current > position ? current - 1 : current;
+                }
+            }
+            permutation.size = size;
+        }
+    }
+
+    /**
+     * Moves an expense that has just been edited to its new place in each permutation.
+     *
+     * @param position position of the expense in the expense list
+     */
+    public void update(int position) {
+        for (Map.Entry<String, Permutation> entry : permutations.entrySet()) {
+            Permutation permutation = entry.getValue();
+            int index = 0;
+            while (index < permutation.size && permutation.positions[index] != position) {
+                index++;
+            }
+            if (index == permutation.size) {
+                invalidate();
+                return;
+            }
+            System.arraycopy(permutation.positions, index + 1, permutation.positions, index,
+                    permutation.size - index - 1);
+            permutation.size--;
+            insert(permutation, getComparator(entry.getKey()), position);
+        }
+    }
+
+    /**
+     * Discards the permutations, so that they are sorted again when they are next asked for.
+     */
+    public void invalidate() {
+        permutations.clear();
+    }
+
+    private static void insert(Permutation permutation, IntBinaryOperator comparator, int position) {
+        int low = 0;
+        int high = permutation.size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.applyAsInt(permutation.positions[middle], position) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        if (permutation.size == permutation.positions.length) {
+            permutation.positions = Arrays.copyOf(permutation.positions, Math.max(1, permutation.size * 2));
+        }
+        System.arraycopy(permutation.positions, low, permutation.positions, low + 1, permutation.size - low);
+        permutation.positions[low] = position;
+        permutation.size++;
+    }
+
+    private Permutation sort(String sortKey) {
+        int size = expenses.get().size();
+        int[] positions = new int[size];
+        for (int i = 0; i < size; i++) {
+            positions[i] = i;
+        }
+        mergeSort(positions, new int[size], 0, size, getComparator(sortKey));
+        return new Permutation(positions);
+    }
+
+    private static void mergeSort(int[] positions, int[] buffer, int from, int to, IntBinaryOperator comparator) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(positions, buffer, from, middle, comparator);
+        mergeSort(positions, buffer, middle, to, comparator);
+        if (comparator.applyAsInt(positions[middle - 1], positions[middle]) <= 0) {
+            return;
+        }
+        System.arraycopy(positions, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right == to || (left < middle && comparator.applyAsInt(buffer[left], buffer[right]) <= 0)) {
+                positions[i] = buffer[left++];
+            } else {
+                positions[i] = buffer[right++];
+            }
+        }
+    }
+
+    /**
+     * Returns a comparator of two positions in the expense list by <code>sortKey</code>, and then by position,
+     * reading the primitive columns of a <code>ColumnarExpenseList</code> directly.
+     */
+    private IntBinaryOperator getComparator(String sortKey) {
+        List<Expense> list = expenses.get();
+        ColumnarExpenseList columns = list instanceof ColumnarExpenseList ? (ColumnarExpenseList) list : null;
+        IntBinaryOperator keyComparator;
+        switch (sortKey) {
+        case SORT_BY_DATE:
+            keyComparator = columns != null
+                    ? (a, b) -> Integer.compare(columns.getEpochDay(a), columns.getEpochDay(b))
+                    : (a, b) -> Integer.compare(list.get(a).getEpochDay(), list.get(b).getEpochDay());
+            break;
+        case SORT_BY_AMOUNT:
+            keyComparator = columns != null
+                    ? (a, b) -> Long.compare(columns.getBaseCents(a), columns.getBaseCents(b))
+                    : (a, b) -> Long.compare(list.get(a).getBaseCents(), list.get(b).getBaseCents());
+            break;
+        default:
+            keyComparator = columns != null
+                    ? (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(columns.getCategory(columns.getCategoryId(a)),
+                            columns.getCategory(columns.getCategoryId(b)))
+                    : (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(list.get(a).getCategory(),
+                            list.get(b).getCategory());
+        }
+        return (a, b) -> {
+            int comparison = keyComparator.applyAsInt(a, b);
+            return comparison != 0 ? comparison : Integer.compare(a, b);
+        };
+    }
+}
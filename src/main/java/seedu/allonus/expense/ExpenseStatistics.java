@@ -0,0 +1,185 @@
+package seedu.allonus.expense;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Running statistics of the amounts of all expenses and of the expenses in each category: their count, mean and
+ * standard deviation, and a <code>QuantileSketch</code> for percentiles, all updated in O(1) time as expenses are
+ * added, deleted or edited, and all in memory bounded by the number of categories.
+ *
+ * <p>The statistics are used by <code>stats</code>, and to flag a new expense whose amount is unusually high for
+ * its category: above the third quartile by more than <code>OUTLIER_FENCE</code> times the interquartile range.
+ * Like <code>ExpenseSummary</code>, the statistics are built when they are first used, kept up to date by
+ * <code>add</code> and <code>remove</code>, and rebuilt after <code>invalidate</code>.
+ */
+public class ExpenseStatistics {
+    public static final int MIN_EXPENSES_FOR_OUTLIERS = 10;
+    public static final double OUTLIER_FENCE = 3.0;
+    public static final double LOWER_QUARTILE = 0.25;
+    public static final double MEDIAN = 0.5;
+    public static final double UPPER_QUARTILE = 0.75;
+
+    /**
+     * Statistics of the amounts of a group of expenses. The mean and variance are kept with Welford's method,
+     * which also lets an amount be taken out again.
+     */
+    public static class Statistics {
+        private final QuantileSketch sketch = new QuantileSketch();
+        private long count = 0;
+        private double meanCents = 0;
+        private double squaredDeviations = 0;
+
+        private void add(long cents) {
+            sketch.add(cents);
+            count++;
+            double deviation = cents - meanCents;
+            meanCents += deviation / count;
+            squaredDeviations += deviation * (cents - meanCents);
+        }
+
+        private void remove(long cents) {
+            sketch.remove(cents);
+            count--;
+            if (count == 0) {
+                meanCents = 0;
+                squaredDeviations = 0;
+                return;
+            }
+            double deviation = cents - meanCents;
+            meanCents -= deviation / count;
+            squaredDeviations = Math.max(0, squaredDeviations - deviation * (cents - meanCents));
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMeanCents() {
+            return Math.round(meanCents);
+        }
+
+        public long getStandardDeviationCents() {
+            return count < 2 ? 0 : Math.round(Math.sqrt(squaredDeviations / (count - 1)));
+        }
+
+        /**
+         * Returns an estimate of the amount below which a fraction <code>quantile</code> of the amounts lie.
+         *
+         * @param quantile a fraction from 0 to 1
+         * @return estimated amount in cents
+         */
+        public long getQuantileCents(double quantile) {
+            return sketch.getQuantile(quantile);
+        }
+
+        /**
+         * Checks whether an amount is unusually high compared to the amounts in these statistics.
+         *
+         * @param cents the amount in cents
+         * @return true if there are enough amounts to tell, and the amount is above the outlier fence
+         */
+        public boolean isOutlier(long cents) {
+            if (count < MIN_EXPENSES_FOR_OUTLIERS) {
+                return false;
+            }
+            long lowerQuartile = sketch.getQuantile(LOWER_QUARTILE);
+            long upperQuartile = sketch.getQuantile(UPPER_QUARTILE);
+            return cents > upperQuartile + OUTLIER_FENCE * (upperQuartile - lowerQuartile);
+        }
+    }
+
+    private final Supplier<List<Expense>> expenses;
+    private final HashMap<String, Statistics> statisticsByCategory = new HashMap<>();
+    private Statistics overallStatistics = new Statistics();
+    private boolean isStale = true;
+
+    /**
+     * Creates statistics of the expenses returned by <code>expenses</code>.
+     *
+     * @param expenses supplier of the current expense list
+     */
+    public ExpenseStatistics(Supplier<List<Expense>> expenses) {
+        this.expenses = expenses;
+    }
+
+    /**
+     * Adds an expense that has just been added to the expense list to the statistics.
+     *
+     * @param expense the added expense
+     */
+    public void add(Expense expense) {
+        if (isStale) {
+            return;
+        }
+        overallStatistics.add(expense.getBaseCents());
+        statisticsByCategory.computeIfAbsent(expense.getCategory(), category -> new Statistics())
+                .add(expense.getBaseCents());
+    }
+
+    /**
+     * Takes an expense that has just been removed from the expense list out of the statistics.
+     *
+     * @param expense the removed expense
+     */
+    public void remove(Expense expense) {
+        if (isStale) {
+            return;
+        }
+        overallStatistics.remove(expense.getBaseCents());
+        Statistics categoryStatistics = statisticsByCategory.get(expense.getCategory());
+        if (categoryStatistics == null) {
+            return;
+        }
+        categoryStatistics.remove(expense.getBaseCents());
+        if (categoryStatistics.getCount() == 0) {
+            statisticsByCategory.remove(expense.getCategory());
+        }
+    }
+
+    /**
+     * Discards the statistics, so that they are rebuilt from the expense list when they are next used.
+     */
+    public void invalidate() {
+        isStale = true;
+    }
+
+    /**
+     * Returns the statistics of the expenses in <code>category</code>, or of all expenses if
+     * <code>category</code> is null.
+     *
+     * @param category category of the expenses, or null for all expenses
+     * @return the statistics, or null if there are no expenses in the category
+     */
+    public Statistics getStatistics(String category) {
+        rebuildIfStale();
+        if (category == null) {
+            return overallStatistics.getCount() == 0 ? null : overallStatistics;
+        }
+        return statisticsByCategory.get(category);
+    }
+
+    /**
+     * Checks whether the amount of an expense that is about to be added is unusually high for its category.
+     *
+     * @param expense the expense to check
+     * @return true if the expense is an outlier in its category
+     */
+    public boolean isOutlier(Expense expense) {
+        Statistics categoryStatistics = getStatistics(expense.getCategory());
+        return categoryStatistics != null && categoryStatistics.isOutlier(expense.getBaseCents());
+    }
+
+    private void rebuildIfStale() {
+        if (!isStale) {
+            return;
+        }
+        overallStatistics = new Statistics();
+        statisticsByCategory.clear();
+        isStale = false;
+        for (Expense expense : expenses.get()) {
+            add(expense);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package seedu.allonus.expense;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Running totals of the expense list by category, by month and by day, used to answer <code>summary</code>
+ * commands without going through the whole expense list each time. The totals by day are kept in
+ * <code>DailyTotals</code>, both overall and for each category, so that the total over any period is found
+ * without going through the days of the period one by one.
+ *
+ * <p>The totals are built in a single pass over the expense list when a report is first asked for, and are
+ * then kept up to date by <code>add</code> and <code>remove</code> as expenses are added, deleted or edited.
+ * Changes that touch many expenses at once call <code>invalidate</code> instead, so that the totals are
+ * rebuilt on the next report.
+ */
+public class ExpenseSummary {
+
+    /**
+     * Total amount and number of expenses in a group.
+     */
+    private static class Bucket {
+        private long cents = 0;
+        private int count = 0;
+    }
+
+    private final Supplier<List<Expense>> expenses;
+    private final TreeMap<String, Bucket> bucketsByCategory = new TreeMap<>();
+    private final TreeMap<YearMonth, Bucket> bucketsByMonth = new TreeMap<>();
+    private final HashMap<String, DailyTotals> dailyTotalsByCategory = new HashMap<>();
+    private DailyTotals dailyTotals = new DailyTotals();
+    private long totalCents = 0;
+    private boolean isStale = true;
+
+    /**
+     * Creates a summary of the expenses returned by <code>expenses</code>.
+     *
+     * @param expenses supplier of the current expense list
+     */
+    public ExpenseSummary(Supplier<List<Expense>> expenses) {
+        this.expenses = expenses;
+    }
+
+    /**
+     * Adds an expense that has just been added to the expense list to the totals.
+     *
+     * @param expense the added expense
+     */
+    public void add(Expense expense) {
+        update(expense, 1);
+    }
+
+    /**
+     * Takes an expense that has just been removed from the expense list out of the totals.
+     *
+     * @param expense the removed expense
+     */
+    public void remove(Expense expense) {
+        update(expense, -1);
+    }
+
+    /**
+     * Discards the totals, so that they are rebuilt from the expense list on the next report.
+     */
+    public void invalidate() {
+        isStale = true;
+    }
+
+    public long getTotalCents() {
+        rebuildIfStale();
+        return totalCents;
+    }
+
+    /**
+     * Returns the total amount in cents spent on each category, sorted by category.
+     *
+     * @return totals by category
+     */
+    public SortedMap<String, Long> getCentsByCategory() {
+        rebuildIfStale();
+        return toTotals(bucketsByCategory);
+    }
+
+    /**
+     * Returns the total amount in cents spent in each month, from the earliest month to the latest.
+     *
+     * @return totals by month
+     */
+    public SortedMap<YearMonth, Long> getCentsByMonth() {
+        rebuildIfStale();
+        return toTotals(bucketsByMonth);
+    }
+
+    /**
+     * Returns the total amount in cents spent from <code>fromDate</code> to <code>toDate</code> inclusive.
+     *
+     * @param fromDate earliest date
+     * @param toDate   latest date
+     * @return total amount in cents
+     */
+    public long getCentsBetween(LocalDate fromDate, LocalDate toDate) {
+        rebuildIfStale();
+        return dailyTotals.getCentsBetween(fromDate.toEpochDay(), toDate.toEpochDay());
+    }
+
+    /**
+     * Returns the total amount in cents spent on <code>category</code> from <code>fromDate</code> to
+     * <code>toDate</code> inclusive.
+     *
+     * @param category category of the expenses
+     * @param fromDate earliest date
+     * @param toDate   latest date
+     * @return total amount in cents
+     */
+    public long getCentsBetween(String category, LocalDate fromDate, LocalDate toDate) {
+        rebuildIfStale();
+        DailyTotals categoryTotals = dailyTotalsByCategory.get(category);
+        if (categoryTotals == null) {
+            return 0;
+        }
+        return categoryTotals.getCentsBetween(fromDate.toEpochDay(), toDate.toEpochDay());
+    }
+
+    /**
+     * Returns the running total of the amounts spent up to and including <code>date</code>.
+     *
+     * @param date latest date
+     * @return total amount in cents
+     */
+    public long getCentsUpTo(LocalDate date) {
+        rebuildIfStale();
+        return dailyTotals.getCentsUpTo(date.toEpochDay());
+    }
+
+    /**
+     * Returns the <code>count</code> categories with the highest totals, highest first.
+     *
+     * @param count maximum number of categories to return
+     * @return categories with their totals in cents
+     */
+    public List<Map.Entry<String, Long>> getTopCategories(int count) {
+        return getTopCategories(getCentsByCategory(), count);
+    }
+
+    /**
+     * Returns the <code>count</code> categories with the highest of the given totals, highest first.
+     *
+     * @param centsByCategory totals in cents by category
+     * @param count           maximum number of categories to return
+     * @return categories with their totals in cents
+     */
+    public static List<Map.Entry<String, Long>> getTopCategories(Map<String, Long> centsByCategory, int count) {
+        List<Map.Entry<String, Long>> categories = new ArrayList<>(centsByCategory.entrySet());
+        categories.sort(Collections.reverseOrder(Map.Entry.comparingByValue()));
+        return categories.subList(0, Math.max(0, Math.min(count, categories.size())));
+    }
+
+    private void update(Expense expense, int countChange) {
+        if (isStale) {
+            return;
+        }
+        long centsChange = countChange * expense.getBaseCents();
+        totalCents += centsChange;
+        LocalDate date = LocalDate.ofEpochDay(expense.getEpochDay());
+        updateBucket(bucketsByCategory, expense.getCategory(), centsChange, countChange);
+        updateBucket(bucketsByMonth, YearMonth.from(date), centsChange, countChange);
+        dailyTotals.add(expense.getEpochDay(), centsChange);
+        dailyTotalsByCategory.computeIfAbsent(expense.getCategory(), category -> new DailyTotals())
+                .add(expense.getEpochDay(), centsChange);
+    }
+
+    private static <K> void updateBucket(TreeMap<K, Bucket> buckets, K key, long centsChange, int countChange) {
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket());
+        bucket.cents += centsChange;
+        bucket.count += countChange;
+        if (bucket.count <= 0) {
+            buckets.remove(key);
+        }
+    }
+
+    private void rebuildIfStale() {
+        if (!isStale) {
+            return;
+        }
+        bucketsByCategory.clear();
+        bucketsByMonth.clear();
+        dailyTotals = new DailyTotals();
+        dailyTotalsByCategory.clear();
+        totalCents = 0;
+        isStale = false;
+        for (Expense expense : expenses.get()) {
+            add(expense);
+        }
+    }
+
+    private static <K> SortedMap<K, Long> toTotals(TreeMap<K, Bucket> buckets) {
+        TreeMap<K, Long> totals = new TreeMap<>();
+        for (Map.Entry<K, Bucket> entry : buckets.entrySet()) {
+            totals.put(entry.getKey(), entry.getValue().cents);
+        }
+        return totals;
+    }
+}
@@ -5,21 +5,51 @@ package seedu.allonus.expense;
 import seedu.allonus.storage.StorageFile;
 
 import seedu.allonus.expense.exceptions.ExpenseAmountException;
+import seedu.allonus.expense.exceptions.ExpenseCurrencyException;
 import seedu.allonus.expense.exceptions.ExpenseEmptyFieldException;
 import seedu.allonus.expense.exceptions.ExpenseMissingFieldException;
 
+import seedu.allonus.ui.ListPrinter;
 import seedu.allonus.ui.TextUi;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
 import static seedu.allonus.expense.ExpenseParser.reformatDate;
+import static seedu.allonus.expense.ExpenseParser.parseDate;
 import static seedu.allonus.expense.ExpenseParser.isAmountValid;
 import static seedu.allonus.expense.ExpenseParser.parseDeleteExpense;
 import static seedu.allonus.expense.ExpenseParser.parseFindExpense;
 import static seedu.allonus.expense.ExpenseParser.parseEditExpense;
 import static seedu.allonus.expense.ExpenseParser.parseNewExpense;
+import static seedu.allonus.expense.ExpenseParser.parseDateRange;
+import static seedu.allonus.expense.ExpenseParser.parseOptionalCategory;
+import static seedu.allonus.expense.ExpenseParser.parseKeywordExpense;
+import static seedu.allonus.expense.ExpenseParser.AMOUNT_DELIMITER;
+import static seedu.allonus.expense.ExpenseParser.ALL_DELIMITERS;
+import static seedu.allonus.expense.ExpenseParser.END_DATE_DELIMITER;
+import static seedu.allonus.expense.ExpenseParser.FREQUENCY_DELIMITER;
+import static seedu.allonus.expense.ExpenseParser.parseSingleWordField;
+import static seedu.allonus.expense.ExpenseParser.removeRecurrenceFields;
+import static seedu.allonus.expense.ExpenseParser.DATE_DELIMITER;
+import static seedu.allonus.expense.ExpenseParser.REMARKS_DELIMITER;
+import static seedu.allonus.expense.ExpenseParser.parseCurrency;
+import static seedu.allonus.expense.ExpenseParser.CURRENCY_DELIMITER;
+import static seedu.allonus.expense.ExpenseParser.removeCurrencyField;
 
 /**
  * The core function of the expense tracker, which executes user commands based on keywords.
@@ -28,19 +58,27 @@ public class ExpenseTracker {
     public static final String INCORRECT_NUMBER_OF_FIELDS = "Incorrect number of fields!";
     public static final String NEW_REMARKS_VALUE_SET = "New remarks value set!";
     private static final String EXPENSE_WELCOME_MESSAGE = "Welcome to Expense Tracker";
-    private static final ArrayList<Expense> expenseList = new ArrayList<>();
+    private static List<Expense> expenseList = new ArrayList<>();
     public static final String ASSERT_NUMBER_OF_ITEMS_NON_NEGATIVE =
             "Number of items in the expense list must be at least 0";
     public static final String ASSERT_EXPENSE_OBJECT_NOT_NULL = "Expense object should not be null";
     public static final String LIST_EXPENSE_OUTPUT = "Here are the expenses you have made so far:\n";
+    public static final String LIST_EXPENSE_ENTRY_FORMAT = " %d. %s\n";
+    public static final String SORT_PREFIX = "s/";
+    public static final String ASCENDING_OPTION = "--asc";
+    public static final String DESCENDING_OPTION = "--desc";
+    public static final String MSG_SORT_OPTIONS = "\nTo sort expenses, add 's/date', 's/amount' or 's/category', "
+            + "and '--desc' for the highest first.";
     public static final String LOG_DELETE_INTENT = "User wants to delete an expense record";
     public static final String ASSERT_INPUT_NOT_NULL = "User input should not be null";
+    public static final String ASSERT_NOT_FUTURE_DATE = "Occurrences after today should not be added";
     public static final int ZERO = 0;
     public static final int KEYWORD_INDEX = 0;
     public static final int DATE_INDEX = 0;
     public static final int AMOUNT_INDEX = 1;
     public static final int CATEGORY_INDEX = 2;
     public static final int REMARKS_INDEX = 3;
+    public static final int CURRENCY_INDEX = 4;
     public static final int SPLIT_INTO_HALF = 2;
     public static final int EXPENSE_INDEX = 1;
     public static final String LOG_EMPTY_FIELDS = "User possibly entered empty fields";
@@ -70,6 +108,91 @@ public class ExpenseTracker {
     public static final String MSG_NEW_VALUE_CANNOT_BE_EMPTY = "New value cannot be empty!";
     public static final String NO_TASKS_FOUND = "No tasks found!";
     public static final String MSG_MATCHING_EXPENSES = "Here are the matching expense records:\n";
+    public static final String MSG_MATCHING_ARCHIVED_EXPENSES = "Here are the matching archived expense records:\n";
+    public static final String MSG_EXPENSES_ARCHIVED = "%d expense record(s) older than the archive cutoff "
+            + "were moved to the archive. They can still be found with the find command.";
+    public static final String MSG_SUMMARY_BY_CATEGORY = "Here is your spending by category:";
+    public static final String MSG_SUMMARY_BY_MONTH = "Here is your spending by month:";
+    public static final String MSG_SUMMARY_TOP = "Here are the categories you spent the most on:";
+    public static final String MSG_SUMMARY_RANGE = "You spent $%s from %s to %s.";
+    public static final String MSG_SUMMARY_CATEGORY_RANGE = "You spent $%s on %s from %s to %s.";
+    public static final String MSG_SUMMARY_TOTAL = " Total: $%s";
+    public static final String MSG_SUMMARY_MATCHING_BY_CATEGORY = "Here is your spending on expenses with remarks "
+            + "containing '%s', by category:";
+    public static final String MSG_SUMMARY_MATCHING_BY_MONTH = "Here is your spending on expenses with remarks "
+            + "containing '%s', by month:";
+    public static final String MSG_NO_MATCHING_EXPENSES = "No expenses have remarks containing '%s'!";
+    public static final String MSG_SUMMARY_LINE = " %s: $%s";
+    public static final String MSG_INVALID_SUMMARY = "Invalid summary! Try 'summary category [r/KEYWORD]', "
+            + "'summary month [r/KEYWORD]', 'summary top COUNT' or 'summary range d/FROM d/TO [c/CATEGORY]'.";
+    public static final String MSG_EXPENSES_IN_RANGE = "Here are the expenses from %s to %s:";
+    public static final String MSG_ARCHIVED_EXPENSES_IN_RANGE = "Here are the archived expenses from %s to %s:";
+    public static final String MSG_NO_EXPENSES_IN_RANGE = "No expenses found in this date range!";
+    public static final String MSG_UPCOMING_EXPENSES_IN_RANGE = "Here are the upcoming recurring expenses from %s "
+            + "to %s, which will be added on their dates:";
+    public static final String MSG_SUMMARY_UPCOMING = " This includes $%s of upcoming recurring expenses.";
+    public static final String MSG_INVALID_RANGE = "Please enter a date range as 'range d/FROM d/TO'!";
+    public static final String MSG_BUDGET_SET = "Your %s monthly budget is now $%s.";
+    public static final String MSG_BUDGET_REMOVED = "Your %s monthly budget has been removed.";
+    public static final String MSG_BUDGET_STATUS = "Here are your budgets for %s:";
+    public static final String MSG_NO_BUDGETS = "You haven't set any budgets yet! Try 'budget a/AMOUNT' or "
+            + "'budget a/AMOUNT c/CATEGORY'.";
+    public static final String RECUR_LIST = "list";
+    public static final String RECUR_REMOVE = "rm";
+    public static final String MSG_RECURRING_ADDED = "Added recurring expense: %s";
+    public static final String MSG_RECURRING_MATERIALIZED = "Added %d occurrence(s) of recurring expenses "
+            + "up to %s.";
+    public static final String MSG_RECURRING_REMOVED = "Removed recurring expense: %s\n"
+            + "Occurrences already added to your expenses are kept.";
+    public static final String MSG_RECURRING_LIST = "Here are your recurring expenses:";
+    public static final String MSG_NO_RECURRING = "You haven't added any recurring expenses yet!";
+    public static final String MSG_INVALID_RECURRING = "Please enter a recurring expense as 'recur d/DATE a/AMOUNT "
+            + "f/daily|weekly|monthly [e/END] c/CATEGORY r/REMARK', with END no earlier than DATE!";
+    public static final String LOG_RECURRING_INTENT = "User wants to add, list or remove recurring expenses";
+    public static final String IMPORT_FILE_PREFIX = "csv/";
+    public static final String IMPORT_MAPPING_PREFIX = " map/";
+    public static final String MSG_IMPORTED = "Imported %d expense(s) from %s.";
+    public static final String MSG_IMPORT_REJECTED = "%d row(s) could not be imported and were written to %s.";
+    public static final String MSG_INVALID_IMPORT = "Please enter the file to import as 'import csv/FILE "
+            + "[map/date=COLUMN,amount=COLUMN,category=COLUMN,remark=COLUMN,currency=COLUMN,sign=SIGN]'!";
+    public static final String MSG_UNABLE_TO_IMPORT = "Unable to read %s!";
+    public static final String MSG_DUPLICATES_SKIPPED = "%d row(s) were skipped as they are already in your "
+            + "expenses.";
+    public static final String MSG_POSSIBLE_DUPLICATE = "Note: this expense looks like a duplicate of an expense "
+            + "you have already added. Use 'dedupe' to remove duplicates.";
+    public static final String MSG_DUPLICATES_REMOVED = "Removed %d duplicate expense(s).";
+    public static final String MSG_NO_DUPLICATES = "There are no duplicate expenses!";
+    public static final String MSG_POSSIBLE_OUTLIER = "Note: this expense is unusually high for %s, "
+            + "where most expenses are between $%s and $%s.";
+    public static final String MSG_STATS = "Here are the statistics of %s (percentiles are accurate to within %d%%):"
+            + "\n Count: %d\n Mean: $%s\n Standard deviation: $%s\n Median: $%s\n 90th percentile: $%s"
+            + "\n 95th percentile: $%s\n 99th percentile: $%s";
+    public static final String STATS_ALL_EXPENSES = "all expenses";
+    public static final String STATS_CATEGORY_EXPENSES = "expenses in %s";
+    public static final String MSG_NO_EXPENSES_IN_CATEGORY = "There are no expenses in %s!";
+    public static final String MSG_NO_EXCHANGE_RATE = "There is no exchange rate from %s to %s yet! Add one with "
+            + "'rate x/%s a/RATE [d/DATE]' first.";
+    public static final String MSG_RATE_SET = "From %s, 1 %s = %s %s.";
+    public static final String MSG_RATE_REMOVED = "The %s rate from %s has been removed.";
+    public static final String MSG_RATES = "Here are your exchange rates to %s:";
+    public static final String MSG_RATE_LINE = " From %s: 1 %s = %s %s";
+    public static final String MSG_NO_RATES = "You haven't added any exchange rates yet! Try 'rate x/CURRENCY a/RATE "
+            + "[d/DATE]'.";
+    public static final String MSG_INVALID_RATE = "Please enter an exchange rate as 'rate x/CURRENCY a/RATE [d/DATE]',"
+            + " where RATE is the amount in %s of 1 unit of CURRENCY!";
+    public static final String LOG_RATE_INTENT = "User wants to set or view exchange rates";
+    public static final String LOG_INVALID_BASE_CURRENCY = "Invalid base currency, keeping the default";
+    public static final String NEW_CURRENCY_VALUE_SET = "New currency value set!";
+    public static final String LOG_STATS_INTENT = "User wants statistics of expenses";
+    public static final String LOG_DEDUPE_INTENT = "User wants to remove duplicate expenses";
+    public static final String LOG_IMPORT_INTENT = "User wants to import expenses from a CSV file";
+    public static final String LOG_BUDGET_INTENT = "User wants to set or view budgets";
+    public static final String LOG_RANGE_INTENT = "User wants to list the expenses in a date range";
+    public static final String LOG_SUMMARY_INTENT = "User wants a summary of expenses";
+    public static final String SUMMARY_BY_CATEGORY = "category";
+    public static final String SUMMARY_BY_MONTH = "month";
+    public static final String SUMMARY_TOP = "top";
+    public static final String SUMMARY_RANGE = "range";
     public static final String MENU_STRING = "menu";
     public static final String MSG_INCORRECT_DATE_FORMAT = "Date field is of incorrect format! Type in YYYY-MM-DD";
     public static final String LOG_INCORRECT_DATE_FIELD = "User entered invalid date format";
@@ -86,12 +209,25 @@ public class ExpenseTracker {
 
     private static StorageFile storageFile = new StorageFile();
     private static boolean isModified = false;
+    private static final ExpenseSummary summary = new ExpenseSummary(() -> expenseList);
+    private static final ExpenseDateIndex dateIndex = new ExpenseDateIndex(() -> expenseList);
+    private static final ExpenseSearchIndex searchIndex = new ExpenseSearchIndex(() -> expenseList);
+    private static final BudgetTracker budgetTracker = new BudgetTracker(() -> expenseList);
+    private static final ExpenseFingerprints fingerprints = new ExpenseFingerprints(() -> expenseList);
+    private static final ExpenseSortOrder sortOrder = new ExpenseSortOrder(() -> expenseList);
+    private static final ExpenseStatistics statistics = new ExpenseStatistics(() -> expenseList);
+    private static boolean areOutlierWarningsOn = true;
+    private static final List<RecurringRule> recurringRules = new ArrayList<>();
+    private static LocalDate materializedDate = null;
+    private static boolean areSettingsLoaded = false;
 
 
     /**
-     * List out all current records in the expense list.
+     * List out all current records in the expense list, or the part of it asked for by the user.
+     *
+     * @param rawInput the user's input itself
      */
-    private static void listExpenses() {
+    private static void listExpenses(String rawInput) {
         logger.log(Level.INFO, LOG_LIST_INTENT);
         int noOfItems = Expense.getNoOfItems();
         assert noOfItems >= ZERO : ASSERT_NUMBER_OF_ITEMS_NON_NEGATIVE;
@@ -99,14 +235,37 @@ public class ExpenseTracker {
             System.out.println(MSG_EMPTY_LIST);
             return;
         }
-        String listAsString = "";
-
-        for (int i = ZERO; i < noOfItems; i++) {
-            Expense curr = expenseList.get(i);
-            assert curr != null : ASSERT_EXPENSE_OBJECT_NOT_NULL;
-            listAsString = listAsString.concat(String.format(" %d. %s\n", i + EXPENSE_INDEX, curr));
+        String sortKey = null;
+        boolean isDescending = false;
+        StringBuilder listOptions = new StringBuilder();
+        for (String option : rawInput.trim().split("\\s+")) {
+            String value = option.startsWith(SORT_PREFIX) ? option.substring(SORT_PREFIX.length()).toLowerCase() : "";
+            if (ExpenseSortOrder.SORT_KEYS.contains(value)) {
+                sortKey = value;
+            } else if (option.equals(DESCENDING_OPTION) || option.equals(ASCENDING_OPTION)) {
+                isDescending = option.equals(DESCENDING_OPTION);
+            } else {
+                listOptions.append(option).append(" ");
+            }
+        }
+        int[] range;
+        try {
+            range = ListPrinter.parseRange(listOptions.toString(), expenseList.size());
+        } catch (IllegalArgumentException e) {
+            logger.log(Level.WARNING, LOG_INVALID_COMMANDS);
+            System.out.println(ListPrinter.MSG_INVALID_LIST_OPTIONS + MSG_SORT_OPTIONS);
+            return;
+        }
+        int[] order = null;
+        if (sortKey != null) {
+            order = sortOrder.getPositions(sortKey, isDescending);
+        } else if (isDescending) {
+            order = new int[expenseList.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = order.length - 1 - i;
+            }
         }
-        System.out.println(LIST_EXPENSE_OUTPUT + listAsString);
+        ListPrinter.print(LIST_EXPENSE_OUTPUT, expenseList, order, range, LIST_EXPENSE_ENTRY_FORMAT, "\n");
     }
 
     /**
@@ -132,10 +291,72 @@ public class ExpenseTracker {
      *
      * @return expense list.
      */
-    public ArrayList<Expense> getExpenseList() {
+    public List<Expense> getExpenseList() {
+        storageFile.ensureLoaded(StorageFile.EXPENSE_TAG);
         return expenseList;
     }
 
+    /**
+     * Sets the currency that expenses without a currency are in, and that all totals are given in.
+     *
+     * @param currency ISO 4217 code of the currency.
+     */
+    public static void setBaseCurrency(String currency) {
+        try {
+            Expense.getExchangeRates().setBaseCurrency(Currency.getInstance(currency.toUpperCase()).getCurrencyCode());
+        } catch (IllegalArgumentException e) {
+            logger.log(Level.WARNING, LOG_INVALID_BASE_CURRENCY);
+        }
+    }
+
+    /**
+     * Chooses whether adding an expense that is unusually high for its category prints a note saying so.
+     *
+     * @param isOn true to print the note.
+     */
+    public static void setOutlierWarnings(boolean isOn) {
+        areOutlierWarningsOn = isOn;
+    }
+
+    /**
+     * Chooses whether expenses are kept in a <code>ColumnarExpenseList</code>, which stores them in primitive
+     * arrays, or in an <code>ArrayList</code> of <code>Expense</code> objects. Expenses already in the list are
+     * carried over.
+     *
+     * @param isColumnar true to store expenses column by column.
+     */
+    public static void setColumnarStore(boolean isColumnar) {
+        if (isColumnar == expenseList instanceof ColumnarExpenseList) {
+            return;
+        }
+        List<Expense> newList = isColumnar ? new ColumnarExpenseList() : new ArrayList<>();
+        newList.addAll(expenseList);
+        expenseList = newList;
+        invalidateDerivedData();
+    }
+
+    /**
+     * Marks the summaries and indices kept of the expense list as stale, so that they are rebuilt on next use,
+     * after a change to the list that they are not updated for one expense at a time.
+     */
+    private static void invalidateDerivedData() {
+        invalidateDerivedDataExceptFingerprints();
+        fingerprints.invalidate();
+    }
+
+    /**
+     * Marks the summaries and indices kept of the expense list as stale, apart from the fingerprints of the
+     * expenses, which can instead be updated with only the added expenses.
+     */
+    private static void invalidateDerivedDataExceptFingerprints() {
+        summary.invalidate();
+        dateIndex.invalidate();
+        searchIndex.invalidate();
+        budgetTracker.invalidate();
+        sortOrder.invalidate();
+        statistics.invalidate();
+    }
+
     /**
      * Deletes a record from the list of expenses.
      *
@@ -143,12 +364,20 @@ public class ExpenseTracker {
      * @param index the index of the item to be deleted
      * @throws IndexOutOfBoundsException if the expense record is not found
      */
-    private static void deleteExpense(ArrayList<Expense> list, int index) throws IndexOutOfBoundsException {
+    private static void deleteExpense(List<Expense> list, int index) throws IndexOutOfBoundsException {
         logger.log(Level.INFO, LOG_DELETE_INTENT);
         Expense toBeDeleted = list.get(index - EXPENSE_INDEX);
         list.remove(index - EXPENSE_INDEX);
+        summary.remove(toBeDeleted);
+        dateIndex.remove(toBeDeleted.getEpochDay(), index - EXPENSE_INDEX);
+        searchIndex.remove(toBeDeleted, index - EXPENSE_INDEX);
+        budgetTracker.remove(toBeDeleted);
+        fingerprints.remove(toBeDeleted);
+        sortOrder.remove(index - EXPENSE_INDEX);
+        statistics.remove(toBeDeleted);
         Expense.setNoOfItems(Expense.getNoOfItems() - 1);
         System.out.println("Deleted entry: " + toBeDeleted);
+        storageFile.recordRemove(StorageFile.EXPENSE_TAG, index - EXPENSE_INDEX);
         isModified = true;
     }
 
@@ -158,18 +387,37 @@ public class ExpenseTracker {
      * @param list list of expenses itself
      * @param e    the expense object itself to be added
      */
-    private static void addExpense(ArrayList<Expense> list, Expense e, boolean fromCommandLine) {
+    private static void addExpense(List<Expense> list, Expense e, boolean fromCommandLine) {
         if (fromCommandLine) {
             logger.log(Level.INFO, LOG_ADD_INTENT);
         } else {
             logger.log(Level.INFO, LOG_ADD_INTENT_FROM_FILE);
         }
         assert e != null : ASSERT_EXPENSE_OBJECT_NOT_NULL;
+        boolean isDuplicate = fromCommandLine && fingerprints.isDuplicate(e);
+        boolean isOutlier = fromCommandLine && areOutlierWarningsOn && statistics.isOutlier(e);
         list.add(e);
+        fingerprints.add(e);
+        sortOrder.add(list.size() - EXPENSE_INDEX);
+        statistics.add(e);
+        summary.add(e);
+        dateIndex.add(e.getEpochDay(), list.size() - EXPENSE_INDEX);
+        searchIndex.add(e, list.size() - EXPENSE_INDEX);
+        List<String> alerts = budgetTracker.add(e);
         if (fromCommandLine) {
             System.out.println("Added " + e);
+            if (isDuplicate) {
+                System.out.println(MSG_POSSIBLE_DUPLICATE);
+            }
+            if (isOutlier) {
+                printOutlierWarning(e.getCategory());
+            }
+            alerts.forEach(System.out::println);
         }
         Expense.setNoOfItems(Expense.getNoOfItems() + EXPENSE_INDEX);
+        if (fromCommandLine) {
+            storageFile.recordAdd(StorageFile.EXPENSE_TAG, list.size() - EXPENSE_INDEX);
+        }
         isModified = true;
     }
 
@@ -180,8 +428,10 @@ public class ExpenseTracker {
      * @param index the index of the item to be edited
      * @param ui    ui object to collect user's inputs
      */
-    private static void editExpense(ArrayList<Expense> list, int index, TextUi ui) {
+    private static void editExpense(List<Expense> list, int index, TextUi ui) {
         Expense toBeEdited = list.get(index - 1);
+        Expense original = new Expense(toBeEdited.getEpochDay(), toBeEdited.getCents(), toBeEdited.getAmountScale(),
+                toBeEdited.getCategory(), toBeEdited.getRemark(), toBeEdited.getCurrency());
         System.out.println(CHOSEN_EXPENSE_TO_EDIT + toBeEdited);
         System.out.println(CHOSEN_FIELD_TO_EDIT);
         String fieldToEdit;
@@ -200,6 +450,17 @@ public class ExpenseTracker {
                 }
             }
         }
+        list.set(index - 1, toBeEdited);
+        summary.remove(original);
+        summary.add(toBeEdited);
+        dateIndex.move(original.getEpochDay(), toBeEdited.getEpochDay(), index - 1);
+        searchIndex.replace(original, toBeEdited, index - 1);
+        budgetTracker.replace(original, toBeEdited).forEach(System.out::println);
+        fingerprints.replace(original, toBeEdited);
+        sortOrder.update(index - 1);
+        statistics.remove(original);
+        statistics.add(toBeEdited);
+        storageFile.recordEdit(StorageFile.EXPENSE_TAG, index - 1);
         isModified = true;
     }
 
@@ -251,6 +512,20 @@ public class ExpenseTracker {
                 toBeEdited.setRemark(newFields[1]);
                 System.out.println(NEW_REMARKS_VALUE_SET);
                 break;
+            case ("currency"):
+                try {
+                    String currency = parseCurrency(CURRENCY_DELIMITER + newFields[1]);
+                    if (!Expense.getExchangeRates().canConvert(currency)) {
+                        printNoExchangeRate(currency);
+                        break;
+                    }
+                    toBeEdited.setCurrency(currency);
+                    System.out.println(NEW_CURRENCY_VALUE_SET);
+                    break;
+                } catch (ExpenseCurrencyException e) {
+                    System.out.println(e.getMessage());
+                    break;
+                }
             case ("done"):
                 return;
             default:
@@ -261,25 +536,27 @@ public class ExpenseTracker {
     }
 
     /**
-     * Looks through the list of expense records and prints out the records that contain a specified keyword.
+     * Looks up the expense records matching a query in the search index and prints them out, followed by the
+     * matching archived expense records. Terms separated by spaces must all match, and 'or' separates
+     * alternatives.
      *
      * @param list         list of expenses itself
-     * @param stringToFind keyword to look for within each expense record
-     */
-    private static void findExpense(ArrayList<Expense> list, String stringToFind) {
-        boolean isFound = false;
-        stringToFind = stringToFind.toLowerCase();
-        for (Expense expense : list) {
-            String expenseCategory = expense.getCategory().toLowerCase();
-            String expenseDate = expense.getDate().toLowerCase();
-            String expenseRemark = expense.getRemark().toLowerCase();
-            if (expenseCategory.contains(stringToFind) || expenseDate.contains(stringToFind)
-                    || expenseRemark.contains(stringToFind)) {
-                isFound = true;
-                System.out.println(MSG_MATCHING_EXPENSES + expense);
-            }
+     * @param stringToFind query to look for within each expense record
+     */
+    private static void findExpense(List<Expense> list, String stringToFind) {
+        List<List<String>> query = ExpenseSearchIndex.parseQuery(stringToFind);
+        int[] positions = searchIndex.search(query);
+        for (int position : positions) {
+            System.out.println(MSG_MATCHING_EXPENSES + list.get(position));
         }
-        if (!isFound) {
+        boolean[] isFoundInArchive = {false};
+        storageFile.forEachArchivedExpense(null, null, expense -> {
+            if (ExpenseSearchIndex.isMatching(expense, query)) {
+                isFoundInArchive[0] = true;
+                System.out.println(MSG_MATCHING_ARCHIVED_EXPENSES + expense);
+            }
+        });
+        if (positions.length == 0 && !isFoundInArchive[0]) {
             System.out.println(NO_TASKS_FOUND);
         }
     }
@@ -318,8 +595,11 @@ public class ExpenseTracker {
         try {
             String[] newExpense = parseNewExpense(rawInput);
             assert newExpense != null : ASSERT_EXPENSE_OBJECT_NOT_NULL;
-            Expense e = new Expense(newExpense[DATE_INDEX], newExpense[AMOUNT_INDEX],
-                    newExpense[CATEGORY_INDEX], newExpense[REMARKS_INDEX]);
+            Expense e = toExpense(newExpense);
+            if (fromCommandLine && !Expense.getExchangeRates().canConvert(e.getCurrency())) {
+                printNoExchangeRate(e.getCurrency());
+                return;
+            }
             addExpense(expenseList, e, fromCommandLine);
         } catch (IndexOutOfBoundsException e) {
             logger.log(Level.WARNING, LOG_EMPTY_FIELDS);
@@ -333,12 +613,30 @@ public class ExpenseTracker {
         } catch (ExpenseAmountException | ExpenseMissingFieldException e) {
             logger.log(Level.WARNING, LOG_NEGATIVE_AMOUNT);
             System.out.println(e.getMessage());
-        } catch (ExpenseEmptyFieldException e) {
+        } catch (ExpenseEmptyFieldException | ExpenseCurrencyException e) {
             System.out.println(e.getMessage());
         }
 
     }
 
+    /**
+     * Creates an expense from the fields returned by <code>parseNewExpense</code>.
+     *
+     * @param fields date, amount, category, remarks and currency of the expense
+     * @return the expense
+     */
+    private static Expense toExpense(String[] fields) {
+        Expense expense = new Expense(fields[DATE_INDEX], fields[AMOUNT_INDEX], fields[CATEGORY_INDEX],
+                fields[REMARKS_INDEX]);
+        expense.setCurrency(fields[CURRENCY_INDEX]);
+        return expense;
+    }
+
+    private static void printNoExchangeRate(String currency) {
+        System.out.println(String.format(MSG_NO_EXCHANGE_RATE, currency,
+                Expense.getExchangeRates().getBaseCurrency(), currency));
+    }
+
     /**
      * Executes <code>executeAdd</code> method with saved expense entry from data file.
      *
@@ -348,6 +646,71 @@ public class ExpenseTracker {
         executeAdd(savedExpense, false);
     }
 
+    /**
+     * Adds an expense that has already been decoded from a data file.
+     *
+     * @param savedExpense the saved expense
+     */
+    public static void loadAdd(Expense savedExpense) {
+        addExpense(expenseList, savedExpense, false);
+    }
+
+    /**
+     * Parses a saved expense entry without printing any messages, so that it can be called from
+     * several threads at once while loading a data file.
+     *
+     * @param savedExpense the saved expense entry
+     * @return the parsed expense, or null if the entry is invalid
+     */
+    public static Expense parseSavedExpense(String savedExpense) {
+        try {
+            return toExpense(parseNewExpense(savedExpense));
+        } catch (IndexOutOfBoundsException | DateTimeParseException | NumberFormatException
+                | ExpenseAmountException | ExpenseMissingFieldException | ExpenseEmptyFieldException
+                | ExpenseCurrencyException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Removes the expense at <code>listIndex</code> when replaying a saved removal from the journal file.
+     *
+     * @param listIndex index of the expense in the expense list
+     */
+    public static void loadRemove(int listIndex) {
+        expenseList.remove(listIndex);
+        Expense.setNoOfItems(Expense.getNoOfItems() - 1);
+        invalidateDerivedData();
+    }
+
+    /**
+     * Replaces the expense at <code>listIndex</code> with a saved expense entry from the journal file.
+     *
+     * @param listIndex    index of the expense in the expense list
+     * @param savedExpense the saved expense entry
+     */
+    public static void loadReplace(int listIndex, String savedExpense) {
+        int noOfItems = expenseList.size();
+        executeAdd(savedExpense, false);
+        if (expenseList.size() > noOfItems) {
+            Expense replacement = expenseList.remove(noOfItems);
+            Expense.setNoOfItems(Expense.getNoOfItems() - 1);
+            expenseList.set(listIndex, replacement);
+        }
+        invalidateDerivedData();
+    }
+
+    /**
+     * Removes the expenses that have been moved to the archive.
+     *
+     * @param isArchived check of whether an expense has been archived
+     */
+    public static void removeArchivedExpenses(Predicate<Expense> isArchived) {
+        expenseList.removeIf(isArchived);
+        Expense.setNoOfItems(expenseList.size());
+        invalidateDerivedData();
+    }
+
     /**
      * Begins executing the Find method invoked due to user's input.
      *
@@ -360,10 +723,541 @@ public class ExpenseTracker {
         } catch (IndexOutOfBoundsException e) {
             logger.log(Level.WARNING, LOG_INDEX_OUT_OF_BOUNDS);
             System.out.println("Keyword cannot be empty!");
+            return;
         }
         findExpense(expenseList, stringToFind);
     }
 
+    /**
+     * Lists the expenses dated within the range entered by the user, in date order, followed by the archived
+     * expenses in the range.
+     *
+     * @param rawInput the user's input itself
+     */
+    private static void executeRange(String rawInput) {
+        logger.log(Level.INFO, LOG_RANGE_INTENT);
+        LocalDate[] range;
+        try {
+            range = parseDateRange(rawInput);
+        } catch (IndexOutOfBoundsException e) {
+            System.out.println(MSG_INVALID_RANGE);
+            return;
+        } catch (DateTimeParseException e) {
+            logger.log(Level.WARNING, LOG_INCORRECT_DATE_FIELD);
+            System.out.println(MSG_INCORRECT_DATE_FORMAT);
+            return;
+        }
+        int[] positions = dateIndex.getPositionsBetween(range[0].toEpochDay(), range[1].toEpochDay());
+        if (positions.length > 0) {
+            StringBuilder lines = new StringBuilder(String.format(MSG_EXPENSES_IN_RANGE, range[0], range[1]));
+            for (int position : positions) {
+                lines.append("\n").append(String.format(" %d. %s", position + EXPENSE_INDEX,
+                        expenseList.get(position)));
+            }
+            System.out.println(lines);
+        }
+        StringBuilder upcomingLines = new StringBuilder();
+        forEachUpcomingOccurrence(range, expense -> upcomingLines.append("\n ").append(expense));
+        if (upcomingLines.length() > 0) {
+            System.out.println(String.format(MSG_UPCOMING_EXPENSES_IN_RANGE, range[0], range[1]) + upcomingLines);
+        }
+        StringBuilder archivedLines = new StringBuilder();
+        storageFile.forEachArchivedExpense(range[0].toString(), range[1].toString(),
+                expense -> archivedLines.append("\n ").append(expense));
+        if (archivedLines.length() > 0) {
+            System.out.println(String.format(MSG_ARCHIVED_EXPENSES_IN_RANGE, range[0], range[1]) + archivedLines);
+        }
+        if (positions.length == 0 && upcomingLines.length() == 0 && archivedLines.length() == 0) {
+            System.out.println(MSG_NO_EXPENSES_IN_RANGE);
+        }
+    }
+
+    /**
+     * Passes the occurrences of recurring expenses dated after today and within <code>range</code> to
+     * <code>action</code>. These are only added to the expense list once their date has come, so reports over
+     * future periods include them without saving them.
+     *
+     * @param range  earliest and latest dates
+     * @param action action to be performed on each upcoming occurrence
+     */
+    private static void forEachUpcomingOccurrence(LocalDate[] range, Consumer<Expense> action) {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        LocalDate fromDate = range[0].isBefore(tomorrow) ? tomorrow : range[0];
+        if (fromDate.isAfter(range[1])) {
+            return;
+        }
+        for (RecurringRule rule : recurringRules) {
+            rule.forEachPendingOccurrence(fromDate, range[1], action);
+        }
+    }
+
+    /**
+     * Adds the occurrences of recurring expenses up to and including <code>date</code>, which must not be after
+     * today, that have not been added to the expense list yet, recording them like expenses added by the user.
+     * The occurrences are saved before the rules that count them as added, so that they cannot be lost.
+     *
+     * @param date latest date of the occurrences to be added
+     * @return number of occurrences added
+     */
+    private static int materializeRecurring(LocalDate date) {
+        assert !date.isAfter(LocalDate.now()) : ASSERT_NOT_FUTURE_DATE;
+        materializedDate = date;
+        int count = 0;
+        for (RecurringRule rule : recurringRules) {
+            for (Expense occurrence : rule.materializeUpTo(date)) {
+                addExpense(expenseList, occurrence, false);
+                storageFile.recordAdd(StorageFile.EXPENSE_TAG, expenseList.size() - EXPENSE_INDEX);
+                count++;
+            }
+        }
+        if (count > 0) {
+            storageFile.saveData();
+            storageFile.saveRecurringRules(recurringRules);
+        }
+        return count;
+    }
+
+    /**
+     * Adds the occurrences of recurring expenses due today, unless they have already been added today, so that
+     * the rules are only gone through again once the date has changed.
+     */
+    private static void materializeRecurringOnNewDay() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(materializedDate)) {
+            materializeRecurring(today);
+        }
+    }
+
+    /**
+     * Imports the expenses in a CSV file entered by the user, adding all valid rows to the expense list at once
+     * and saving them with a single write of the data file.
+     *
+     * @param rawInput the user's input itself
+     */
+    private static void executeImport(String rawInput) {
+        logger.log(Level.INFO, LOG_IMPORT_INTENT);
+        String[] arguments = rawInput.split(IMPORT_FILE_PREFIX, 2);
+        if (arguments.length < 2 || arguments[1].trim().isEmpty()) {
+            System.out.println(MSG_INVALID_IMPORT);
+            return;
+        }
+        String[] fileAndMapping = arguments[1].split(IMPORT_MAPPING_PREFIX, 2);
+        Path csvPath = Paths.get(fileAndMapping[0].trim());
+        try {
+            ExpenseCsvImporter importer = new ExpenseCsvImporter(fileAndMapping.length < 2 ? null
+                    : fileAndMapping[1].trim());
+            List<Expense> imported = importer.importFile(csvPath);
+            int rowCount = imported.size();
+            imported.removeIf(fingerprints.newAlreadyAddedCheck());
+            addExpenses(imported);
+            System.out.println(String.format(MSG_IMPORTED, imported.size(), csvPath));
+            if (imported.size() < rowCount) {
+                System.out.println(String.format(MSG_DUPLICATES_SKIPPED, rowCount - imported.size()));
+            }
+            if (importer.getRejectedCount() > 0) {
+                System.out.println(String.format(MSG_IMPORT_REJECTED, importer.getRejectedCount(),
+                        ExpenseCsvImporter.getRejectedPath(csvPath)));
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+        } catch (IOException e) {
+            logger.log(Level.WARNING, e.getMessage());
+            System.out.println(String.format(MSG_UNABLE_TO_IMPORT, csvPath));
+        }
+    }
+
+    /**
+     * Removes the expenses that duplicate an earlier expense in the expense list, in a single pass over it.
+     */
+    private static void executeDedupe() {
+        logger.log(Level.INFO, LOG_DEDUPE_INTENT);
+        int noOfItems = expenseList.size();
+        expenseList.removeIf(ExpenseFingerprints.newRepeatCheck());
+        int removedCount = noOfItems - expenseList.size();
+        if (removedCount == 0) {
+            System.out.println(MSG_NO_DUPLICATES);
+            return;
+        }
+        Expense.setNoOfItems(expenseList.size());
+        invalidateDerivedData();
+        storageFile.saveAfterBulkChange(StorageFile.EXPENSE_TAG);
+        System.out.println(String.format(MSG_DUPLICATES_REMOVED, removedCount));
+    }
+
+    /**
+     * Appends many expenses to the expense list at once, rebuilding the summaries and indices on next use and
+     * saving the expense list once instead of once per expense.
+     *
+     * @param expenses the expenses to be added
+     */
+    private static void addExpenses(List<Expense> expenses) {
+        if (expenses.isEmpty()) {
+            return;
+        }
+        expenseList.addAll(expenses);
+        Expense.setNoOfItems(expenseList.size());
+        invalidateDerivedDataExceptFingerprints();
+        expenses.forEach(fingerprints::add);
+        storageFile.saveAfterBulkChange(StorageFile.EXPENSE_TAG);
+    }
+
+    /**
+     * Adds a recurring expense, lists the recurring expenses or removes one of them, depending on the user's
+     * input. Occurrences of a new recurring expense up to today are added to the expense list at once.
+     *
+     * @param rawInput the user's input itself
+     */
+    private static void executeRecur(String rawInput) {
+        logger.log(Level.INFO, LOG_RECURRING_INTENT);
+        String[] arguments = rawInput.trim().split("\\s+");
+        if (arguments.length == 1 || arguments[1].equalsIgnoreCase(RECUR_LIST)) {
+            listRecurring();
+            return;
+        }
+        if (arguments[1].equalsIgnoreCase(RECUR_REMOVE)) {
+            try {
+                RecurringRule removed = recurringRules.remove(Integer.parseInt(arguments[2]) - EXPENSE_INDEX);
+                storageFile.saveRecurringRules(recurringRules);
+                System.out.println(String.format(MSG_RECURRING_REMOVED, removed));
+            } catch (IndexOutOfBoundsException e) {
+                System.out.println(MSG_ITEM_NOT_FOUND);
+            } catch (NumberFormatException e) {
+                System.out.println(MSG_INVALID_INDEX_TYPE);
+            }
+            return;
+        }
+        try {
+            Expense firstOccurrence = toExpense(parseNewExpense(removeRecurrenceFields(rawInput)));
+            if (!Expense.getExchangeRates().canConvert(firstOccurrence.getCurrency())) {
+                printNoExchangeRate(firstOccurrence.getCurrency());
+                return;
+            }
+            String frequency = parseSingleWordField(rawInput, FREQUENCY_DELIMITER);
+            String endDate = parseSingleWordField(rawInput, END_DATE_DELIMITER);
+            RecurringRule rule = new RecurringRule(firstOccurrence, frequency == null ? "" : frequency.toLowerCase(),
+                    endDate == null ? null : parseDate(endDate), 0);
+            recurringRules.add(rule);
+            storageFile.saveRecurringRules(recurringRules);
+            System.out.println(String.format(MSG_RECURRING_ADDED, rule));
+            LocalDate today = LocalDate.now();
+            int count = materializeRecurring(today);
+            if (count > 0) {
+                System.out.println(String.format(MSG_RECURRING_MATERIALIZED, count, today));
+            }
+        } catch (IndexOutOfBoundsException e) {
+            logger.log(Level.WARNING, LOG_EMPTY_FIELDS);
+            System.out.println(MSG_EMPTY_FIELDS);
+        } catch (DateTimeParseException e) {
+            logger.log(Level.WARNING, LOG_INCORRECT_DATE_FIELD);
+            System.out.println(MSG_INCORRECT_DATE_FORMAT);
+        } catch (NumberFormatException e) {
+            logger.log(Level.WARNING, LOG_INVALID_AMOUNT);
+            System.out.println(MSG_NUMBERS_ONLY_AMOUNT);
+        } catch (IllegalArgumentException e) {
+            System.out.println(MSG_INVALID_RECURRING);
+        } catch (ExpenseAmountException | ExpenseMissingFieldException | ExpenseEmptyFieldException
+                | ExpenseCurrencyException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    private static void listRecurring() {
+        if (recurringRules.isEmpty()) {
+            System.out.println(MSG_NO_RECURRING);
+            return;
+        }
+        StringBuilder lines = new StringBuilder(MSG_RECURRING_LIST);
+        for (int i = 0; i < recurringRules.size(); i++) {
+            lines.append("\n").append(String.format(" %d. %s", i + EXPENSE_INDEX, recurringRules.get(i)));
+        }
+        System.out.println(lines);
+    }
+
+    /**
+     * Sets the exchange rate of a currency from a date onwards, if the user entered a rate, and otherwise prints
+     * all exchange rates. Totals that depend on the rates are recomputed when they are next used.
+     *
+     * @param rawInput the user's input itself
+     */
+    private static void executeRate(String rawInput) {
+        logger.log(Level.INFO, LOG_RATE_INTENT);
+        ExchangeRates exchangeRates = Expense.getExchangeRates();
+        String baseCurrency = exchangeRates.getBaseCurrency();
+        if (!rawInput.contains(AMOUNT_DELIMITER)) {
+            List<String> rates = exchangeRates.getRateLines();
+            if (rates.isEmpty()) {
+                System.out.println(MSG_NO_RATES);
+                return;
+            }
+            StringBuilder lines = new StringBuilder(String.format(MSG_RATES, baseCurrency));
+            for (String rate : rates) {
+                String[] fields = rate.split(",");
+                lines.append("\n").append(String.format(MSG_RATE_LINE, fields[0], fields[1], fields[2], baseCurrency));
+            }
+            System.out.println(lines);
+            return;
+        }
+        try {
+            String currency = parseCurrency(rawInput);
+            String fields = removeCurrencyField(rawInput);
+            if (currency == null || currency.equals(baseCurrency)) {
+                System.out.println(String.format(MSG_INVALID_RATE, baseCurrency));
+                return;
+            }
+            BigDecimal rate = new BigDecimal(parseKeywordExpense(fields, AMOUNT_DELIMITER, ALL_DELIMITERS));
+            LocalDate date = fields.contains(DATE_DELIMITER)
+                    ? parseDate(parseKeywordExpense(fields, DATE_DELIMITER, ALL_DELIMITERS))
+                    : LocalDate.now();
+            exchangeRates.setRate(currency, (int) date.toEpochDay(), rate);
+            if (rate.signum() == 0) {
+                System.out.println(String.format(MSG_RATE_REMOVED, currency, date));
+            } else {
+                System.out.println(String.format(MSG_RATE_SET, date, currency, rate.toPlainString(), baseCurrency));
+            }
+            storageFile.saveExchangeRates(exchangeRates.getRateLines());
+            summary.invalidate();
+            budgetTracker.invalidate();
+            sortOrder.invalidate();
+            statistics.invalidate();
+        } catch (NumberFormatException | DateTimeParseException | ExpenseAmountException
+                | ExpenseEmptyFieldException e) {
+            System.out.println(String.format(MSG_INVALID_RATE, baseCurrency));
+        } catch (ExpenseCurrencyException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Prints the count, mean, standard deviation and percentiles of the amounts of all expenses, or of the
+     * expenses in the category entered by the user.
+     *
+     * @param rawInput the user's input itself
+     */
+    private static void executeStats(String rawInput) {
+        logger.log(Level.INFO, LOG_STATS_INTENT);
+        if (Expense.getNoOfItems() == ZERO) {
+            System.out.println(MSG_EMPTY_LIST);
+            return;
+        }
+        String category = parseOptionalCategory(rawInput);
+        ExpenseStatistics.Statistics stats = statistics.getStatistics(category);
+        if (stats == null) {
+            System.out.println(String.format(MSG_NO_EXPENSES_IN_CATEGORY, category));
+            return;
+        }
+        String name = category == null ? STATS_ALL_EXPENSES : String.format(STATS_CATEGORY_EXPENSES, category);
+        System.out.println(String.format(MSG_STATS, name, Math.round(QuantileSketch.RELATIVE_ACCURACY * 100),
+                stats.getCount(), Expense.formatCents(stats.getMeanCents()),
+                Expense.formatCents(stats.getStandardDeviationCents()),
+                Expense.formatCents(stats.getQuantileCents(ExpenseStatistics.MEDIAN)),
+                Expense.formatCents(stats.getQuantileCents(0.9)), Expense.formatCents(stats.getQuantileCents(0.95)),
+                Expense.formatCents(stats.getQuantileCents(0.99))));
+    }
+
+    /**
+     * Prints a note that an expense being added is unusually high for its category, with the range most
+     * expenses in the category fall in.
+     *
+     * @param category category of the expense
+     */
+    private static void printOutlierWarning(String category) {
+        ExpenseStatistics.Statistics stats = statistics.getStatistics(category);
+        System.out.println(String.format(MSG_POSSIBLE_OUTLIER, category,
+                Expense.formatCents(stats.getQuantileCents(ExpenseStatistics.LOWER_QUARTILE)),
+                Expense.formatCents(stats.getQuantileCents(ExpenseStatistics.UPPER_QUARTILE))));
+    }
+
+    /**
+     * Sets the overall monthly budget, or the monthly budget of a category, if the user entered an amount,
+     * and otherwise prints how much of each budget has been spent this month.
+     *
+     * @param rawInput the user's input itself
+     */
+    private static void executeBudget(String rawInput) {
+        logger.log(Level.INFO, LOG_BUDGET_INTENT);
+        if (!rawInput.contains(AMOUNT_DELIMITER)) {
+            if (budgetTracker.getLimits().isEmpty()) {
+                System.out.println(MSG_NO_BUDGETS);
+                return;
+            }
+            YearMonth month = YearMonth.now();
+            StringBuilder lines = new StringBuilder(String.format(MSG_BUDGET_STATUS, month));
+            budgetTracker.getStatus(month).forEach(line -> lines.append("\n").append(line));
+            System.out.println(lines);
+            return;
+        }
+        String category = parseOptionalCategory(rawInput);
+        category = category == null ? BudgetTracker.OVERALL : category;
+        String name = category.equals(BudgetTracker.OVERALL) ? BudgetTracker.OVERALL_NAME : category;
+        try {
+            long cents = Expense.toCents(parseKeywordExpense(rawInput, AMOUNT_DELIMITER, ALL_DELIMITERS));
+            budgetTracker.setLimit(category, cents);
+            if (cents == 0) {
+                System.out.println(String.format(MSG_BUDGET_REMOVED, name));
+            } else {
+                System.out.println(String.format(MSG_BUDGET_SET, name, Expense.formatCents(cents)));
+            }
+            storageFile.saveBudgets(budgetTracker.getLimits());
+        } catch (NumberFormatException e) {
+            logger.log(Level.WARNING, LOG_INVALID_AMOUNT);
+            System.out.println(MSG_NUMBERS_ONLY_AMOUNT);
+        } catch (ExpenseAmountException | ExpenseEmptyFieldException e) {
+            logger.log(Level.WARNING, LOG_NEGATIVE_AMOUNT);
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Prints a summary of the expenses, by category, by month, for the categories with the highest totals
+     * or for a date range, depending on the user's input.
+     *
+     * @param rawInput the user's input itself
+     */
+    private static void executeSummary(String rawInput) {
+        logger.log(Level.INFO, LOG_SUMMARY_INTENT);
+        if (Expense.getNoOfItems() == ZERO && !storageFile.hasArchivedExpenses()) {
+            System.out.println(MSG_EMPTY_LIST);
+            return;
+        }
+        String[] arguments = rawInput.trim().split("\\s+", 3);
+        String summaryType = arguments.length > 1 ? arguments[1].toLowerCase() : SUMMARY_BY_CATEGORY;
+        String remarkKeyword = parseRemarkKeyword(rawInput);
+        if (remarkKeyword != null
+                && (summaryType.equals(SUMMARY_BY_CATEGORY) || summaryType.equals(SUMMARY_BY_MONTH))) {
+            printMatchingTotals(summaryType, remarkKeyword);
+            return;
+        }
+        try {
+            ExpenseAggregation.Totals archived;
+            switch (summaryType) {
+            case (SUMMARY_BY_CATEGORY):
+                archived = getArchivedTotals(null, null);
+                printTotals(MSG_SUMMARY_BY_CATEGORY,
+                        addTotals(summary.getCentsByCategory(), archived.getCentsByCategory()).entrySet(),
+                        summary.getTotalCents() + archived.getTotalCents());
+                break;
+            case (SUMMARY_BY_MONTH):
+                archived = getArchivedTotals(null, null);
+                printTotals(MSG_SUMMARY_BY_MONTH,
+                        addTotals(summary.getCentsByMonth(), archived.getCentsByMonth()).entrySet(),
+                        summary.getTotalCents() + archived.getTotalCents());
+                break;
+            case (SUMMARY_TOP):
+                int count = Integer.parseInt(arguments[2].trim());
+                if (count < 1) {
+                    System.out.println(MSG_INVALID_SUMMARY);
+                    break;
+                }
+                archived = getArchivedTotals(null, null);
+                printTotals(MSG_SUMMARY_TOP, ExpenseSummary.getTopCategories(
+                        addTotals(summary.getCentsByCategory(), archived.getCentsByCategory()), count),
+                        summary.getTotalCents() + archived.getTotalCents());
+                break;
+            case (SUMMARY_RANGE):
+                LocalDate[] range = parseDateRange(rawInput);
+                String category = parseOptionalCategory(rawInput);
+                archived = getArchivedTotals(range, category);
+                ExpenseAggregation.Totals upcoming = new ExpenseAggregation.Totals();
+                forEachUpcomingOccurrence(range, expense -> {
+                    if (category == null || category.equals(expense.getCategory())) {
+                        upcoming.add(expense);
+                    }
+                });
+                long otherCents = archived.getTotalCents() + upcoming.getTotalCents();
+                if (category == null) {
+                    long cents = summary.getCentsBetween(range[0], range[1]) + otherCents;
+                    System.out.println(String.format(MSG_SUMMARY_RANGE, Expense.formatCents(cents), range[0],
+                            range[1]));
+                } else {
+                    long cents = summary.getCentsBetween(category, range[0], range[1]) + otherCents;
+                    System.out.println(String.format(MSG_SUMMARY_CATEGORY_RANGE, Expense.formatCents(cents),
+                            category, range[0], range[1]));
+                }
+                if (upcoming.getCount() > 0) {
+                    System.out.println(String.format(MSG_SUMMARY_UPCOMING,
+                            Expense.formatCents(upcoming.getTotalCents())));
+                }
+                break;
+            default:
+                System.out.println(MSG_INVALID_SUMMARY);
+            }
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            System.out.println(MSG_INVALID_SUMMARY);
+        } catch (DateTimeParseException e) {
+            logger.log(Level.WARNING, LOG_INCORRECT_DATE_FIELD);
+            System.out.println(MSG_INCORRECT_DATE_FORMAT);
+        }
+    }
+
+    /**
+     * Prints the spending by category or by month on the expenses whose remarks contain
+     * <code>remarkKeyword</code>. As these totals cannot be kept up to date, they are computed over the whole
+     * expense list, in parallel if the list is large.
+     *
+     * @param summaryType   <code>SUMMARY_BY_CATEGORY</code> or <code>SUMMARY_BY_MONTH</code>
+     * @param remarkKeyword keyword the remarks must contain, ignoring case
+     */
+    private static void printMatchingTotals(String summaryType, String remarkKeyword) {
+        ExpenseAggregation.Totals totals = ExpenseAggregation.aggregate(expenseList, remarkKeyword);
+        storageFile.forEachArchivedExpense(null, null, expense -> {
+            if (ExpenseAggregation.containsIgnoreCase(expense.getRemark(), remarkKeyword)) {
+                totals.add(expense);
+            }
+        });
+        if (totals.getCount() == 0) {
+            System.out.println(String.format(MSG_NO_MATCHING_EXPENSES, remarkKeyword));
+        } else if (summaryType.equals(SUMMARY_BY_CATEGORY)) {
+            printTotals(String.format(MSG_SUMMARY_MATCHING_BY_CATEGORY, remarkKeyword),
+                    totals.getCentsByCategory().entrySet(), totals.getTotalCents());
+        } else {
+            printTotals(String.format(MSG_SUMMARY_MATCHING_BY_MONTH, remarkKeyword),
+                    totals.getCentsByMonth().entrySet(), totals.getTotalCents());
+        }
+    }
+
+    /**
+     * Returns the totals of the archived expenses, streamed from the archive, that are dated within
+     * <code>range</code> and are of <code>category</code>.
+     *
+     * @param range    earliest and latest dates, or null for all dates
+     * @param category category of the expenses, or null for all categories
+     * @return totals of the archived expenses
+     */
+    private static ExpenseAggregation.Totals getArchivedTotals(LocalDate[] range, String category) {
+        ExpenseAggregation.Totals totals = new ExpenseAggregation.Totals();
+        storageFile.forEachArchivedExpense(range == null ? null : range[0].toString(),
+                range == null ? null : range[1].toString(), expense -> {
+                    if (category == null || category.equals(expense.getCategory())) {
+                        totals.add(expense);
+                    }
+                });
+        return totals;
+    }
+
+    private static <K> SortedMap<K, Long> addTotals(SortedMap<K, Long> totals, Map<K, Long> otherTotals) {
+        otherTotals.forEach((key, cents) -> totals.merge(key, cents, Long::sum));
+        return totals;
+    }
+
+    private static String parseRemarkKeyword(String rawInput) {
+        String[] rawFields = rawInput.split(REMARKS_DELIMITER, SPLIT_INTO_HALF);
+        if (rawFields.length < SPLIT_INTO_HALF || rawFields[1].trim().isEmpty()) {
+            return null;
+        }
+        return rawFields[1].trim();
+    }
+
+    private static void printTotals(String heading, Collection<? extends Map.Entry<?, Long>> totals,
+                                    long totalCents) {
+        StringBuilder lines = new StringBuilder(heading);
+        for (Map.Entry<?, Long> total : totals) {
+            lines.append("\n").append(String.format(MSG_SUMMARY_LINE, total.getKey(),
+                    Expense.formatCents(total.getValue())));
+        }
+        lines.append("\n").append(String.format(MSG_SUMMARY_TOTAL, Expense.formatCents(totalCents)));
+        System.out.println(lines);
+    }
+
     /**
      * Begins executing the Edit method invoked due to user's input.
      *
@@ -397,15 +1291,28 @@ public class ExpenseTracker {
      */
     public static void expenseRunner(TextUi ui) {
         logger.setLevel(Level.SEVERE);
+        storageFile.ensureLoaded(StorageFile.EXPENSE_TAG);
+        if (!areSettingsLoaded) {
+            storageFile.loadExchangeRates(Expense.getExchangeRates());
+            budgetTracker.setLimits(storageFile.loadBudgets());
+            recurringRules.addAll(storageFile.loadRecurringRules());
+            areSettingsLoaded = true;
+        }
         expenseWelcome();
+        int archivedCount = storageFile.archiveOldExpenses();
+        if (archivedCount > 0) {
+            System.out.println(String.format(MSG_EXPENSES_ARCHIVED, archivedCount));
+        }
+        materializeRecurringOnNewDay();
         String rawInput = ui.getUserInput();
         assert rawInput != null : ASSERT_INPUT_NOT_NULL;
         String keyWord = rawInput.split(" ", SPLIT_INTO_HALF)[KEYWORD_INDEX].trim().toLowerCase();
         while (!(keyWord.equals(MENU_STRING))) {
             isModified = false;
+            materializeRecurringOnNewDay();
             switch (keyWord) {
             case ("list"):
-                listExpenses();
+                listExpenses(rawInput);
                 break;
             case ("rm"):
                 executeRemove(rawInput);
@@ -419,6 +1326,30 @@ public class ExpenseTracker {
             case ("find"):
                 executeFind(rawInput);
                 break;
+            case ("summary"):
+                executeSummary(rawInput);
+                break;
+            case ("range"):
+                executeRange(rawInput);
+                break;
+            case ("budget"):
+                executeBudget(rawInput);
+                break;
+            case ("recur"):
+                executeRecur(rawInput);
+                break;
+            case ("import"):
+                executeImport(rawInput);
+                break;
+            case ("dedupe"):
+                executeDedupe();
+                break;
+            case ("stats"):
+                executeStats(rawInput);
+                break;
+            case ("rate"):
+                executeRate(rawInput);
+                break;
             case (""):
                 break;
             default:
@@ -428,7 +1359,7 @@ public class ExpenseTracker {
             rawInput = ui.getUserInput();
             keyWord = rawInput.split(" ", SPLIT_INTO_HALF)[KEYWORD_INDEX].trim();
             if (isModified) {
-                storageFile.saveData();
+                storageFile.requestSave();
             }
         }
         logger.log(Level.INFO, LOG_RETURN_TO_MENU_INTENT);
@@ -0,0 +1,100 @@
+package seedu.allonus.expense;
+
+/**
+ * A streaming sketch of a distribution of amounts, from which percentiles such as the median are estimated to
+ * within <code>RELATIVE_ACCURACY</code> of the true value, without keeping or sorting the amounts themselves.
+ *
+ * <p>Amounts are counted in buckets whose bounds grow geometrically, by a factor of <code>GAMMA</code>, so that
+ * every amount in a bucket is within <code>RELATIVE_ACCURACY</code> of the bucket's estimate (as in DDSketch).
+ * A bucket is one array entry, and amounts in cents up to <code>Long.MAX_VALUE</code> fall in about 2,200
+ * buckets, so the memory of a sketch is bounded whatever the number of amounts. Unlike sketches that merge
+ * their samples, such as t-digest, an amount can also be taken out again in O(1) time, which lets deleted and
+ * edited expenses be taken out of the sketch.
+ */
+public class QuantileSketch {
+    public static final double RELATIVE_ACCURACY = 0.01;
+    public static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    public static final double LOG_GAMMA = Math.log(GAMMA);
+    public static final int INITIAL_BUCKETS = 64;
+
+    private long zeroCount = 0;
+    private int firstBucket = 0;
+    private long[] bucketCounts = new long[0];
+    private long count = 0;
+
+    /**
+     * Adds an amount to the sketch.
+     *
+     * @param cents a non-negative amount in cents
+     */
+    public void add(long cents) {
+        update(cents, 1);
+    }
+
+    /**
+     * Takes an amount that was added to the sketch out again.
+     *
+     * @param cents an amount in cents added before
+     */
+    public void remove(long cents) {
+        update(cents, -1);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns an estimate of the amount below which a fraction <code>quantile</code> of the amounts lie, e.g.
+     * the median for 0.5.
+     *
+     * @param quantile a fraction from 0 to 1
+     * @return estimated amount in cents, or 0 if the sketch is empty
+     */
+    public long getQuantile(double quantile) {
+        if (count <= 0) {
+            return 0;
+        }
+        long rank = (long) Math.floor(Math.max(0, Math.min(1, quantile)) * (count - 1));
+        long seen = zeroCount;
+        if (seen > rank) {
+            return 0;
+        }
+        for (int i = 0; i < bucketCounts.length; i++) {
+            seen += bucketCounts[i];
+            if (seen > rank) {
+                return Math.round(2 * Math.pow(GAMMA, firstBucket + i) / (GAMMA + 1));
+            }
+        }
+        return Math.round(2 * Math.pow(GAMMA, firstBucket + bucketCounts.length - 1) / (GAMMA + 1));
+    }
+
+    private void update(long cents, int countChange) {
+        count += countChange;
+        if (cents <= 0) {
+            zeroCount += countChange;
+            return;
+        }
+        int bucket = (int) Math.ceil(Math.log(cents) / LOG_GAMMA);
+        ensureCovered(bucket);
+        bucketCounts[bucket - firstBucket] += countChange;
+    }
+
+    private void ensureCovered(int bucket) {
+        if (bucketCounts.length == 0) {
+            firstBucket = bucket;
+            bucketCounts = new long[INITIAL_BUCKETS];
+            return;
+        }
+        int lastBucket = firstBucket + bucketCounts.length - 1;
+        if (bucket >= firstBucket && bucket <= lastBucket) {
+            return;
+        }
+        int newFirst = Math.min(firstBucket, bucket);
+        int newLast = Math.max(lastBucket, bucket);
+        long[] newBucketCounts = new long[newLast - newFirst + 1];
+        System.arraycopy(bucketCounts, 0, newBucketCounts, firstBucket - newFirst, bucketCounts.length);
+        firstBucket = newFirst;
+        bucketCounts = newBucketCounts;
+    }
+}
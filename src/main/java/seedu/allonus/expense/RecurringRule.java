@@ -0,0 +1,164 @@
+package seedu.allonus.expense;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A rule for an expense that recurs daily, weekly or monthly, such as rent or a subscription, from the date of
+ * its first occurrence until an optional end date.
+ *
+ * <p>Only the rule itself is saved. Its occurrences are added to the expense list lazily by
+ * <code>materializeUpTo</code>, once their date has come, and the rule remembers how many occurrences have been
+ * added so far, so that no occurrence is added twice. Occurrences that have not been added yet can be looked at
+ * with <code>forEachPendingOccurrence</code>, e.g. to include future occurrences in a report without saving them.
+ */
+public class RecurringRule {
+    public static final String FREQUENCY_DAILY = "daily";
+    public static final String FREQUENCY_WEEKLY = "weekly";
+    public static final String FREQUENCY_MONTHLY = "monthly";
+    public static final List<String> FREQUENCIES = Arrays.asList(FREQUENCY_DAILY, FREQUENCY_WEEKLY,
+            FREQUENCY_MONTHLY);
+    public static final int DAYS_PER_WEEK = 7;
+
+    private final Expense template;
+    private final String frequency;
+    private final LocalDate endDate;
+    private int materializedCount;
+
+    /**
+     * Creates a recurring rule.
+     *
+     * @param template          the first occurrence of the expense
+     * @param frequency         one of <code>FREQUENCIES</code>
+     * @param endDate           date after which the expense no longer recurs, or null if it recurs indefinitely
+     * @param materializedCount number of occurrences already added to the expense list
+     * @throws IllegalArgumentException if the frequency is unknown, or the end date is before the first occurrence
+     */
+    public RecurringRule(Expense template, String frequency, LocalDate endDate, int materializedCount)
+            throws IllegalArgumentException {
+        if (!FREQUENCIES.contains(frequency)) {
+            throw new IllegalArgumentException(frequency);
+        }
+        if (endDate != null && endDate.toEpochDay() < template.getEpochDay()) {
+            throw new IllegalArgumentException(endDate.toString());
+        }
+        this.template = template;
+        this.frequency = frequency;
+        this.endDate = endDate;
+        this.materializedCount = materializedCount;
+    }
+
+    public Expense getTemplate() {
+        return template;
+    }
+
+    public String getFrequency() {
+        return frequency;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public int getMaterializedCount() {
+        return materializedCount;
+    }
+
+    /**
+     * Returns the date of an occurrence of the expense. Monthly occurrences fall on the same day of the month as
+     * the first occurrence, or on the last day of shorter months.
+     *
+     * @param occurrence number of the occurrence, starting from 0 for the first occurrence
+     * @return date of the occurrence
+     */
+    public LocalDate getOccurrenceDate(int occurrence) {
+        LocalDate startDate = LocalDate.ofEpochDay(template.getEpochDay());
+        switch (frequency) {
+        case FREQUENCY_DAILY:
+            return startDate.plusDays(occurrence);
+        case FREQUENCY_WEEKLY:
+            return startDate.plusDays((long) DAYS_PER_WEEK * occurrence);
+        default:
+            return startDate.plusMonths(occurrence);
+        }
+    }
+
+    /**
+     * Returns the occurrences of the expense up to and including <code>date</code> that have not been added to
+     * the expense list yet, and counts them as added.
+     *
+     * @param date latest date of the occurrences
+     * @return new occurrences, earliest first
+     */
+    public List<Expense> materializeUpTo(LocalDate date) {
+        LocalDate lastDate = endDate != null && endDate.isBefore(date) ? endDate : date;
+        List<Expense> occurrences = new ArrayList<>();
+        LocalDate occurrenceDate = getOccurrenceDate(materializedCount);
+        while (!occurrenceDate.isAfter(lastDate)) {
+            occurrences.add(newOccurrence(occurrenceDate));
+            materializedCount++;
+            occurrenceDate = getOccurrenceDate(materializedCount);
+        }
+        return occurrences;
+    }
+
+    /**
+     * Passes the occurrences of the expense from <code>fromDate</code> to <code>toDate</code> inclusive that have
+     * not been added to the expense list yet to <code>action</code>, earliest first, without counting them as
+     * added.
+     *
+     * @param fromDate earliest date of the occurrences
+     * @param toDate   latest date of the occurrences
+     * @param action   action to be performed on each occurrence
+     */
+    public void forEachPendingOccurrence(LocalDate fromDate, LocalDate toDate, Consumer<Expense> action) {
+        LocalDate lastDate = endDate != null && endDate.isBefore(toDate) ? endDate : toDate;
+        int occurrence = Math.max(materializedCount, getFirstOccurrenceFrom(fromDate));
+        LocalDate occurrenceDate = getOccurrenceDate(occurrence);
+        while (!occurrenceDate.isAfter(lastDate)) {
+            action.accept(newOccurrence(occurrenceDate));
+            occurrence++;
+            occurrenceDate = getOccurrenceDate(occurrence);
+        }
+    }
+
+    /**
+     * Returns the number of the first occurrence dated on or after <code>date</code>, skipping the earlier
+     * occurrences without going through them one by one.
+     */
+    private int getFirstOccurrenceFrom(LocalDate date) {
+        LocalDate startDate = LocalDate.ofEpochDay(template.getEpochDay());
+        long occurrence;
+        switch (frequency) {
+        case FREQUENCY_DAILY:
+            occurrence = ChronoUnit.DAYS.between(startDate, date);
+            break;
+        case FREQUENCY_WEEKLY:
+            occurrence = ChronoUnit.WEEKS.between(startDate, date);
+            break;
+        default:
+            occurrence = ChronoUnit.MONTHS.between(startDate, date);
+            break;
+        }
+        int first = (int) Math.max(0, Math.min(Integer.MAX_VALUE, occurrence));
+        while (getOccurrenceDate(first).isBefore(date)) {
+            first++;
+        }
+        return first;
+    }
+
+    private Expense newOccurrence(LocalDate occurrenceDate) {
+        return new Expense((int) occurrenceDate.toEpochDay(), template.getCents(), template.getAmountScale(),
+                template.getCategory(), template.getRemark(), template.getCurrency());
+    }
+
+    @Override
+    public String toString() {
+        String until = endDate == null ? "" : " until " + endDate;
+        return frequency + " from " + template.getDate() + until + ": " + template;
+    }
+}
@@ -0,0 +1,7 @@
+package seedu.allonus.expense.exceptions;
+
+public class ExpenseCurrencyException extends Exception {
+    public ExpenseCurrencyException(String message) {
+        super(message);
+    }
+}
@@ -11,6 +11,7 @@ import seedu.allonus.storage.StorageFile;
 import seedu.allonus.modules.exceptions.InvalidFindInputException;
 
 
+import seedu.allonus.ui.ListPrinter;
 import seedu.allonus.ui.TextUi;
 
 import java.util.ArrayList;
@@ -101,6 +102,7 @@ public class StudyManager {
      */
     private static final String EMPTY_MODULE_LIST_MESSAGE = "There are no modules in your list yet!";
     private static final String LIST_MODULES_MESSAGE = "Here are the modules in your schedule:";
+    private static final String LIST_MODULES_ENTRY_FORMAT = "%d: %s\n";
 
     /**
      * Messages for exceptions and errors.
@@ -119,6 +121,7 @@ public class StudyManager {
     private static boolean isModified = false;
 
     public ArrayList<Module> getModulesList() {
+        storageFile.ensureLoaded(StorageFile.MODULE_TAG);
         return modulesList;
     }
 
@@ -129,6 +132,7 @@ public class StudyManager {
     public void studyManagerRunner(TextUi ui) {
         ModuleCalendarReader icsParser = new ModuleCalendarReader();
         logger.setLevel(Level.WARNING);
+        storageFile.ensureLoaded(StorageFile.MODULE_TAG);
         printWelcomeMessage();
         String userInput;
         boolean isRunning = true;
@@ -137,8 +141,8 @@ public class StudyManager {
             userInput = ui.getUserInput();
             if (userInput.equals(MENU_COMMAND)) {
                 isRunning = false;
-            } else if (userInput.equals(LIST_COMMAND)) {
-                listModules();
+            } else if (userInput.equals(LIST_COMMAND) || userInput.startsWith(LIST_COMMAND + " ")) {
+                listModules(userInput);
             } else if (userInput.startsWith(DELETE_COMMAND)) {
                 deleteModule(userInput);
             } else if (userInput.startsWith(ADD_COMMAND)) {
@@ -153,7 +157,7 @@ public class StudyManager {
                 printMessage(UNKNOWN_INPUT_MESSAGE);
             }
             if (isModified) {
-                storageFile.saveData();
+                storageFile.requestSave();
             }
         }
     }
@@ -163,7 +167,12 @@ public class StudyManager {
         String input = ui.getUserInput();
         ArrayList<Module> icsModulesList = icsParser.readIcsFile(input);
         if (icsModulesList != null) {
+            int firstNewIndex = modulesList.size();
             modulesList.addAll(icsModulesList);
+            for (int i = firstNewIndex; i < modulesList.size(); i++) {
+                storageFile.recordAdd(StorageFile.MODULE_TAG, i);
+            }
+            isModified = true;
         }
         printMessage("Exiting read ics mode");
     }
@@ -181,18 +190,23 @@ public class StudyManager {
     }
 
     /**
-     * Prints the modules currently in the module list.
+     * Prints the modules currently in the module list, or the part of it asked for by the user.
+     *
+     * @param userInput the list command entered by the user.
      */
-    public void listModules() {
+    public void listModules(String userInput) {
         if (modulesList.size() == 0) {
             printMessage(EMPTY_MODULE_LIST_MESSAGE);
             return;
         }
-        printMessage(LIST_MODULES_MESSAGE);
-        int i = 1;
-        for (Module m: modulesList) {
-            printMessage((i++) + ": " + m);
+        int[] range;
+        try {
+            range = ListPrinter.parseRange(userInput, modulesList.size());
+        } catch (IllegalArgumentException e) {
+            printMessage(ListPrinter.MSG_INVALID_LIST_OPTIONS);
+            return;
         }
+        ListPrinter.print(LIST_MODULES_MESSAGE + "\n", modulesList, range, LIST_MODULES_ENTRY_FORMAT, "");
     }
 
     /**
@@ -227,6 +241,7 @@ public class StudyManager {
                 modulesList.remove(moduleIndex);
                 printMessage(DELETE_MODULE_SUCCESS_MESSAGE);
                 printMessage(removedModule.toString());
+                storageFile.recordRemove(StorageFile.MODULE_TAG, moduleIndex);
                 isModified = true;
             }
         } catch (IndexOutOfBoundsException e) {
@@ -292,6 +307,7 @@ public class StudyManager {
                 printMessage(EDIT_MODULE_SUCCESS_MESSAGE);
                 printMessage(moduleToEdit.toString());
                 isEditFinished = true;
+                storageFile.recordEdit(StorageFile.MODULE_TAG, moduleIndex);
                 isModified = true;
             } else {
                 printMessage(UNKNOWN_INPUT_MESSAGE);
@@ -375,6 +391,7 @@ public class StudyManager {
         if (fromCommandLine) {
             printMessage(ADD_MODULE_SUCCESS_MESSAGE);
             printMessage(newModule.toString());
+            storageFile.recordAdd(StorageFile.MODULE_TAG, modulesList.size() - 1);
         }
         isModified = true;
     }
@@ -388,6 +405,38 @@ public class StudyManager {
         addModule(savedModule, false);
     }
 
+    /**
+     * Adds a module that has already been decoded from a data file.
+     *
+     * @param savedModule the saved module
+     */
+    public void loadAdd(Module savedModule) {
+        modulesList.add(savedModule);
+    }
+
+    /**
+     * Removes the module at <code>listIndex</code> when replaying a saved removal from the journal file.
+     *
+     * @param listIndex index of the module in the module list
+     */
+    public void loadRemove(int listIndex) {
+        modulesList.remove(listIndex);
+    }
+
+    /**
+     * Replaces the module at <code>listIndex</code> with a saved module entry from the journal file.
+     *
+     * @param listIndex index of the module in the module list
+     * @param savedModule the saved module entry
+     */
+    public void loadReplace(int listIndex, String savedModule) {
+        int moduleCount = modulesList.size();
+        addModule(savedModule, false);
+        if (modulesList.size() > moduleCount) {
+            modulesList.set(listIndex, modulesList.remove(moduleCount));
+        }
+    }
+
     /**
      * Parses the input string for the module attributes and creates a new module object.
      * Handles the exceptions if there are any missing attributes.
@@ -397,15 +446,7 @@ public class StudyManager {
     public Module addModuleParser(String userInput) {
         //add m/CS2113 c/lec d/Thursday t/2pm-4pm
         try {
-            String[] rawInput = userInput.split(" ", 2);
-            String[] parameters = rawInput[1].split(" ", 4);
-            String[] checkedParameters = validateAddInputs(parameters);
-            String module = checkedParameters[0];
-            String category = checkedParameters[1];
-            String day = checkedParameters[2];
-            String time = checkedParameters[3];
-
-            return new Module(module, category, day, time);
+            return parseModule(userInput);
         } catch (IndexOutOfBoundsException e) {
             logger.log(Level.WARNING, LOGGER_WRONG_ADD_FORMAT);
             printMessage(ADD_WRONG_FORMAT_MESSAGE);
@@ -430,6 +471,34 @@ public class StudyManager {
         }
     }
 
+    /**
+     * Parses a saved module entry without printing any messages, so that it can be called from
+     * several threads at once while loading a data file.
+     * @param savedModule the saved module entry.
+     * @return Module object that was created, or null if the entry is invalid.
+     */
+    public Module parseSavedModule(String savedModule) {
+        try {
+            return parseModule(savedModule);
+        } catch (IndexOutOfBoundsException | ModuleCodeException | ModuleCategoryException
+                | ModuleDayException | ModuleTimeException e) {
+            return null;
+        }
+    }
+
+    private Module parseModule(String userInput) throws ModuleCodeException, ModuleCategoryException,
+            ModuleDayException, ModuleTimeException {
+        String[] rawInput = userInput.split(" ", 2);
+        String[] parameters = rawInput[1].split(" ", 4);
+        String[] checkedParameters = validateAddInputs(parameters);
+        String module = checkedParameters[0];
+        String category = checkedParameters[1];
+        String day = checkedParameters[2];
+        String time = checkedParameters[3];
+
+        return new Module(module, category, day, time);
+    }
+
     /**
      * Finds a module in the list using a find query.
      * @param userInput String containing the find command and find query.
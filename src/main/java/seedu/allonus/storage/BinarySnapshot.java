@@ -0,0 +1,188 @@
+package seedu.allonus.storage;
+
+import seedu.allonus.contacts.entry.Contact;
+import seedu.allonus.contacts.entry.Description;
+import seedu.allonus.contacts.entry.Email;
+import seedu.allonus.contacts.entry.Faculty;
+import seedu.allonus.contacts.entry.Name;
+import seedu.allonus.expense.Expense;
+import seedu.allonus.modules.Module;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * A class encapsulating methods to save application data in a compact binary format and to load it
+ * back directly into <code>Expense</code>, <code>Module</code> and <code>Contact</code> objects,
+ * without going through the command parsers of the respective managers/trackers.
+ *
+ * <p>The format is a header (magic number, version and the number of entries of each kind), followed by
+ * the expenses (epoch day, amount in cents, category, remark, currency), the modules (code, category, day, timeslot)
+ * and the contacts (name, faculty, email, description), and finally a CRC-32 checksum of everything
+ * before it. Strings are stored as a length followed by their UTF-8 bytes, and the currency of an expense in the
+ * base currency as an empty string. Snapshots of version 1, which have no currencies, can still be read.
+ */
+public class BinarySnapshot {
+    public static final int MAGIC = 0x414f5553;
+    public static final int VERSION = 2;
+    public static final int VERSION_WITHOUT_CURRENCIES = 1;
+    public static final int BUFFER_SIZE = 1 << 16;
+    public static final String MSG_NOT_A_SNAPSHOT = "Not an AllOnUs binary snapshot.";
+    public static final String MSG_UNSUPPORTED_VERSION = "Unsupported binary snapshot version: ";
+    public static final String MSG_CHECKSUM_MISMATCH = "Binary snapshot checksum does not match.";
+    public static final String MSG_NEGATIVE_LENGTH = "Binary snapshot contains a negative string length.";
+
+    /**
+     * Holds the entries decoded from a binary snapshot.
+     */
+    public static class Contents {
+        public final ArrayList<Expense> expenses;
+        public final ArrayList<Module> modules;
+        public final ArrayList<Contact> contacts;
+
+        Contents(int expenseCount, int moduleCount, int contactCount) {
+            expenses = new ArrayList<>(Math.min(expenseCount, BUFFER_SIZE));
+            modules = new ArrayList<>(Math.min(moduleCount, BUFFER_SIZE));
+            contacts = new ArrayList<>(Math.min(contactCount, BUFFER_SIZE));
+        }
+    }
+
+    /**
+     * Writes the given entries to <code>out</code> in binary snapshot format. The stream is flushed
+     * but not closed.
+     *
+     * @param out stream to write to.
+     * @param expenses expenses to be saved.
+     * @param modules modules to be saved.
+     * @param contacts contacts to be saved.
+     * @throws IOException when there is some error writing to the stream.
+     */
+    public static void write(OutputStream out, List<Expense> expenses, List<Module> modules,
+                             List<Contact> contacts) throws IOException {
+        CheckedOutputStream checkedOut = new CheckedOutputStream(out, new CRC32());
+        DataOutputStream dataOut = new DataOutputStream(checkedOut);
+        dataOut.writeInt(MAGIC);
+        dataOut.writeInt(VERSION);
+        dataOut.writeInt(expenses.size());
+        dataOut.writeInt(modules.size());
+        dataOut.writeInt(contacts.size());
+        for (Expense expense : expenses) {
+            dataOut.writeInt(expense.getEpochDay());
+            dataOut.writeLong(expense.getCents());
+            writeString(dataOut, expense.getCategory());
+            writeString(dataOut, expense.getRemark());
+            writeString(dataOut, expense.getCurrency() == null ? "" : expense.getCurrency());
+        }
+        for (Module module : modules) {
+            writeString(dataOut, module.getModuleCode());
+            writeString(dataOut, module.getCategory());
+            writeString(dataOut, module.getDay());
+            writeString(dataOut, module.getTimeSlot());
+        }
+        for (Contact contact : contacts) {
+            writeString(dataOut, contact.getName().toString());
+            writeString(dataOut, contact.getFaculty().toString());
+            writeString(dataOut, contact.getEmail().toString());
+            writeString(dataOut, contact.getDescription().toString());
+        }
+        dataOut.flush();
+        dataOut.writeLong(checkedOut.getChecksum().getValue());
+        dataOut.flush();
+    }
+
+    /**
+     * Reads all entries from the binary snapshot file at <code>path</code>.
+     *
+     * @param path path of the binary snapshot file.
+     * @return the decoded entries.
+     * @throws IOException when the file cannot be read, is not a binary snapshot, or is corrupted.
+     */
+    public static Contents read(String path) throws IOException {
+        InputStream fileIn = new BufferedInputStream(new FileInputStream(path), BUFFER_SIZE);
+        CheckedInputStream checkedIn = new CheckedInputStream(fileIn, new CRC32());
+        try (DataInputStream dataIn = new DataInputStream(checkedIn)) {
+            if (dataIn.readInt() != MAGIC) {
+                throw new IOException(MSG_NOT_A_SNAPSHOT);
+            }
+            int version = dataIn.readInt();
+            if (version != VERSION && version != VERSION_WITHOUT_CURRENCIES) {
+                throw new IOException(MSG_UNSUPPORTED_VERSION + version);
+            }
+            int expenseCount = dataIn.readInt();
+            int moduleCount = dataIn.readInt();
+            int contactCount = dataIn.readInt();
+            Contents contents = new Contents(expenseCount, moduleCount, contactCount);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            for (int i = 0; i < expenseCount; i++) {
+                int epochDay = dataIn.readInt();
+                long cents = dataIn.readLong();
+                String category = readString(dataIn, buffer);
+                String remark = readString(dataIn, buffer);
+                String currency = version == VERSION_WITHOUT_CURRENCIES ? "" : readString(dataIn, buffer);
+                contents.expenses.add(new Expense(epochDay, cents, Expense.CENTS_SCALE, category, remark,
+                        currency.isEmpty() ? null : currency));
+            }
+            for (int i = 0; i < moduleCount; i++) {
+                contents.modules.add(new Module(readString(dataIn, buffer), readString(dataIn, buffer),
+                        readString(dataIn, buffer), readString(dataIn, buffer)));
+            }
+            for (int i = 0; i < contactCount; i++) {
+                contents.contacts.add(new Contact(new Name(readString(dataIn, buffer)),
+                        new Faculty(readString(dataIn, buffer)), new Email(readString(dataIn, buffer)),
+                        new Description(readString(dataIn, buffer))));
+            }
+            long computedChecksum = checkedIn.getChecksum().getValue();
+            if (dataIn.readLong() != computedChecksum) {
+                throw new IOException(MSG_CHECKSUM_MISMATCH);
+            }
+            return contents;
+        }
+    }
+
+    /**
+     * Converts an expense amount into a whole number of cents, rounding half up.
+     *
+     * @param amount amount as entered by the user.
+     * @return amount in cents.
+     */
+    public static long toCents(String amount) {
+        return Expense.toCents(amount);
+    }
+
+    /**
+     * Converts a whole number of cents back into an expense amount with two decimal places.
+     *
+     * @param cents amount in cents.
+     * @return amount as a string.
+     */
+    public static String fromCents(long cents) {
+        return Expense.formatCents(cents);
+    }
+
+    private static void writeString(DataOutputStream dataOut, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        dataOut.writeInt(bytes.length);
+        dataOut.write(bytes);
+    }
+
+    private static String readString(DataInputStream dataIn, byte[] buffer) throws IOException {
+        int length = dataIn.readInt();
+        if (length < 0) {
+            throw new IOException(MSG_NEGATIVE_LENGTH);
+        }
+        byte[] bytes = length <= buffer.length ? buffer : new byte[length];
+        dataIn.readFully(bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,307 @@
+package seedu.allonus.storage;
+
+import seedu.allonus.expense.Expense;
+import seedu.allonus.expense.ExpenseTracker;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A compressed, append-only store for expenses that are too old to be kept in the expense tracker.
+ * Archived expenses are grouped by month into segment files next to the data file, e.g.
+ * <code>allonusData.txt.archive.2021-03.gz</code>, each holding expense entries in file (save) format
+ * with a checksum, just like the text data file. Segments are only ever streamed, so archived expenses
+ * never occupy memory after they have been read.
+ *
+ * <p>New expenses are added to a segment by appending another GZIP member to it, which
+ * <code>GZIPInputStream</code> reads back as if it were one stream. As moving expenses into the archive
+ * also means rewriting the data file without them, which cannot be done in the same step, every append
+ * is first recorded in a pending file, together with the length of each segment before it. The pending
+ * file is deleted by <code>commitAppend</code> once the data file has been rewritten, and an append still
+ * pending on the next run is either kept or undone by <code>recoverPendingAppend</code>, so that the same
+ * expenses are never archived twice. A kept append is read back from those lengths on, so that exactly the
+ * expenses it archived, and no expenses added since, are then removed from the expense tracker.
+ */
+public class ExpenseArchive {
+    public static final String ARCHIVE_FILE_INFIX = ".archive.";
+    public static final String ARCHIVE_FILE_SUFFIX = ".gz";
+    public static final int MONTH_LENGTH = "YYYY-MM".length();
+    public static final int BUFFER_SIZE = 1 << 16;
+    public static final String LOG_CORRUPTED_ARCHIVE_ENTRY = "Skipping an archived expense entry whose "
+            + "checksum does not match.";
+    public static final String LOG_UNABLE_TO_READ_SEGMENT = "Unable to read the rest of an archive segment.";
+    public static final String PENDING_FILE_NAME = "pending";
+    public static final String LOG_UNDOING_PENDING_APPEND = "Undoing an append to the archive that was "
+            + "interrupted before it was complete.";
+    public static final String LOG_KEEPING_PENDING_APPEND = "Keeping an append to the archive that was "
+            + "interrupted before the data file was rewritten.";
+
+    private static Logger logger = Logger.getLogger("StorageFileLog");
+
+    private final File directory;
+    private final String segmentPrefix;
+
+    /**
+     * Creates an archive whose segment files are stored next to the data file at
+     * <code>datafileRelativePath</code>.
+     *
+     * @param datafileRelativePath relative path of the text data file.
+     */
+    public ExpenseArchive(String datafileRelativePath) {
+        File dataFile = new File(datafileRelativePath);
+        this.directory = dataFile.getAbsoluteFile().getParentFile();
+        this.segmentPrefix = dataFile.getName() + ARCHIVE_FILE_INFIX;
+    }
+
+    /**
+     * Appends <code>expenses</code> to the segments of their respective months and forces them to disk. The
+     * append stays pending until <code>commitAppend</code> is called.
+     *
+     * @param expenses expenses to be archived, in the order they should be read back.
+     * @throws IOException when there is some error writing to a segment or to the pending file.
+     */
+    public void append(List<Expense> expenses) throws IOException {
+        if (expenses.isEmpty()) {
+            return;
+        }
+        TreeMap<String, List<Expense>> expensesByMonth = new TreeMap<>();
+        for (Expense expense : expenses) {
+            expensesByMonth.computeIfAbsent(getMonth(expense.getDate()), month -> new ArrayList<>()).add(expense);
+        }
+        writePendingFile(expensesByMonth.keySet());
+        for (String month : expensesByMonth.keySet()) {
+            appendToSegment(month, expensesByMonth.get(month));
+        }
+    }
+
+    /**
+     * Marks the last append as complete, once the expenses appended have been removed from the data file.
+     *
+     * @throws IOException when the pending file cannot be deleted.
+     */
+    public void commitAppend() throws IOException {
+        Files.deleteIfExists(getPendingFile().toPath());
+    }
+
+    /**
+     * Keeps or undoes an append that is still pending, e.g. because the app stopped before the data file
+     * was rewritten. The append is kept if every segment appended to has grown and what was appended to it
+     * can be read back, and undone by truncating the segments to their length before the append otherwise.
+     * An undone append is no longer pending afterwards, while a kept one stays pending until
+     * <code>commitAppend</code> is called.
+     *
+     * @return the entries, in file (save) format, of the expenses archived by a kept append, which should now
+     *         be removed from the expense tracker if still there, or <code>null</code> if no append was pending
+     *         or it was undone.
+     * @throws IOException when the pending file cannot be read or a segment cannot be truncated.
+     */
+    public List<String> recoverPendingAppend() throws IOException {
+        File pendingFile = getPendingFile();
+        if (!pendingFile.exists()) {
+            return null;
+        }
+        LinkedHashMap<String, Long> lengthsByMonth = new LinkedHashMap<>();
+        for (String line : readPendingFile(pendingFile)) {
+            String[] fields = line.split(StorageFile.ENTRY_DELIMITER);
+            lengthsByMonth.put(fields[0], Long.parseLong(fields[1]));
+        }
+        List<String> archivedEntries = new ArrayList<>();
+        try {
+            for (Map.Entry<String, Long> month : lengthsByMonth.entrySet()) {
+                archivedEntries.addAll(readAppendedEntries(getSegment(month.getKey()), month.getValue()));
+            }
+            logger.log(Level.WARNING, LOG_KEEPING_PENDING_APPEND);
+            return archivedEntries;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, LOG_UNDOING_PENDING_APPEND);
+        }
+        for (Map.Entry<String, Long> month : lengthsByMonth.entrySet()) {
+            truncateSegment(getSegment(month.getKey()), month.getValue());
+        }
+        commitAppend();
+        return null;
+    }
+
+    private void writePendingFile(Iterable<String> months) throws IOException {
+        File pendingFile = getPendingFile();
+        File tempFile = new File(directory, pendingFile.getName() + StorageFile.TEMP_FILE_SUFFIX);
+        try (FileOutputStream out = new FileOutputStream(tempFile);
+                BufferedWriter fileWrite = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            for (String month : months) {
+                String line = month + StorageFile.ENTRY_DELIMITER + getSegment(month).length();
+                fileWrite.write(RecordChecksum.seal(line) + "\n");
+            }
+            fileWrite.flush();
+            out.getChannel().force(true);
+        }
+        try {
+            Files.move(tempFile.toPath(), pendingFile.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile.toPath(), pendingFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private List<String> readPendingFile(File pendingFile) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(pendingFile.toPath(), StandardCharsets.UTF_8)) {
+            String entry = RecordChecksum.unseal(line);
+            if (entry == null) {
+                throw new IOException(pendingFile.getName());
+            }
+            lines.add(entry);
+        }
+        if (lines.isEmpty()) {
+            throw new IOException(pendingFile.getName());
+        }
+        return lines;
+    }
+
+    /**
+     * Reads the entries appended to <code>segment</code> after its first <code>lengthBefore</code> bytes.
+     *
+     * @throws IOException if nothing was appended, or what was appended cannot be read to the end or has an
+     *                     entry whose checksum does not match.
+     */
+    private List<String> readAppendedEntries(File segment, long lengthBefore) throws IOException {
+        if (segment.length() <= lengthBefore) {
+            throw new IOException(segment.getName());
+        }
+        List<String> entries = new ArrayList<>();
+        try (FileInputStream in = new FileInputStream(segment)) {
+            in.getChannel().position(lengthBefore);
+            BufferedReader fileRead = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(in, BUFFER_SIZE), StandardCharsets.UTF_8));
+            String line;
+            while ((line = fileRead.readLine()) != null) {
+                String entry = RecordChecksum.unseal(line);
+                if (entry == null) {
+                    throw new IOException(segment.getName());
+                }
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    private void truncateSegment(File segment, long length) throws IOException {
+        if (length == 0) {
+            Files.deleteIfExists(segment.toPath());
+            return;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.setLength(length);
+            file.getChannel().force(true);
+        }
+    }
+
+    private void appendToSegment(String month, List<Expense> expenses) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(getSegment(month), true);
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, BUFFER_SIZE);
+                BufferedWriter fileWrite = new BufferedWriter(new OutputStreamWriter(gzipOut,
+                        StandardCharsets.UTF_8))) {
+            for (Expense expense : expenses) {
+                fileWrite.write(RecordChecksum.seal(StorageFile.formatExpense(expense)) + "\n");
+            }
+            fileWrite.flush();
+            gzipOut.finish();
+            out.getChannel().force(true);
+        }
+    }
+
+    /**
+     * Streams the archived expenses dated from <code>fromDate</code> to <code>toDate</code> inclusive to
+     * <code>action</code>, oldest segment first. Only the segments of months overlapping the range are read.
+     *
+     * @param fromDate earliest date in YYYY-MM-DD format, or <code>null</code> for no lower bound.
+     * @param toDate latest date in YYYY-MM-DD format, or <code>null</code> for no upper bound.
+     * @param action action to be performed on each archived expense in the range.
+     */
+    public void forEach(String fromDate, String toDate, Consumer<Expense> action) {
+        long fromEpochDay = fromDate == null ? Long.MIN_VALUE : LocalDate.parse(fromDate).toEpochDay();
+        long toEpochDay = toDate == null ? Long.MAX_VALUE : LocalDate.parse(toDate).toEpochDay();
+        for (File segment : getSegments()) {
+            String month = getSegmentMonth(segment);
+            if ((fromDate != null && month.compareTo(getMonth(fromDate)) < 0)
+                    || (toDate != null && month.compareTo(getMonth(toDate)) > 0)) {
+                continue;
+            }
+            readSegment(segment, fromEpochDay, toEpochDay, action);
+        }
+    }
+
+    private void readSegment(File segment, long fromEpochDay, long toEpochDay, Consumer<Expense> action) {
+        try (BufferedReader fileRead = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new FileInputStream(segment), BUFFER_SIZE), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = fileRead.readLine()) != null) {
+                String entry = RecordChecksum.unseal(line);
+                String[] dataEntry = entry == null ? null : entry.split(StorageFile.ENTRY_DELIMITER, 2);
+                Expense expense = dataEntry == null || dataEntry.length < 2 ? null
+                        : ExpenseTracker.parseSavedExpense(dataEntry[1]);
+                if (expense == null) {
+                    logger.log(Level.WARNING, LOG_CORRUPTED_ARCHIVE_ENTRY);
+                } else if (expense.getEpochDay() >= fromEpochDay && expense.getEpochDay() <= toEpochDay) {
+                    action.accept(expense);
+                }
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, LOG_UNABLE_TO_READ_SEGMENT);
+        }
+    }
+
+    /**
+     * Returns the segment files of this archive, sorted from the oldest month to the newest.
+     *
+     * @return segment files.
+     */
+    public List<File> getSegments() {
+        File[] segments = directory.listFiles((dir, name) -> name.startsWith(segmentPrefix)
+                && name.endsWith(ARCHIVE_FILE_SUFFIX)
+                && name.length() == segmentPrefix.length() + MONTH_LENGTH + ARCHIVE_FILE_SUFFIX.length());
+        if (segments == null) {
+            return new ArrayList<>();
+        }
+        Arrays.sort(segments);
+        return Arrays.asList(segments);
+    }
+
+    private File getPendingFile() {
+        return new File(directory, segmentPrefix + PENDING_FILE_NAME);
+    }
+
+    private File getSegment(String month) {
+        return new File(directory, segmentPrefix + month + ARCHIVE_FILE_SUFFIX);
+    }
+
+    private String getSegmentMonth(File segment) {
+        return segment.getName().substring(segmentPrefix.length(), segmentPrefix.length() + MONTH_LENGTH);
+    }
+
+    private static String getMonth(String date) {
+        return date.substring(0, MONTH_LENGTH);
+    }
+}
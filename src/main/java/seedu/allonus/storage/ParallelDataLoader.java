@@ -0,0 +1,196 @@
+package seedu.allonus.storage;
+
+import seedu.allonus.contacts.ContactsManager;
+import seedu.allonus.expense.ExpenseTracker;
+import seedu.allonus.modules.StudyManager;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Loads a large text data file by memory-mapping it, splitting it into chunks that end on line
+ * boundaries and parsing the chunks in parallel on the common fork/join pool. The parsed entries are
+ * returned in the order they appear in the file, so they can be added to the respective
+ * managers/trackers exactly as the sequential loader would.
+ */
+public class ParallelDataLoader {
+    public static final long PARALLEL_LOAD_THRESHOLD_BYTES = 1 << 20;
+    public static final long MIN_CHUNK_BYTES = 1 << 18;
+    public static final long MAX_CHUNK_BYTES = 1 << 26;
+    public static final int CHUNKS_PER_THREAD = 4;
+    public static final byte NEWLINE = '\n';
+    public static final char CARRIAGE_RETURN = '\r';
+    public static final int SCAN_BUFFER_SIZE = 1 << 12;
+
+    /**
+     * A line of the data file, together with the object parsed from it.
+     */
+    public static class ParsedLine {
+        public final boolean isSealed;
+        public final String entry;
+        public final Object parsed;
+
+        ParsedLine(boolean isSealed, String entry, Object parsed) {
+            this.isSealed = isSealed;
+            this.entry = entry;
+            this.parsed = parsed;
+        }
+    }
+
+    private final StudyManager studyManager;
+    private final Collection<String> tags;
+
+    /**
+     * Creates a loader that parses the entries of the managers/trackers given by <code>tags</code>,
+     * using <code>studyManager</code> to parse module entries.
+     *
+     * @param studyManager the study manager used to parse module entries.
+     * @param tags tags of the managers/trackers whose entries are parsed.
+     */
+    public ParallelDataLoader(StudyManager studyManager, Collection<String> tags) {
+        this.studyManager = studyManager;
+        this.tags = tags;
+    }
+
+    /**
+     * Reads and parses all lines of the file at <code>path</code>. A line whose checksum does not match
+     * has a <code>null</code> entry; a line that could not be parsed, or that belongs to a manager/tracker
+     * not being loaded, has a <code>null</code> parsed object.
+     *
+     * @param path path of the text data file.
+     * @return parsed lines in file order.
+     * @throws IOException when the file cannot be read.
+     */
+    public ArrayList<ParsedLine> load(String path) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path, "r")) {
+            FileChannel channel = file.getChannel();
+            List<long[]> chunks = splitIntoChunks(channel);
+            List<List<ParsedLine>> parsedChunks = chunks.parallelStream()
+                    .map(chunk -> parseChunk(channel, chunk[0], chunk[1]))
+                    .collect(Collectors.toList());
+            ArrayList<ParsedLine> parsedLines = new ArrayList<>();
+            for (List<ParsedLine> parsedChunk : parsedChunks) {
+                parsedLines.addAll(parsedChunk);
+            }
+            removeTrailingBlankLines(parsedLines);
+            return parsedLines;
+        }
+    }
+
+    /**
+     * Removes the blank lines at the end of the file, which the sequential <code>Scanner</code> load
+     * never reads. Blank lines before the last entry are kept, so that both loads report them alike.
+     */
+    private static void removeTrailingBlankLines(List<ParsedLine> parsedLines) {
+        while (!parsedLines.isEmpty()) {
+            ParsedLine lastLine = parsedLines.get(parsedLines.size() - 1);
+            if (lastLine.isSealed || lastLine.entry == null || !lastLine.entry.trim().isEmpty()) {
+                return;
+            }
+            parsedLines.remove(parsedLines.size() - 1);
+        }
+    }
+
+    /**
+     * Returns the start and end offsets of chunks covering the whole file, each ending just after a
+     * newline or at the end of the file.
+     */
+    private List<long[]> splitIntoChunks(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        long chunkSize = size / ((long) parallelism * CHUNKS_PER_THREAD);
+        chunkSize = Math.max(MIN_CHUNK_BYTES, Math.min(MAX_CHUNK_BYTES, chunkSize));
+        List<long[]> chunks = new ArrayList<>();
+        long start = 0;
+        while (start < size) {
+            long end = findLineEnd(channel, Math.min(size, start + chunkSize), size);
+            chunks.add(new long[]{start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private long findLineEnd(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long scanned = position;
+        while (scanned < size) {
+            buffer.clear();
+            int read = channel.read(buffer, scanned);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == NEWLINE) {
+                    return scanned + i + 1;
+                }
+            }
+            scanned += read;
+        }
+        return size;
+    }
+
+    private List<ParsedLine> parseChunk(FileChannel channel, long start, long end) {
+        MappedByteBuffer mapped;
+        try {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        CharBuffer chars = StandardCharsets.UTF_8.decode(mapped);
+        List<ParsedLine> parsedLines = new ArrayList<>();
+        int lineStart = 0;
+        for (int i = 0; i <= chars.length(); i++) {
+            if (i < chars.length() && chars.charAt(i) != NEWLINE) {
+                continue;
+            }
+            int lineEnd = i;
+            if (lineEnd > lineStart && chars.charAt(lineEnd - 1) == CARRIAGE_RETURN) {
+                lineEnd--;
+            }
+            if (i < chars.length() || lineEnd > lineStart) {
+                parsedLines.add(parseLine(chars.subSequence(lineStart, lineEnd).toString()));
+            }
+            lineStart = i + 1;
+        }
+        return parsedLines;
+    }
+
+    private ParsedLine parseLine(String line) {
+        boolean isSealed = RecordChecksum.isSealed(line);
+        String entry = isSealed ? RecordChecksum.unseal(line) : line;
+        if (entry == null) {
+            return new ParsedLine(true, null, null);
+        }
+        if (StorageFile.isSkipped(entry, tags)) {
+            return new ParsedLine(isSealed, entry, null);
+        }
+        String[] dataEntry = entry.split(StorageFile.ENTRY_DELIMITER, 2);
+        Object parsed = null;
+        if (dataEntry.length == 2) {
+            switch (dataEntry[0]) {
+            case StorageFile.EXPENSE_TAG:
+                parsed = ExpenseTracker.parseSavedExpense(dataEntry[1]);
+                break;
+            case StorageFile.MODULE_TAG:
+                parsed = studyManager.parseSavedModule(dataEntry[1]);
+                break;
+            case StorageFile.CONTACT_TAG:
+                parsed = ContactsManager.parseSavedContact(dataEntry[1]);
+                break;
+            default:
+                break;
+            }
+        }
+        return new ParsedLine(isSealed, entry, parsed);
+    }
+}
@@ -0,0 +1,73 @@
+package seedu.allonus.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * A class encapsulating methods to append a CRC-32 checksum to a record in a saved file and to
+ * verify it when the record is read back, so that records left incomplete by a crash can be detected.
+ */
+public class RecordChecksum {
+    public static final char CHECKSUM_DELIMITER = '\t';
+    public static final int CHECKSUM_LENGTH = 8;
+    public static final int HEX_RADIX = 16;
+
+    /**
+     * Returns <code>record</code> followed by its checksum.
+     *
+     * @param record the record to be saved.
+     * @return the record with its checksum appended.
+     */
+    public static String seal(String record) {
+        return record + CHECKSUM_DELIMITER + toHex(computeChecksum(record));
+    }
+
+    /**
+     * Checks whether <code>line</code> ends with a checksum, valid or not.
+     *
+     * @param line a line read from a saved file.
+     * @return <code>true</code> if the line ends with a checksum.
+     */
+    public static boolean isSealed(String line) {
+        return line.lastIndexOf(CHECKSUM_DELIMITER) == line.length() - CHECKSUM_LENGTH - 1;
+    }
+
+    /**
+     * Returns the record in <code>line</code> with its checksum removed, if the checksum matches.
+     *
+     * @param line a line read from a saved file.
+     * @return the record, or <code>null</code> if the line has no checksum or the checksum does not match.
+     */
+    public static String unseal(String line) {
+        if (!isSealed(line)) {
+            return null;
+        }
+        int delimiterIndex = line.length() - CHECKSUM_LENGTH - 1;
+        String record = line.substring(0, delimiterIndex);
+        long checksum;
+        try {
+            checksum = Long.parseLong(line.substring(delimiterIndex + 1), HEX_RADIX);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (checksum != computeChecksum(record)) {
+            return null;
+        }
+        return record;
+    }
+
+    private static long computeChecksum(String record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    private static String toHex(long checksum) {
+        String hex = Long.toHexString(checksum);
+        StringBuilder padded = new StringBuilder();
+        for (int i = hex.length(); i < CHECKSUM_LENGTH; i++) {
+            padded.append('0');
+        }
+        return padded.append(hex).toString();
+    }
+}
@@ -2,16 +2,44 @@ package seedu.allonus.storage;
 
 import seedu.allonus.contacts.ContactsManager;
 import seedu.allonus.contacts.entry.Contact;
+import seedu.allonus.expense.ExchangeRates;
 import seedu.allonus.expense.Expense;
 import seedu.allonus.expense.ExpenseTracker;
+import seedu.allonus.expense.RecurringRule;
 import seedu.allonus.modules.Module;
 import seedu.allonus.modules.StudyManager;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -47,6 +75,48 @@ public class StorageFile {
     public static final String LOG_FILE_NOT_FOUND = "File not found and will now attempt to create.";
     public static final String LOG_UNABLE_TO_WRITE_TO_FILE = "Unable to write data to file. IOException occurred.";
     public static final String ASSERT_FILE_EXISTS = "File f should exist.";
+    public static final String LOG_REPLAYING_JOURNAL = "Replaying changes recorded in journal file.";
+    public static final String LOG_CORRUPTED_JOURNAL_RECORD = "There seems to be a corrupted record in the "
+            + "journal file.";
+    public static final String LOG_COMPACTING_JOURNAL = "Folding journal into data file.";
+    public static final String LOG_UNABLE_TO_READ_JOURNAL = "Unable to read journal file.";
+    public static final String LOG_TORN_ENTRY = "Skipping an entry in the data file whose checksum does not match.";
+    public static final String LOG_ATOMIC_MOVE_NOT_SUPPORTED = "Atomic move not supported. "
+            + "Replacing data file non-atomically.";
+
+    public static final String EXPENSE_TAG = "E";
+    public static final String MODULE_TAG = "S";
+    public static final String CONTACT_TAG = "C";
+    public static final String ENTRY_DELIMITER = ",";
+    public static final String JOURNAL_FILE_SUFFIX = ".journal";
+    public static final String TEMP_FILE_SUFFIX = ".tmp";
+    public static final String BINARY_FILE_SUFFIX = ".bin";
+    public static final String BUDGET_FILE_SUFFIX = ".budgets";
+    public static final String RECURRING_FILE_SUFFIX = ".recurring";
+    public static final String NO_END_DATE = "-";
+    public static final String RATE_FILE_SUFFIX = ".rates";
+    public static final String EXPENSE_SHARD_SUFFIX = ".expenses";
+    public static final String MODULE_SHARD_SUFFIX = ".modules";
+    public static final String CONTACT_SHARD_SUFFIX = ".contacts";
+    public static final List<String> ALL_TAGS = Arrays.asList(EXPENSE_TAG, MODULE_TAG, CONTACT_TAG);
+    public static final String LOG_LOADING_SHARDS = "Loading entries from per-manager data files.";
+    public static final String LOG_LOADING_IN_PARALLEL = "Loading entries from large data file in parallel.";
+    public static final String LOG_UNABLE_TO_LOAD_IN_PARALLEL = "Unable to load data file in parallel. "
+            + "Falling back to sequential loading.";
+    public static final String LOG_LOADING_BINARY_SNAPSHOT = "Loading entries from binary data file.";
+    public static final String LOG_UNABLE_TO_READ_BINARY_SNAPSHOT = "Unable to read binary data file. "
+            + "Falling back to text data file.";
+    public static final String LOG_DEFERRING_LOAD = "Deferring loading of entries until first use.";
+    public static final String LOG_ARCHIVING_EXPENSES = "Moving old expenses from Expense Tracker into archive.";
+    public static final String LOG_UNABLE_TO_ARCHIVE = "Unable to write expenses to archive. "
+            + "Keeping them in Expense Tracker.";
+    public static final String LOG_UNABLE_TO_RECOVER_ARCHIVE = "Unable to recover an interrupted move into "
+            + "archive. Not archiving any more expenses.";
+    public static final String LOG_UNABLE_TO_COMMIT_ARCHIVE = "Unable to mark the move into archive as done.";
+    public static final String LOG_UNABLE_TO_READ_SIDE_FILE = "Unable to read budget or recurring expense file.";
+    public static final String LOG_UNABLE_TO_WRITE_SIDE_FILE = "Unable to write budget or recurring expense file.";
+    public static final String PREFETCH_THREAD_NAME = "allonus-storage-prefetch";
+    public static final int JOURNAL_COMPACTION_THRESHOLD = 500;
 
     private static ContactsManager contactsManager;
     private static StudyManager studyManager;
@@ -54,6 +124,20 @@ public class StorageFile {
     private static Logger logger = Logger.getLogger("StorageFileLog");
     private static String fileName;
     private static String datafileRelativePath;
+    private static String binaryfileRelativePath;
+    private static boolean isBinaryMode = false;
+    private static boolean isShardedMode = false;
+    private static final Set<String> dirtyShards = ConcurrentHashMap.newKeySet();
+    private static final HashSet<String> unloadedTags = new HashSet<>();
+    private static HashMap<String, ArrayList<String>> unloadedEntries;
+    private static volatile boolean isLoadPending = false;
+    private static ArrayList<String> unreplayedRecords = new ArrayList<>();
+    private static StorageJournal journal;
+    private static boolean isJournalMode = false;
+    private static StorageWriter storageWriter;
+    private static ExpenseArchive expenseArchive;
+    private static long archiveAfterDays = 0;
+    private static boolean isArchiveChecked = false;
 
     public static final String DIRECTORY_NAME = "data";
     public static final String PROJECT_PATH = System.getProperty("user.dir");
@@ -83,6 +167,108 @@ public class StorageFile {
         studyManager = studyManagerParam;
         fileName = fileNameParam;
         datafileRelativePath = DIRECTORY_NAME + File.separator + fileName;
+        binaryfileRelativePath = datafileRelativePath + BINARY_FILE_SUFFIX;
+        journal = new StorageJournal(datafileRelativePath + JOURNAL_FILE_SUFFIX);
+        expenseArchive = new ExpenseArchive(datafileRelativePath);
+    }
+
+    /**
+     * Sets whether snapshots of app data are saved in the compact binary format of
+     * <code>BinarySnapshot</code> instead of the text format.
+     *
+     * @param isBinaryModeParam <code>true</code> to save binary snapshots.
+     */
+    public static void setBinaryMode(boolean isBinaryModeParam) {
+        isBinaryMode = isBinaryModeParam;
+    }
+
+    /**
+     * Sets whether the entries of each tracker/manager are saved to a separate text data file, so that
+     * only the files of trackers/managers that were modified since the last save are rewritten.
+     * Has no effect in binary mode.
+     *
+     * @param isShardedModeParam <code>true</code> to save one text data file per tracker/manager.
+     */
+    public static void setShardedMode(boolean isShardedModeParam) {
+        isShardedMode = isShardedModeParam;
+    }
+
+    /**
+     * Returns relative path of the text data file holding only the entries of the tracker/manager
+     * identified by <code>tag</code>, used in sharded mode.
+     *
+     * @param tag one of <code>EXPENSE_TAG</code>, <code>MODULE_TAG</code> or <code>CONTACT_TAG</code>.
+     * @return String containing relative path of file.
+     */
+    public String getShardRelativePath(String tag) {
+        switch (tag) {
+        case EXPENSE_TAG:
+            return datafileRelativePath + EXPENSE_SHARD_SUFFIX;
+        case MODULE_TAG:
+            return datafileRelativePath + MODULE_SHARD_SUFFIX;
+        case CONTACT_TAG:
+            return datafileRelativePath + CONTACT_SHARD_SUFFIX;
+        default:
+            throw new IllegalArgumentException(tag);
+        }
+    }
+
+    /**
+     * Sets the age after which expenses are moved out of the expense tracker into the compressed
+     * <code>ExpenseArchive</code>.
+     *
+     * @param archiveAfterDaysParam age in days, or <code>0</code> to never archive expenses.
+     */
+    public static void setArchiveAfterDays(long archiveAfterDaysParam) {
+        archiveAfterDays = archiveAfterDaysParam;
+    }
+
+    /**
+     * Sets whether changes are saved by appending records to the journal file, instead of
+     * rewriting the whole data file after every modifying command.
+     *
+     * @param isJournalModeParam <code>true</code> to enable journaled saving.
+     */
+    public static void setJournalMode(boolean isJournalModeParam) {
+        isJournalMode = isJournalModeParam;
+    }
+
+    /**
+     * Starts a background <code>StorageWriter</code> that coalesces save requests made within
+     * <code>coalescingWindowMillis</code> of each other into a single write. A JVM shutdown hook is
+     * registered so that pending records are written even if the application is not exited normally.
+     * Only takes effect in journal mode.
+     *
+     * @param coalescingWindowMillis time to wait after a save request for further requests.
+     */
+    public static void startWriteBehind(long coalescingWindowMillis) {
+        if (!isJournalMode || storageWriter != null) {
+            return;
+        }
+        StorageWriter writer = new StorageWriter(new StorageFile(), coalescingWindowMillis);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(writer::close));
+        storageWriter = writer;
+    }
+
+    /**
+     * Stops the background <code>StorageWriter</code>, if any, after writing all pending records.
+     */
+    public static void stopWriteBehind() {
+        if (storageWriter == null) {
+            return;
+        }
+        storageWriter.close();
+        storageWriter = null;
+    }
+
+    /**
+     * Returns the journal recording changes made since the data file was last rewritten.
+     *
+     * @return journal of this <code>StorageFile</code>.
+     */
+    public StorageJournal getJournal() {
+        return journal;
     }
 
     /**
@@ -101,7 +287,17 @@ public class StorageFile {
     }
 
     /**
-     * Creates a file at path specified in <code>DATAFILE_RELATIVE_PATH</code>. The directory
+     * Returns relative path of the file that snapshots of app data are saved to, which is the binary
+     * data file in binary mode and the text data file otherwise.
+     *
+     * @return String containing relative path of file.
+     */
+    public String getSnapshotRelativePath() {
+        return isBinaryMode ? binaryfileRelativePath : datafileRelativePath;
+    }
+
+    /**
+     * Creates the file at path given by <code>getSnapshotRelativePath</code>. The directory
      * in which the file resides is created first if it doesn't exist.
      *
      * @see IOException
@@ -114,7 +310,7 @@ public class StorageFile {
             createDirectory();
         }
         assert dir.exists() : ASSERT_DIRECTORY_EXISTS;
-        File f = new File(PROJECT_PATH + File.separator + datafileRelativePath);
+        File f = new File(PROJECT_PATH + File.separator + getSnapshotRelativePath());
 
         try {
             f.createNewFile();
@@ -159,30 +355,373 @@ public class StorageFile {
 
     /**
      * Identifies expense, module and contact entries in saved file and updates the context of
-     * the respective trackers/managers.
+     * the respective trackers/managers. Once an entry with a checksum has been read, entries with a
+     * missing or mismatched checksum are skipped, as they were only partially written. Files saved
+     * before checksums were introduced are loaded as is.
      *
      * @throws FileNotFoundException when File f being read from does not exist.
      * @see FileNotFoundException
      */
     public void transferDataFromFileToList() throws FileNotFoundException {
-        File f = new File(datafileRelativePath);
-        Scanner fileReader = new Scanner(f);
+        transferDataFromFileToList(datafileRelativePath, ALL_TAGS);
+    }
+
+    /**
+     * Identifies the entries of the trackers/managers given by <code>tags</code> in the text data file at
+     * <code>relativePath</code> and updates the context of the respective trackers/managers. Entries of
+     * other trackers/managers are skipped without being parsed.
+     *
+     * @param relativePath relative path of the text data file.
+     * @param tags tags of the trackers/managers to be loaded.
+     * @throws FileNotFoundException when File f being read from does not exist.
+     */
+    public void transferDataFromFileToList(String relativePath, Collection<String> tags)
+            throws FileNotFoundException {
+        transferDataFromFileToList(relativePath, tags, null);
+    }
+
+    /**
+     * Loads the entries of the trackers/managers given by <code>tags</code> as
+     * <code>transferDataFromFileToList(relativePath, tags)</code> does, keeping the entries of the other
+     * trackers/managers, unparsed, in <code>skippedEntries</code> by tag if it is not <code>null</code>.
+     */
+    private void transferDataFromFileToList(String relativePath, Collection<String> tags,
+            Map<String, ArrayList<String>> skippedEntries) throws FileNotFoundException {
+        File f = new File(relativePath);
+        if (f.length() >= ParallelDataLoader.PARALLEL_LOAD_THRESHOLD_BYTES
+                && transferDataFromFileInParallel(relativePath, tags, skippedEntries)) {
+            return;
+        }
+        Scanner fileReader = new Scanner(f, StandardCharsets.UTF_8.name());
+        boolean isChecksummed = false;
         while (fileReader.hasNext()) {
             String fileRow = fileReader.nextLine();
-            String[] dataEntry = fileRow.split(",", 2);
-            if (dataEntry[0].equals("E")) {
-                logger.log(Level.INFO, LOG_ADD_EXPENSE_ENTRY);
-                loadExpense(dataEntry[1]);
-            } else if (dataEntry[0].equals("S")) {
-                logger.log(Level.INFO, LOG_ADD_MODULE_ENTRY);
-                loadModule(dataEntry[1]);
-            } else if (dataEntry[0].equals("C")) {
-                logger.log(Level.INFO, LOG_ADD_CONTACT_ENTRY);
-                loadContact(dataEntry[1]);
+            if (RecordChecksum.isSealed(fileRow)) {
+                isChecksummed = true;
+                fileRow = RecordChecksum.unseal(fileRow);
+            } else if (isChecksummed) {
+                fileRow = null;
+            }
+            if (fileRow == null) {
+                logger.log(Level.WARNING, LOG_TORN_ENTRY);
+                continue;
+            }
+            if (isSkipped(fileRow, tags)) {
+                keepSkippedEntry(fileRow, skippedEntries);
+                continue;
+            }
+            loadEntry(fileRow);
+        }
+        fileReader.close();
+    }
+
+    /**
+     * Checks whether the binary data file exists and was saved more recently than the text data file,
+     * e.g. because binary mode was switched off after the last binary save.
+     *
+     * @return <code>true</code> if the binary data file should be loaded.
+     */
+    public boolean isBinarySnapshotCurrent() {
+        File binaryFile = new File(binaryfileRelativePath);
+        File textFile = new File(datafileRelativePath);
+        long textLastModified = Math.max(textFile.lastModified(), getShardsLastModified());
+        return binaryFile.exists() && binaryFile.lastModified() >= textLastModified;
+    }
+
+    /**
+     * Checks whether any per-manager data file exists and was saved at least as recently as the
+     * combined text data file, e.g. because sharded mode was switched off after the last sharded save.
+     *
+     * @return <code>true</code> if the per-manager data files should be loaded.
+     */
+    public boolean isShardedSnapshotCurrent() {
+        long shardsLastModified = getShardsLastModified();
+        return shardsLastModified > 0 && shardsLastModified >= new File(datafileRelativePath).lastModified();
+    }
+
+    private long getShardsLastModified() {
+        long lastModified = 0;
+        for (String tag : ALL_TAGS) {
+            lastModified = Math.max(lastModified, new File(getShardRelativePath(tag)).lastModified());
+        }
+        return lastModified;
+    }
+
+    /**
+     * Loads the entries in the existing per-manager data files of the trackers/managers given by
+     * <code>tags</code> into the respective tracker/manager.
+     *
+     * @param tags tags of the trackers/managers to be loaded.
+     * @throws FileNotFoundException when a data file disappears while being read.
+     */
+    public void transferDataFromShardsToList(Collection<String> tags) throws FileNotFoundException {
+        logger.log(Level.INFO, LOG_LOADING_SHARDS);
+        for (String tag : tags) {
+            if (new File(getShardRelativePath(tag)).exists()) {
+                transferDataFromFileToList(getShardRelativePath(tag), tags);
+            }
+        }
+    }
+
+    /**
+     * Decodes entries in the binary data file and adds them directly to the respective trackers/managers.
+     * Nothing is added if the file cannot be decoded completely. As the binary data file is decoded as a
+     * whole, all trackers/managers are loaded at once.
+     *
+     * @return <code>true</code> if the binary data file was loaded.
+     */
+    public boolean transferDataFromBinaryFileToList() {
+        logger.log(Level.INFO, LOG_LOADING_BINARY_SNAPSHOT);
+        BinarySnapshot.Contents contents;
+        try {
+            contents = BinarySnapshot.read(binaryfileRelativePath);
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, LOG_UNABLE_TO_READ_BINARY_SNAPSHOT);
+            return false;
+        }
+        for (Expense expense : contents.expenses) {
+            expenseTracker.loadAdd(expense);
+        }
+        for (Module module : contents.modules) {
+            studyManager.loadAdd(module);
+        }
+        for (Contact contact : contents.contacts) {
+            contactsManager.loadAdd(contact);
+        }
+        return true;
+    }
+
+    /**
+     * Parses the text data file in parallel with a <code>ParallelDataLoader</code> and then updates the
+     * context of the respective trackers/managers in file order, applying the same checksum rules as
+     * <code>transferDataFromFileToList</code>. Entries that could not be parsed are passed to
+     * <code>loadEntry</code> so that they are reported exactly as the sequential loader would.
+     *
+     * @param relativePath relative path of the text data file.
+     * @param tags tags of the trackers/managers to be loaded.
+     * @return <code>true</code> if the file was loaded, <code>false</code> if it could not be read.
+     */
+    public boolean transferDataFromFileInParallel(String relativePath, Collection<String> tags) {
+        return transferDataFromFileInParallel(relativePath, tags, null);
+    }
+
+    private boolean transferDataFromFileInParallel(String relativePath, Collection<String> tags,
+            Map<String, ArrayList<String>> skippedEntries) {
+        logger.log(Level.INFO, LOG_LOADING_IN_PARALLEL);
+        ArrayList<ParallelDataLoader.ParsedLine> parsedLines;
+        try {
+            parsedLines = new ParallelDataLoader(studyManager, tags).load(relativePath);
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, LOG_UNABLE_TO_LOAD_IN_PARALLEL);
+            return false;
+        }
+        boolean isChecksummed = false;
+        for (ParallelDataLoader.ParsedLine parsedLine : parsedLines) {
+            isChecksummed |= parsedLine.isSealed;
+            if (parsedLine.entry == null || (isChecksummed && !parsedLine.isSealed)) {
+                logger.log(Level.WARNING, LOG_TORN_ENTRY);
+            } else if (isSkipped(parsedLine.entry, tags)) {
+                keepSkippedEntry(parsedLine.entry, skippedEntries);
+            } else if (parsedLine.parsed instanceof Expense) {
+                expenseTracker.loadAdd((Expense) parsedLine.parsed);
+            } else if (parsedLine.parsed instanceof Module) {
+                studyManager.loadAdd((Module) parsedLine.parsed);
+            } else if (parsedLine.parsed instanceof Contact) {
+                contactsManager.loadAdd((Contact) parsedLine.parsed);
             } else {
-                logger.log(Level.WARNING, LOG_CORRUPTED_ENTRY);
+                loadEntry(parsedLine.entry);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether an entry in file (save) format belongs to a tracker/manager other than those given
+     * by <code>tags</code>. Entries without a known tag are never skipped, so that they are reported.
+     *
+     * @param fileRow the entry in file (save) format.
+     * @param tags tags of the trackers/managers being loaded.
+     * @return <code>true</code> if the entry should not be loaded now.
+     */
+    static boolean isSkipped(String fileRow, Collection<String> tags) {
+        String tag = fileRow.split(ENTRY_DELIMITER, 2)[0];
+        return ALL_TAGS.contains(tag) && !tags.contains(tag);
+    }
+
+    private static void keepSkippedEntry(String fileRow, Map<String, ArrayList<String>> skippedEntries) {
+        if (skippedEntries != null) {
+            skippedEntries.computeIfAbsent(fileRow.split(ENTRY_DELIMITER, 2)[0], tag -> new ArrayList<>())
+                    .add(fileRow);
+        }
+    }
+
+    /**
+     * Identifies whether an entry in file (save) format is an expense, module or contact entry and
+     * updates the context of the respective tracker/manager.
+     *
+     * @param fileRow the entry in file (save) format.
+     */
+    public void loadEntry(String fileRow) {
+        String[] dataEntry = fileRow.split(ENTRY_DELIMITER, 2);
+        if (dataEntry.length < 2) {
+            logger.log(Level.WARNING, LOG_CORRUPTED_ENTRY);
+            return;
+        }
+        if (dataEntry[0].equals(EXPENSE_TAG)) {
+            logger.log(Level.INFO, LOG_ADD_EXPENSE_ENTRY);
+            loadExpense(dataEntry[1]);
+        } else if (dataEntry[0].equals(MODULE_TAG)) {
+            logger.log(Level.INFO, LOG_ADD_MODULE_ENTRY);
+            loadModule(dataEntry[1]);
+        } else if (dataEntry[0].equals(CONTACT_TAG)) {
+            logger.log(Level.INFO, LOG_ADD_CONTACT_ENTRY);
+            loadContact(dataEntry[1]);
+        } else {
+            logger.log(Level.WARNING, LOG_CORRUPTED_ENTRY);
+        }
+    }
+
+    /**
+     * Applies the records read from the journal file when loading was started, in order, on top of the
+     * entries of the trackers/managers given by <code>tags</code> loaded from the data file. Since list
+     * indices in records are per tracker/manager, the records of each tracker/manager can be applied
+     * independently of the others.
+     *
+     * @param tags tags of the trackers/managers being loaded.
+     * @return number of records applied.
+     */
+    public int replayJournal(Collection<String> tags) {
+        logger.log(Level.INFO, LOG_REPLAYING_JOURNAL);
+        int replayedCount = 0;
+        for (String record : unreplayedRecords) {
+            String[] fields = record.split(StorageJournal.RECORD_DELIMITER, StorageJournal.RECORD_FIELDS);
+            if (fields.length == StorageJournal.RECORD_FIELDS && isSkipped(fields[StorageJournal.ENTRY_INDEX], tags)) {
                 continue;
             }
+            replayedCount++;
+            try {
+                replayRecord(record);
+            } catch (IndexOutOfBoundsException | NumberFormatException e) {
+                logger.log(Level.WARNING, LOG_CORRUPTED_JOURNAL_RECORD);
+            }
+        }
+        return replayedCount;
+    }
+
+    private void replayRecord(String record) throws IndexOutOfBoundsException, NumberFormatException {
+        String[] fields = record.split(StorageJournal.RECORD_DELIMITER, StorageJournal.RECORD_FIELDS);
+        String op = fields[StorageJournal.OP_INDEX];
+        int listIndex = Integer.parseInt(fields[StorageJournal.LIST_INDEX]);
+        String entry = fields[StorageJournal.ENTRY_INDEX];
+        String tag = entry.split(ENTRY_DELIMITER, 2)[0];
+        dirtyShards.add(tag);
+        switch (op) {
+        case StorageJournal.OP_ADD:
+            loadEntry(entry);
+            break;
+        case StorageJournal.OP_REMOVE:
+            removeEntry(tag, listIndex);
+            break;
+        case StorageJournal.OP_UPDATE:
+            replaceEntry(tag, listIndex, entry.split(ENTRY_DELIMITER, 2)[1]);
+            break;
+        default:
+            logger.log(Level.WARNING, LOG_CORRUPTED_JOURNAL_RECORD);
+        }
+    }
+
+    private void removeEntry(String tag, int listIndex) {
+        switch (tag) {
+        case EXPENSE_TAG:
+            expenseTracker.loadRemove(listIndex);
+            break;
+        case MODULE_TAG:
+            studyManager.loadRemove(listIndex);
+            break;
+        case CONTACT_TAG:
+            contactsManager.loadRemove(listIndex);
+            break;
+        default:
+            logger.log(Level.WARNING, LOG_CORRUPTED_JOURNAL_RECORD);
+        }
+    }
+
+    private void replaceEntry(String tag, int listIndex, String savedEntry) {
+        switch (tag) {
+        case EXPENSE_TAG:
+            expenseTracker.loadReplace(listIndex, savedEntry);
+            break;
+        case MODULE_TAG:
+            studyManager.loadReplace(listIndex, savedEntry);
+            break;
+        case CONTACT_TAG:
+            contactsManager.loadReplace(listIndex, savedEntry);
+            break;
+        default:
+            logger.log(Level.WARNING, LOG_CORRUPTED_JOURNAL_RECORD);
+        }
+    }
+
+    /**
+     * Returns string encoding of the entry at specified <code>listIndex</code> in the list of the
+     * tracker/manager identified by <code>tag</code>.
+     *
+     * @param tag one of <code>EXPENSE_TAG</code>, <code>MODULE_TAG</code> or <code>CONTACT_TAG</code>.
+     * @param listIndex Integer depicting index of interest in the list.
+     * @return string encoding of the entry.
+     */
+    public String getEntryInFileFormat(String tag, int listIndex) {
+        switch (tag) {
+        case EXPENSE_TAG:
+            return getExpenseInFileFormat(listIndex);
+        case MODULE_TAG:
+            return getModuleInFileFormat(listIndex);
+        case CONTACT_TAG:
+            return getContactInFileFormat(listIndex);
+        default:
+            throw new IllegalArgumentException(tag);
+        }
+    }
+
+    /**
+     * Records in the journal that an entry was appended at <code>listIndex</code> in the list of the
+     * tracker/manager identified by <code>tag</code>, and marks its data file as modified.
+     *
+     * @param tag one of <code>EXPENSE_TAG</code>, <code>MODULE_TAG</code> or <code>CONTACT_TAG</code>.
+     * @param listIndex index of the new entry.
+     */
+    public void recordAdd(String tag, int listIndex) {
+        dirtyShards.add(tag);
+        if (isJournalMode) {
+            journal.append(StorageJournal.OP_ADD, listIndex, getEntryInFileFormat(tag, listIndex));
+        }
+    }
+
+    /**
+     * Records in the journal that the entry at <code>listIndex</code> in the list of the
+     * tracker/manager identified by <code>tag</code> was removed, and marks its data file as modified.
+     *
+     * @param tag one of <code>EXPENSE_TAG</code>, <code>MODULE_TAG</code> or <code>CONTACT_TAG</code>.
+     * @param listIndex index of the removed entry.
+     */
+    public void recordRemove(String tag, int listIndex) {
+        dirtyShards.add(tag);
+        if (isJournalMode) {
+            journal.append(StorageJournal.OP_REMOVE, listIndex, tag);
+        }
+    }
+
+    /**
+     * Records in the journal that the entry at <code>listIndex</code> in the list of the
+     * tracker/manager identified by <code>tag</code> was edited, and marks its data file as modified.
+     *
+     * @param tag one of <code>EXPENSE_TAG</code>, <code>MODULE_TAG</code> or <code>CONTACT_TAG</code>.
+     * @param listIndex index of the edited entry.
+     */
+    public void recordEdit(String tag, int listIndex) {
+        dirtyShards.add(tag);
+        if (isJournalMode) {
+            journal.append(StorageJournal.OP_UPDATE, listIndex, getEntryInFileFormat(tag, listIndex));
         }
     }
 
@@ -195,8 +734,18 @@ public class StorageFile {
      */
     public String getExpenseInFileFormat(int listIndex) {
         logger.log(Level.INFO, LOG_CONVERT_EXPENSE_TO_FILE_FORMAT);
-        Expense expense = (expenseTracker.getExpenseList()).get(listIndex);
-        return "E,add d/" + expense.getDate() + " a/" + expense.getAmount() + " c/"
+        return formatExpense((expenseTracker.getExpenseList()).get(listIndex));
+    }
+
+    /**
+     * Returns string encoding of <code>expense</code> in file (save) format.
+     *
+     * @param expense the expense to be encoded.
+     * @return string encoding of <code>expense</code>.
+     */
+    public static String formatExpense(Expense expense) {
+        String currency = expense.getCurrency() == null ? "" : " x/" + expense.getCurrency();
+        return EXPENSE_TAG + ",add d/" + expense.getDate() + " a/" + expense.getAmount() + currency + " c/"
                 + expense.getCategory() + " r/" + expense.getRemark();
     }
 
@@ -227,7 +776,7 @@ public class StorageFile {
         default:
             assert false : ASSERT_CATEGORY_IS_ACCOUNTED_FOR;
         }
-        return "S,add m/" + module.getModuleCode() + " c/" + category + " d/"
+        return MODULE_TAG + ",add m/" + module.getModuleCode() + " c/" + category + " d/"
                 + module.getDay() + " t/" + module.getTimeSlot();
     }
 
@@ -241,60 +790,202 @@ public class StorageFile {
     public String getContactInFileFormat(int listIndex) {
         logger.log(Level.INFO, LOG_CONVERT_CONTACT_TO_FILE_FORMAT);
         Contact contact = (contactsManager.getContactsList()).get(listIndex);
-        return "C,add n/" + contact.getName() + " f/" + contact.getFaculty() + " e/"
+        return CONTACT_TAG + ",add n/" + contact.getName() + " f/" + contact.getFaculty() + " e/"
                 + contact.getEmail() + " d/" + contact.getDescription();
     }
 
     /**
-     * Writes the content of current <code>expenseList</code> to file with path specified
-     * by <code>DATAFILE_RELATIVE_PATH</code>.
+     * Writes the content of current <code>expenseList</code>, <code>moduleList</code> and
+     * <code>contactsList</code> to file with path specified by <code>DATAFILE_RELATIVE_PATH</code>.
+     * The entries are first written to a temporary file in the same directory and forced to disk,
+     * which then replaces the data file in a single move, so a crash never leaves a half-written data file.
+     * In binary mode, the binary data file is written instead. In sharded mode, only the per-manager
+     * data files of trackers/managers modified since the last write are rewritten. Trackers/managers
+     * that have not been loaded yet are loaded first.
      *
      * @throws IOException when there is some error writing to the file.
      * @see IOException
      */
     public void writeDataToFile() throws IOException {
-        FileWriter fileWrite = new FileWriter(datafileRelativePath);
-
-        logger.log(Level.INFO, LOG_SAVING_EXPENSE_ENTRIES);
-        if (expenseTracker.getExpenseCount() == 0) {
-            fileWrite.write("");
-            fileWrite.close();
+        ensureAllLoaded();
+        if (isBinaryMode) {
+            writeFileAtomically(binaryfileRelativePath, out -> BinarySnapshot.write(
+                    new BufferedOutputStream(out, BinarySnapshot.BUFFER_SIZE), expenseTracker.getExpenseList(),
+                    studyManager.getModulesList(), contactsManager.getContactsList()));
+        } else if (isShardedMode) {
+            for (String tag : ALL_TAGS) {
+                if (dirtyShards.contains(tag)) {
+                    writeFileAtomically(getShardRelativePath(tag), out -> writeEntries(out, Arrays.asList(tag)));
+                    dirtyShards.remove(tag);
+                }
+            }
         } else {
-            fileWrite.write(getExpenseInFileFormat(0) + "\n");
-            fileWrite.close();
+            writeFileAtomically(datafileRelativePath, out -> writeEntries(out, ALL_TAGS));
+            for (String tag : ALL_TAGS) {
+                Files.deleteIfExists(Paths.get(getShardRelativePath(tag)));
+            }
+        }
+        dirtyShards.clear();
+    }
+
+    /**
+     * Writes the content of a snapshot to an output stream.
+     */
+    private interface SnapshotWriter {
+        void write(FileOutputStream out) throws IOException;
+    }
+
+    private void writeFileAtomically(String relativePath, SnapshotWriter snapshotWriter) throws IOException {
+        Path dataPath = Paths.get(relativePath).toAbsolutePath();
+        Path tempPath = Files.createTempFile(dataPath.getParent(), fileName, TEMP_FILE_SUFFIX);
+        try {
+            try (FileOutputStream out = new FileOutputStream(tempPath.toFile())) {
+                snapshotWriter.write(out);
+                out.getChannel().force(true);
+            }
+            replaceFile(tempPath, dataPath);
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+    }
+
+    private void writeEntries(FileOutputStream out, List<String> tags) throws IOException {
+        BufferedWriter fileWrite = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (tags.contains(EXPENSE_TAG)) {
+            logger.log(Level.INFO, LOG_SAVING_EXPENSE_ENTRIES);
+            for (int i = 0; i < expenseTracker.getExpenseCount(); i++) {
+                writeEntry(fileWrite, getExpenseInFileFormat(i));
+            }
         }
-        fileWrite = new FileWriter(datafileRelativePath, true);
-        for (int i = 1; i < expenseTracker.getExpenseCount(); i++) {
-            fileWrite.write(getExpenseInFileFormat(i) + "\n");
+
+        if (tags.contains(MODULE_TAG)) {
+            logger.log(Level.INFO, LOG_SAVING_MODULE_ENTRIES);
+            for (int i = 0; i < studyManager.getModuleCount(); i++) {
+                writeEntry(fileWrite, getModuleInFileFormat(i));
+            }
         }
 
-        logger.log(Level.INFO, LOG_SAVING_MODULE_ENTRIES);
-        for (int i = 0; i < studyManager.getModuleCount(); i++) {
-            fileWrite.write(getModuleInFileFormat(i) + "\n");
+        if (tags.contains(CONTACT_TAG)) {
+            logger.log(Level.INFO, LOG_SAVING_CONTACT_ENTRIES);
+            for (int i = 0; i < contactsManager.getContactsCount(); i++) {
+                writeEntry(fileWrite, getContactInFileFormat(i));
+            }
         }
+        fileWrite.flush();
+    }
+
+    private void writeEntry(BufferedWriter fileWrite, String entry) throws IOException {
+        fileWrite.write(RecordChecksum.seal(entry) + "\n");
+    }
 
-        logger.log(Level.INFO, LOG_SAVING_CONTACT_ENTRIES);
-        for (int i = 0; i < contactsManager.getContactsCount(); i++) {
-            fileWrite.write(getContactInFileFormat(i) + "\n");
+    private void replaceFile(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            logger.log(Level.WARNING, LOG_ATOMIC_MOVE_NOT_SUPPORTED);
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
         }
-        fileWrite.close();
     }
 
     /**
      * Loads data into <code>taskList</code> if data file specified by <code>DATAFILE_RELATIVE_PATH</code>
-     * exists, else this file is created.
+     * exists, else this file is created. All trackers/managers are loaded before returning.
      *
      * @see FileNotFoundException
      */
     public void loadData() {
+        deferLoadData();
+        boolean hasJournalRecords = !unreplayedRecords.isEmpty();
+        ensureAllLoaded();
+        if (hasJournalRecords) {
+            compactJournal();
+        }
+    }
+
+    /**
+     * Prepares to load data without loading any entries yet. The entries of each tracker/manager are
+     * loaded by <code>ensureLoaded</code> when the tracker/manager is first used, so that the time taken
+     * to start up does not depend on the amount of data saved.
+     */
+    public void deferLoadData() {
         logger.setLevel(Level.WARNING);
         expenseTracker.getLogger().setLevel(Level.SEVERE);
         studyManager.getLogger().setLevel(Level.WARNING);
         contactsManager.getLogger().setLevel(Level.SEVERE);
 
-        File f = new File(datafileRelativePath);
+        logger.log(Level.INFO, LOG_DEFERRING_LOAD);
+        synchronized (StorageFile.class) {
+            try {
+                journal.discardCorruptedRecords();
+                unreplayedRecords = journal.readRecords();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, LOG_UNABLE_TO_READ_JOURNAL);
+                unreplayedRecords = new ArrayList<>();
+            }
+            unloadedTags.addAll(ALL_TAGS);
+            unloadedEntries = null;
+            isLoadPending = true;
+        }
+    }
+
+    /**
+     * Starts a background thread that loads all trackers/managers not loaded yet, so that they are
+     * usually ready by the time the user first enters them.
+     */
+    public static void startPrefetch() {
+        Thread prefetcher = new Thread(new StorageFile()::ensureAllLoaded, PREFETCH_THREAD_NAME);
+        prefetcher.setDaemon(true);
+        prefetcher.start();
+    }
+
+    /**
+     * Loads the entries of all trackers/managers not loaded yet.
+     */
+    public void ensureAllLoaded() {
+        for (String tag : ALL_TAGS) {
+            ensureLoaded(tag);
+        }
+    }
+
+    /**
+     * Loads the entries of the tracker/manager identified by <code>tag</code> from the most recently
+     * saved data file and applies its journal records, unless this was already done. Does nothing if
+     * loading was not started with <code>deferLoadData</code>. Callers on other threads wait until the
+     * tracker/manager has been loaded.
+     *
+     * @param tag one of <code>EXPENSE_TAG</code>, <code>MODULE_TAG</code> or <code>CONTACT_TAG</code>.
+     */
+    public void ensureLoaded(String tag) {
+        if (!isLoadPending) {
+            return;
+        }
+        synchronized (StorageFile.class) {
+            if (!unloadedTags.contains(tag)) {
+                return;
+            }
+            boolean isBinaryCurrent = isBinarySnapshotCurrent();
+            Collection<String> tags = isBinaryCurrent ? new ArrayList<>(unloadedTags) : Collections.singleton(tag);
+            unloadedTags.removeAll(tags);
+            transferData(tags, isBinaryCurrent);
+            replayJournal(tags);
+            if (unloadedTags.isEmpty()) {
+                unreplayedRecords = new ArrayList<>();
+                unloadedEntries = null;
+                isLoadPending = false;
+            }
+        }
+    }
+
+    private void transferData(Collection<String> tags, boolean isBinaryCurrent) {
+        File f = new File(getSnapshotRelativePath());
         try {
-            transferDataFromFileToList();
+            if (isBinaryCurrent && transferDataFromBinaryFileToList()) {
+                logger.log(Level.INFO, LOG_LOADING_BINARY_SNAPSHOT);
+            } else if (isShardedSnapshotCurrent()) {
+                transferDataFromShardsToList(tags);
+            } else {
+                transferDataFromCombinedFile(tags);
+            }
         } catch (FileNotFoundException e) {
             while (!f.exists()) {
                 logger.log(Level.INFO, LOG_FILE_NOT_FOUND);
@@ -303,21 +994,384 @@ public class StorageFile {
         }
     }
 
+    /**
+     * Loads the trackers/managers given by <code>tags</code> from the combined text data file. The file is
+     * only read for the first of them: the entries of the trackers/managers not loaded yet are kept, unparsed,
+     * until they are loaded. In sharded mode, the trackers/managers loaded are marked as modified, so that
+     * they are moved to their own data files on the next save.
+     */
+    private void transferDataFromCombinedFile(Collection<String> tags) throws FileNotFoundException {
+        if (isShardedMode) {
+            dirtyShards.addAll(tags);
+        }
+        if (unloadedEntries == null) {
+            unloadedEntries = new HashMap<>();
+            transferDataFromFileToList(datafileRelativePath, tags, unloadedEntries);
+            return;
+        }
+        for (String tag : tags) {
+            for (String fileRow : unloadedEntries.getOrDefault(tag, new ArrayList<>())) {
+                loadEntry(fileRow);
+            }
+            unloadedEntries.remove(tag);
+        }
+    }
+
+    /**
+     * Moves expenses older than the configured archive age from the expense tracker into the
+     * <code>ExpenseArchive</code>, then rewrites the data file without them. This is only done once per
+     * run, before the user first sees the expense list, so that list indices do not shift mid-session.
+     * The expenses stay in the expense tracker if they cannot be archived, and a move interrupted on an
+     * earlier run is completed or undone first, so that no expense is archived twice.
+     *
+     * @return number of expenses archived.
+     */
+    public int archiveOldExpenses() {
+        if (isArchiveChecked) {
+            return 0;
+        }
+        isArchiveChecked = true;
+        int recoveredCount = recoverInterruptedArchive();
+        if (archiveAfterDays <= 0 || recoveredCount < 0) {
+            return Math.max(recoveredCount, 0);
+        }
+        long cutoffEpochDay = LocalDate.now().minusDays(archiveAfterDays).toEpochDay();
+        List<Expense> oldExpenses = expenseTracker.getExpenseList().stream()
+                .filter(expense -> expense.getEpochDay() < cutoffEpochDay)
+                .collect(Collectors.toList());
+        if (oldExpenses.isEmpty()) {
+            return recoveredCount;
+        }
+        logger.log(Level.INFO, LOG_ARCHIVING_EXPENSES);
+        try {
+            expenseArchive.append(oldExpenses);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, LOG_UNABLE_TO_ARCHIVE);
+            return recoveredCount + Math.max(recoverInterruptedArchive(), 0);
+        }
+        return recoveredCount + removeArchivedExpenses(expense -> expense.getEpochDay() < cutoffEpochDay);
+    }
+
+    /**
+     * Completes or undoes a move into the archive that was interrupted after the expenses had been appended
+     * to the archive but before the data file was rewritten without them.
+     *
+     * @return number of expenses whose move was completed, or -1 if the archive could not be recovered.
+     */
+    private int recoverInterruptedArchive() {
+        List<String> archivedEntries;
+        try {
+            archivedEntries = expenseArchive.recoverPendingAppend();
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.SEVERE, LOG_UNABLE_TO_RECOVER_ARCHIVE);
+            return -1;
+        }
+        return archivedEntries == null ? 0 : removeArchivedExpenses(newArchivedEntryCheck(archivedEntries));
+    }
+
+    /**
+     * Returns a check that matches one expense for each of the archived <code>entries</code>, so that the
+     * expenses added since the append, even if dated before those archived, are kept.
+     */
+    private static Predicate<Expense> newArchivedEntryCheck(List<String> entries) {
+        HashMap<String, Integer> counts = new HashMap<>();
+        for (String entry : entries) {
+            counts.merge(entry, 1, Integer::sum);
+        }
+        return expense -> {
+            String entry = formatExpense(expense);
+            Integer count = counts.get(entry);
+            if (count == null) {
+                return false;
+            }
+            if (count == 1) {
+                counts.remove(entry);
+            } else {
+                counts.put(entry, count - 1);
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Removes the expenses just appended to the archive from the expense tracker and the data file, and
+     * then marks the append as done.
+     */
+    private int removeArchivedExpenses(Predicate<Expense> isArchived) {
+        int count = expenseTracker.getExpenseCount();
+        ExpenseTracker.removeArchivedExpenses(isArchived);
+        count -= expenseTracker.getExpenseCount();
+        dirtyShards.add(EXPENSE_TAG);
+        if (compactJournal()) {
+            try {
+                expenseArchive.commitAppend();
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, LOG_UNABLE_TO_COMMIT_ARCHIVE);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Streams the archived expenses dated from <code>fromDate</code> to <code>toDate</code> inclusive to
+     * <code>action</code>. Does nothing if the data file has not been set up.
+     *
+     * @param fromDate earliest date in YYYY-MM-DD format, or <code>null</code> for no lower bound.
+     * @param toDate latest date in YYYY-MM-DD format, or <code>null</code> for no upper bound.
+     * @param action action to be performed on each archived expense in the range.
+     */
+    public void forEachArchivedExpense(String fromDate, String toDate, Consumer<Expense> action) {
+        if (expenseArchive != null) {
+            expenseArchive.forEach(fromDate, toDate, action);
+        }
+    }
+
+    /**
+     * Checks whether any expenses have been moved into the archive.
+     *
+     * @return <code>true</code> if the archive has at least one segment.
+     */
+    public boolean hasArchivedExpenses() {
+        return expenseArchive != null && !expenseArchive.getSegments().isEmpty();
+    }
+
+    /**
+     * Returns the monthly budgets of Expense Tracker saved in the budget file next to the data file, in
+     * cents by category, with an empty category for the overall budget.
+     *
+     * @return saved budgets, or no budgets if the budget file does not exist.
+     */
+    public Map<String, Long> loadBudgets() {
+        Map<String, Long> budgets = new LinkedHashMap<>();
+        for (String fileRow : readSideFile(BUDGET_FILE_SUFFIX)) {
+            try {
+                String[] fields = fileRow.split(ENTRY_DELIMITER, 2);
+                budgets.put(fields[1], Long.parseLong(fields[0]));
+            } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                logger.log(Level.WARNING, LOG_CORRUPTED_ENTRY);
+            }
+        }
+        return budgets;
+    }
+
+    /**
+     * Replaces the budget file next to the data file with <code>budgets</code>.
+     *
+     * @param budgets monthly budgets in cents by category, with an empty category for the overall budget.
+     */
+    public void saveBudgets(Map<String, Long> budgets) {
+        List<String> fileRows = new ArrayList<>();
+        for (Map.Entry<String, Long> budget : budgets.entrySet()) {
+            fileRows.add(budget.getValue() + ENTRY_DELIMITER + budget.getKey());
+        }
+        writeSideFile(BUDGET_FILE_SUFFIX, fileRows);
+    }
+
+    /**
+     * Returns the recurring expense rules of Expense Tracker saved in the rule file next to the data file.
+     *
+     * @return saved rules, or no rules if the rule file does not exist.
+     */
+    public List<RecurringRule> loadRecurringRules() {
+        List<RecurringRule> rules = new ArrayList<>();
+        for (String fileRow : readSideFile(RECURRING_FILE_SUFFIX)) {
+            try {
+                String[] fields = fileRow.split(ENTRY_DELIMITER, 4);
+                Expense template = ExpenseTracker.parseSavedExpense(fields[3]);
+                if (template == null) {
+                    logger.log(Level.WARNING, LOG_CORRUPTED_ENTRY);
+                    continue;
+                }
+                LocalDate endDate = fields[2].equals(NO_END_DATE) ? null : LocalDate.parse(fields[2]);
+                rules.add(new RecurringRule(template, fields[0], endDate, Integer.parseInt(fields[1])));
+            } catch (ArrayIndexOutOfBoundsException | DateTimeParseException | IllegalArgumentException e) {
+                logger.log(Level.WARNING, LOG_CORRUPTED_ENTRY);
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * Replaces the rule file next to the data file with <code>rules</code>.
+     *
+     * @param rules recurring expense rules of Expense Tracker.
+     */
+    public void saveRecurringRules(List<RecurringRule> rules) {
+        List<String> fileRows = new ArrayList<>();
+        for (RecurringRule rule : rules) {
+            String endDate = rule.getEndDate() == null ? NO_END_DATE : rule.getEndDate().toString();
+            fileRows.add(rule.getFrequency() + ENTRY_DELIMITER + rule.getMaterializedCount() + ENTRY_DELIMITER
+                    + endDate + ENTRY_DELIMITER + formatExpense(rule.getTemplate()).split(ENTRY_DELIMITER, 2)[1]);
+        }
+        writeSideFile(RECURRING_FILE_SUFFIX, fileRows);
+    }
+
+    /**
+     * Adds the exchange rates saved in the rate file next to the data file to <code>exchangeRates</code>. Each
+     * line of the file is a date, a currency code and the amount in the base currency of one unit of the
+     * currency, separated by commas.
+     *
+     * @param exchangeRates the exchange rate table to be filled.
+     */
+    public void loadExchangeRates(ExchangeRates exchangeRates) {
+        for (String fileRow : readSideFile(RATE_FILE_SUFFIX)) {
+            try {
+                String[] fields = fileRow.split(ENTRY_DELIMITER, 3);
+                exchangeRates.setRate(fields[1], (int) LocalDate.parse(fields[0]).toEpochDay(),
+                        new BigDecimal(fields[2]));
+            } catch (ArrayIndexOutOfBoundsException | DateTimeParseException | NumberFormatException e) {
+                logger.log(Level.WARNING, LOG_CORRUPTED_ENTRY);
+            }
+        }
+    }
+
+    /**
+     * Replaces the rate file next to the data file with <code>rateLines</code>.
+     *
+     * @param rateLines exchange rates in file format, as returned by <code>ExchangeRates.getRateLines</code>.
+     */
+    public void saveExchangeRates(List<String> rateLines) {
+        writeSideFile(RATE_FILE_SUFFIX, rateLines);
+    }
+
+    /**
+     * Returns the entries of a small file kept next to the data file, such as the budget file. Entries whose
+     * checksum does not match are skipped.
+     */
+    private List<String> readSideFile(String suffix) {
+        List<String> fileRows = new ArrayList<>();
+        File f = new File(datafileRelativePath + suffix);
+        if (!f.exists()) {
+            return fileRows;
+        }
+        try (Scanner fileReader = new Scanner(f, StandardCharsets.UTF_8.name())) {
+            while (fileReader.hasNext()) {
+                String fileRow = RecordChecksum.unseal(fileReader.nextLine());
+                if (fileRow == null) {
+                    logger.log(Level.WARNING, LOG_TORN_ENTRY);
+                    continue;
+                }
+                fileRows.add(fileRow);
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, LOG_UNABLE_TO_READ_SIDE_FILE);
+        }
+        return fileRows;
+    }
+
+    /**
+     * Replaces a small file kept next to the data file with <code>fileRows</code>. Like the data file, it is
+     * written to a temporary file first, which is then moved over it.
+     */
+    private void writeSideFile(String suffix, List<String> fileRows) {
+        File dir = new File(DIRECTORY_NAME);
+        if (!dir.exists()) {
+            createDirectory();
+        }
+        try {
+            writeFileAtomically(datafileRelativePath + suffix, out -> {
+                BufferedWriter fileWrite = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                for (String fileRow : fileRows) {
+                    writeEntry(fileWrite, fileRow);
+                }
+                fileWrite.flush();
+            });
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, LOG_UNABLE_TO_WRITE_SIDE_FILE);
+        }
+    }
+
+    /**
+     * Rewrites the data file with the current content of all trackers/managers and discards the
+     * journal, whose records are now reflected in the data file.
+     *
+     * @return <code>true</code> if the data file was rewritten.
+     */
+    public boolean compactJournal() {
+        logger.log(Level.INFO, LOG_COMPACTING_JOURNAL);
+        try {
+            synchronized (journal) {
+                writeDataToFile();
+                journal.clear();
+            }
+            return true;
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, LOG_UNABLE_TO_WRITE_TO_FILE);
+            System.out.println(e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Saves app data into file specified by <code>DATAFILE_RELATIVE_PATH</code>
      * if it exists. If the file does not exist, it attempts to create it first before saving data on it.
+     * In journal mode, only the changes recorded since the last save are appended to the journal file,
+     * and the journal is folded into the data file once it holds <code>JOURNAL_COMPACTION_THRESHOLD</code>
+     * records.
      *
      * @see IOException
      */
     public void saveData() {
-        File f = new File(datafileRelativePath);
+        File f = new File(getSnapshotRelativePath());
         while (!f.exists()) {
             logger.log(Level.INFO, LOG_FILE_NOT_FOUND);
             createFile();
         }
         try {
             assert f.exists() : ASSERT_FILE_EXISTS;
-            writeDataToFile();
+            if (!isJournalMode) {
+                writeDataToFile();
+                return;
+            }
+            journal.flush();
+            if (journal.getRecordCount() >= JOURNAL_COMPACTION_THRESHOLD) {
+                compactJournal();
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, LOG_UNABLE_TO_WRITE_TO_FILE);
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Saves app data once the current command has finished modifying it. With a background
+     * <code>StorageWriter</code> running, the journal is flushed asynchronously so that bursts of
+     * commands result in a single write; otherwise this is the same as <code>saveData</code>.
+     */
+    public void requestSave() {
+        if (storageWriter == null || !isJournalMode) {
+            saveData();
+            return;
+        }
+        if (journal.getRecordCount() >= JOURNAL_COMPACTION_THRESHOLD) {
+            compactJournal();
+            return;
+        }
+        storageWriter.markDirty();
+    }
+
+    /**
+     * Saves app data after many entries of the tracker/manager identified by <code>tag</code> were changed at
+     * once, e.g. by an import, without a journal record for each of them. The data file is rewritten once, and
+     * in journal mode the journal is folded into it.
+     *
+     * @param tag one of <code>EXPENSE_TAG</code>, <code>MODULE_TAG</code> or <code>CONTACT_TAG</code>.
+     */
+    public void saveAfterBulkChange(String tag) {
+        dirtyShards.add(tag);
+        if (isJournalMode) {
+            compactJournal();
+        } else {
+            saveData();
+        }
+    }
+
+    /**
+     * Appends all pending records to the journal file.
+     */
+    public void flushJournal() {
+        try {
+            journal.flush();
         } catch (IOException e) {
             logger.log(Level.SEVERE, LOG_UNABLE_TO_WRITE_TO_FILE);
             System.out.println(e.getMessage());
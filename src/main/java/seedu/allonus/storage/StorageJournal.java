@@ -0,0 +1,151 @@
+package seedu.allonus.storage;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * An append-only log of the changes made to the lists of the respective managers/trackers since
+ * the data file was last rewritten. Each record is a single line of the form
+ * <code>OP,INDEX,ENTRY</code>, where <code>ENTRY</code> is the entry in file (save) format,
+ * followed by a checksum. Records may be queued and flushed from different threads.
+ */
+public class StorageJournal {
+    public static final String OP_ADD = "A";
+    public static final String OP_REMOVE = "D";
+    public static final String OP_UPDATE = "U";
+    public static final String RECORD_DELIMITER = ",";
+    public static final int RECORD_FIELDS = 3;
+    public static final int OP_INDEX = 0;
+    public static final int LIST_INDEX = 1;
+    public static final int ENTRY_INDEX = 2;
+
+    private final String journalRelativePath;
+    private final ArrayList<String> pendingRecords = new ArrayList<>();
+    private int recordCount = 0;
+    private boolean hasCorruptedRecord = false;
+
+    /**
+     * Creates a journal backed by the file at <code>journalRelativePath</code>.
+     *
+     * @param journalRelativePath relative path of the journal file.
+     */
+    public StorageJournal(String journalRelativePath) {
+        this.journalRelativePath = journalRelativePath;
+    }
+
+    /**
+     * Queues a record describing a change to the list of a manager/tracker.
+     *
+     * @param op one of <code>OP_ADD</code>, <code>OP_REMOVE</code> or <code>OP_UPDATE</code>.
+     * @param listIndex index in the list of the manager/tracker that was changed.
+     * @param entry the entry in file (save) format, or only its tag for a removal.
+     */
+    public synchronized void append(String op, int listIndex, String entry) {
+        pendingRecords.add(op + RECORD_DELIMITER + listIndex + RECORD_DELIMITER + entry);
+        recordCount++;
+    }
+
+    /**
+     * Appends all queued records to the journal file and forces them to disk.
+     *
+     * @throws IOException when there is some error writing to the file.
+     */
+    public synchronized void flush() throws IOException {
+        if (pendingRecords.isEmpty()) {
+            return;
+        }
+        writeRecords(pendingRecords, true);
+        pendingRecords.clear();
+    }
+
+    private void writeRecords(List<String> records, boolean isAppend) throws IOException {
+        FileOutputStream out = new FileOutputStream(journalRelativePath, isAppend);
+        BufferedWriter fileWrite = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        for (String record : records) {
+            fileWrite.write(RecordChecksum.seal(record) + "\n");
+        }
+        fileWrite.flush();
+        out.getChannel().force(false);
+        fileWrite.close();
+    }
+
+    /**
+     * Returns the records in the journal file, oldest first. Reading stops at the first record whose
+     * checksum does not match, since it and any record after it may have been only partially written.
+     *
+     * @return list of records, empty if the journal file does not exist.
+     * @throws FileNotFoundException when the journal file cannot be opened.
+     */
+    public synchronized ArrayList<String> readRecords() throws FileNotFoundException {
+        ArrayList<String> records = new ArrayList<>();
+        hasCorruptedRecord = false;
+        File f = new File(journalRelativePath);
+        if (!f.exists()) {
+            return records;
+        }
+        Scanner fileReader = new Scanner(f, StandardCharsets.UTF_8.name());
+        while (fileReader.hasNext()) {
+            String record = RecordChecksum.unseal(fileReader.nextLine());
+            if (record == null) {
+                hasCorruptedRecord = true;
+                break;
+            }
+            records.add(record);
+        }
+        fileReader.close();
+        recordCount = records.size() + pendingRecords.size();
+        return records;
+    }
+
+    /**
+     * Rewrites the journal file with only the records before its first corrupted record, if any, so that
+     * records appended afterwards are not hidden behind the corrupted one when the journal is read again.
+     *
+     * @throws IOException when there is some error reading or rewriting the file.
+     */
+    public synchronized void discardCorruptedRecords() throws IOException {
+        ArrayList<String> records = readRecords();
+        if (!hasCorruptedRecord) {
+            return;
+        }
+        writeRecords(records, false);
+        hasCorruptedRecord = false;
+    }
+
+    /**
+     * Discards the journal file and all queued records, typically after the data file has been
+     * rewritten to include every change in the journal.
+     *
+     * @throws IOException when there is some error truncating the file.
+     */
+    public synchronized void clear() throws IOException {
+        pendingRecords.clear();
+        recordCount = 0;
+        File f = new File(journalRelativePath);
+        if (f.exists()) {
+            new FileWriter(journalRelativePath).close();
+        }
+    }
+
+    /**
+     * Returns the number of records written or queued since the journal was last cleared.
+     *
+     * @return number of records.
+     */
+    public synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    public String getJournalRelativePath() {
+        return journalRelativePath;
+    }
+}
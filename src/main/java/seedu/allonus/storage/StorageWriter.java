@@ -0,0 +1,98 @@
+package seedu.allonus.storage;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A background thread that writes pending journal records to disk on behalf of the
+ * respective managers/trackers. Save requests arriving within the coalescing window of each
+ * other are written out together in a single flush.
+ */
+public class StorageWriter implements Runnable {
+    public static final long DEFAULT_COALESCING_WINDOW_MILLIS = 200;
+    public static final String THREAD_NAME = "allonus-storage-writer";
+    public static final String LOG_WRITER_INTERRUPTED = "Storage writer was interrupted. Flushing now.";
+
+    private static Logger logger = Logger.getLogger("StorageFileLog");
+
+    private final StorageFile storageFile;
+    private final long coalescingWindowMillis;
+    private final Thread thread;
+    private boolean isDirty = false;
+    private boolean isRunning = true;
+
+    /**
+     * Creates a writer that flushes the journal of <code>storageFile</code> at most once every
+     * <code>coalescingWindowMillis</code> milliseconds.
+     *
+     * @param storageFile the storage whose journal is flushed.
+     * @param coalescingWindowMillis time to wait after a save request for further requests.
+     */
+    public StorageWriter(StorageFile storageFile, long coalescingWindowMillis) {
+        this.storageFile = storageFile;
+        this.coalescingWindowMillis = coalescingWindowMillis;
+        this.thread = new Thread(this, THREAD_NAME);
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Starts the writer thread.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Marks the journal as having records that should be written to disk.
+     */
+    public synchronized void markDirty() {
+        isDirty = true;
+        notifyAll();
+    }
+
+    @Override
+    public void run() {
+        while (awaitDirty()) {
+            try {
+                Thread.sleep(coalescingWindowMillis);
+            } catch (InterruptedException e) {
+                logger.log(Level.INFO, LOG_WRITER_INTERRUPTED);
+            }
+            synchronized (this) {
+                isDirty = false;
+            }
+            storageFile.flushJournal();
+        }
+    }
+
+    private synchronized boolean awaitDirty() {
+        while (!isDirty && isRunning) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }
+        return isRunning;
+    }
+
+    /**
+     * Stops the writer thread and writes any records still pending. Safe to call more than once,
+     * e.g. both on <code>exit</code> and from a JVM shutdown hook.
+     */
+    public void close() {
+        synchronized (this) {
+            isRunning = false;
+            notifyAll();
+        }
+        if (Thread.currentThread() != thread) {
+            thread.interrupt();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                logger.log(Level.INFO, LOG_WRITER_INTERRUPTED);
+            }
+        }
+        storageFile.flushJournal();
+    }
+}
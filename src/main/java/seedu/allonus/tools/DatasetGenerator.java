@@ -0,0 +1,263 @@
+package seedu.allonus.tools;
+
+import seedu.allonus.storage.RecordChecksum;
+import seedu.allonus.storage.StorageFile;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * Generates synthetic AllOnUs data for load and soak testing: text data files with expense, module and
+ * contact entries, and NUSMods style .ics calendars. The output depends only on the seed and the other
+ * settings, so the same dataset can be generated again on any machine.
+ *
+ * <p>Expense categories, module categories and faculties are drawn from a Zipf distribution, so that a
+ * few values are much more common than the rest, as in real data. A skew of 0 draws them uniformly.
+ */
+public class DatasetGenerator {
+    public static final String[] EXPENSE_CATEGORIES = {"Food", "Transport", "Groceries", "Movie", "Books",
+        "Utilities", "Clothes", "Gifts", "Travel", "Medical"};
+    public static final String[] MODULE_CATEGORIES = {"lec", "tut", "lab", "exam"};
+    public static final String[] MODULE_PREFIXES = {"CS", "MA", "ST", "EE", "GEA", "IS", "CG", "LAJ"};
+    public static final String[] DAYS = {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday"};
+    public static final String[] FACULTIES = {"SoC", "FoE", "FoS", "FASS", "BIZ", "SDE", "Law", "Medicine",
+        "YNC", "Music"};
+    public static final String[] ICS_CATEGORIES = {"Lecture", "Tutorial", "Laboratory"};
+    public static final String[] REMARKS = {"lunch", "dinner", "bus to school", "MRT top up", "textbook",
+        "movie night", "birthday present", "weekly groceries", "phone bill", "clinic visit"};
+    public static final int MAX_AMOUNT_CENTS = 20000;
+    public static final int CENTS_PER_DOLLAR = 100;
+    public static final int FIRST_LESSON_HOUR = 8;
+    public static final int LAST_LESSON_HOUR = 18;
+    public static final int SINGAPORE_UTC_OFFSET_HOURS = 8;
+    public static final String LINE_SEPARATOR = "\n";
+    public static final String ICS_LINE_SEPARATOR = "\r\n";
+
+    public static final long DEFAULT_SEED = 2113;
+    public static final double DEFAULT_SKEW = 1.0;
+    public static final String DEFAULT_FROM_DATE = "2021-01-01";
+    public static final String DEFAULT_TO_DATE = "2022-12-31";
+    public static final String DEFAULT_DATA_FILE = "build/dataset/allonusData.txt";
+    public static final String DEFAULT_ICS_FILE = "build/dataset/nusmods_calendar.ics";
+    public static final String OPTION_PREFIX = "--";
+    public static final String MSG_USAGE = "Usage: DatasetGenerator [--expenses N] [--modules N] [--contacts N] "
+            + "[--events N] [--seed N] [--skew X] [--from YYYY-MM-DD] [--to YYYY-MM-DD] [--out FILE] [--ics FILE]";
+    public static final String MSG_INVALID_OPTION = "Invalid option or value: %s";
+    public static final String MSG_DATA_FILE_WRITTEN = "Wrote %d expenses, %d modules and %d contacts to %s";
+    public static final String MSG_ICS_FILE_WRITTEN = "Wrote %d events to %s";
+
+    private final Random random;
+    private final long fromEpochDay;
+    private final int dayCount;
+    private final double[] categoryWeights;
+    private final double[] moduleCategoryWeights;
+    private final double[] facultyWeights;
+
+    /**
+     * Creates a generator whose output is determined by <code>seed</code>.
+     *
+     * @param seed seed of the random number generator.
+     * @param skew Zipf exponent used to pick categories and faculties, <code>0</code> for uniform.
+     * @param fromDate earliest expense date.
+     * @param toDate latest expense date.
+     */
+    public DatasetGenerator(long seed, double skew, LocalDate fromDate, LocalDate toDate) {
+        if (skew < 0 || toDate.isBefore(fromDate)) {
+            throw new IllegalArgumentException();
+        }
+        this.random = new Random(seed);
+        this.fromEpochDay = fromDate.toEpochDay();
+        this.dayCount = (int) (toDate.toEpochDay() - fromEpochDay + 1);
+        this.categoryWeights = getCumulativeZipfWeights(EXPENSE_CATEGORIES.length, skew);
+        this.moduleCategoryWeights = getCumulativeZipfWeights(MODULE_CATEGORIES.length, skew);
+        this.facultyWeights = getCumulativeZipfWeights(FACULTIES.length, skew);
+    }
+
+    private static double[] getCumulativeZipfWeights(int count, double skew) {
+        double[] weights = new double[count];
+        double total = 0;
+        for (int rank = 0; rank < count; rank++) {
+            total += 1 / Math.pow(rank + 1, skew);
+            weights[rank] = total;
+        }
+        for (int rank = 0; rank < count; rank++) {
+            weights[rank] /= total;
+        }
+        return weights;
+    }
+
+    private <T> T pick(T[] values, double[] cumulativeWeights) {
+        int index = Arrays.binarySearch(cumulativeWeights, random.nextDouble());
+        index = index >= 0 ? index : -index - 1;
+        return values[Math.min(index, values.length - 1)];
+    }
+
+    private <T> T pick(T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Returns the next expense entry, in the format of the add command of the expense tracker.
+     *
+     * @param index index of the expense, used to make remarks unique.
+     * @return expense entry.
+     */
+    public String nextExpenseEntry(int index) {
+        LocalDate date = LocalDate.ofEpochDay(fromEpochDay + random.nextInt(dayCount));
+        int cents = random.nextInt(MAX_AMOUNT_CENTS) + 1;
+        return String.format("add d/%s a/%d.%02d c/%s r/%s #%d", date, cents / CENTS_PER_DOLLAR,
+                cents % CENTS_PER_DOLLAR, pick(EXPENSE_CATEGORIES, categoryWeights), pick(REMARKS), index);
+    }
+
+    /**
+     * Returns the next module entry, in the format of the add command of the study manager.
+     *
+     * @param index index of the module, used to make module codes unique.
+     * @return module entry.
+     */
+    public String nextModuleEntry(int index) {
+        int startHour = FIRST_LESSON_HOUR + random.nextInt(LAST_LESSON_HOUR - FIRST_LESSON_HOUR);
+        return String.format("add m/%s%04d c/%s d/%s t/%s-%s", pick(MODULE_PREFIXES), index,
+                pick(MODULE_CATEGORIES, moduleCategoryWeights), pick(DAYS), formatHour(startHour),
+                formatHour(startHour + 1 + random.nextInt(2)));
+    }
+
+    private static String formatHour(int hour) {
+        int hourOfHalfDay = hour % 12 == 0 ? 12 : hour % 12;
+        return hourOfHalfDay + (hour < 12 ? "am" : "pm");
+    }
+
+    /**
+     * Returns the next contact entry, in the format of the add command of the contacts manager.
+     *
+     * @param index index of the contact, used to make names and emails unique.
+     * @return contact entry.
+     */
+    public String nextContactEntry(int index) {
+        return String.format("add n/Contact %d f/%s e/e%07d@u.nus.edu d/met at %s", index,
+                pick(FACULTIES, facultyWeights), index, pick(REMARKS));
+    }
+
+    /**
+     * Writes a text data file with the given number of entries of each kind, each followed by a checksum
+     * like the entries saved by the application. Entries are written as they are generated, so files
+     * larger than the heap can be generated.
+     *
+     * @param path path of the data file.
+     * @param expenseCount number of expense entries.
+     * @param moduleCount number of module entries.
+     * @param contactCount number of contact entries.
+     * @throws IOException when there is some error writing to the file.
+     */
+    public void writeDataFile(String path, int expenseCount, int moduleCount, int contactCount) throws IOException {
+        createParentDirectory(path);
+        try (BufferedWriter fileWrite = Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8)) {
+            for (int i = 0; i < expenseCount; i++) {
+                writeEntry(fileWrite, StorageFile.EXPENSE_TAG, nextExpenseEntry(i));
+            }
+            for (int i = 0; i < moduleCount; i++) {
+                writeEntry(fileWrite, StorageFile.MODULE_TAG, nextModuleEntry(i));
+            }
+            for (int i = 0; i < contactCount; i++) {
+                writeEntry(fileWrite, StorageFile.CONTACT_TAG, nextContactEntry(i));
+            }
+        }
+    }
+
+    private static void writeEntry(BufferedWriter fileWrite, String tag, String entry) throws IOException {
+        fileWrite.write(RecordChecksum.seal(tag + StorageFile.ENTRY_DELIMITER + entry) + LINE_SEPARATOR);
+    }
+
+    /**
+     * Writes an NUSMods style .ics calendar with <code>eventCount</code> weekly lessons.
+     *
+     * @param path path of the calendar file.
+     * @param eventCount number of events.
+     * @throws IOException when there is some error writing to the file.
+     */
+    public void writeIcsFile(String path, int eventCount) throws IOException {
+        createParentDirectory(path);
+        try (BufferedWriter fileWrite = Files.newBufferedWriter(Paths.get(path), StandardCharsets.UTF_8)) {
+            writeIcsLines(fileWrite, "BEGIN:VCALENDAR", "VERSION:2.0", "PRODID:-//NUSMods//NUSMods//EN");
+            for (int i = 0; i < eventCount; i++) {
+                LocalDate date = LocalDate.ofEpochDay(fromEpochDay + random.nextInt(dayCount));
+                int startHour = FIRST_LESSON_HOUR + random.nextInt(LAST_LESSON_HOUR - FIRST_LESSON_HOUR);
+                String day = date.toString().replace("-", "");
+                writeIcsLines(fileWrite, "BEGIN:VEVENT", "UID:event" + i + "@nusmods.com",
+                        "DTSTAMP:" + day + "T000000Z",
+                        String.format("DTSTART:%sT%02d0000Z", day, startHour - SINGAPORE_UTC_OFFSET_HOURS),
+                        String.format("DTEND:%sT%02d0000Z", day, startHour + 2 - SINGAPORE_UTC_OFFSET_HOURS),
+                        String.format("SUMMARY:%s%04d %s", pick(MODULE_PREFIXES), i, pick(ICS_CATEGORIES)),
+                        "END:VEVENT");
+            }
+            writeIcsLines(fileWrite, "END:VCALENDAR");
+        }
+    }
+
+    private static void writeIcsLines(BufferedWriter fileWrite, String... lines) throws IOException {
+        for (String line : lines) {
+            fileWrite.write(line + ICS_LINE_SEPARATOR);
+        }
+    }
+
+    private static void createParentDirectory(String path) throws IOException {
+        File parent = new File(path).getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+    }
+
+    /**
+     * Generates a data file, and an .ics calendar if <code>--events</code> is given, as specified by
+     * <code>args</code>. See <code>MSG_USAGE</code> for the options.
+     *
+     * @param args options, each followed by its value.
+     */
+    public static void main(String[] args) throws IOException {
+        HashMap<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].startsWith(OPTION_PREFIX) || i + 1 == args.length) {
+                System.out.println(String.format(MSG_INVALID_OPTION, args[i]));
+                System.out.println(MSG_USAGE);
+                return;
+            }
+            options.put(args[i].substring(OPTION_PREFIX.length()), args[i + 1]);
+        }
+        DatasetGenerator generator;
+        int expenseCount;
+        int moduleCount;
+        int contactCount;
+        int eventCount;
+        try {
+            generator = new DatasetGenerator(Long.parseLong(options.getOrDefault("seed", "" + DEFAULT_SEED)),
+                    Double.parseDouble(options.getOrDefault("skew", "" + DEFAULT_SKEW)),
+                    LocalDate.parse(options.getOrDefault("from", DEFAULT_FROM_DATE)),
+                    LocalDate.parse(options.getOrDefault("to", DEFAULT_TO_DATE)));
+            expenseCount = Integer.parseInt(options.getOrDefault("expenses", "1000"));
+            moduleCount = Integer.parseInt(options.getOrDefault("modules", "100"));
+            contactCount = Integer.parseInt(options.getOrDefault("contacts", "100"));
+            eventCount = Integer.parseInt(options.getOrDefault("events", "0"));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            System.out.println(String.format(MSG_INVALID_OPTION, options));
+            System.out.println(MSG_USAGE);
+            return;
+        }
+        String dataFile = options.getOrDefault("out", DEFAULT_DATA_FILE);
+        generator.writeDataFile(dataFile, expenseCount, moduleCount, contactCount);
+        System.out.println(String.format(MSG_DATA_FILE_WRITTEN, expenseCount, moduleCount, contactCount, dataFile));
+        if (eventCount > 0) {
+            String icsFile = options.getOrDefault("ics", DEFAULT_ICS_FILE);
+            generator.writeIcsFile(icsFile, eventCount);
+            System.out.println(String.format(MSG_ICS_FILE_WRITTEN, eventCount, icsFile));
+        }
+    }
+}
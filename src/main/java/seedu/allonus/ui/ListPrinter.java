@@ -0,0 +1,123 @@
+package seedu.allonus.ui;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * Prints the entries of a list, or a part of them, through a single buffered writer, so that long lists are
+ * printed in time linear in their length without first being built up into one string.
+ *
+ * <p>The <code>list</code> commands of all managers/trackers take the same options: <code>p/PAGE</code> and
+ * <code>s/PAGE_SIZE</code> to print one page of the list, and <code>--tail COUNT</code> to print only the last
+ * entries of the list.
+ */
+public class ListPrinter {
+    public static final String PAGE_PREFIX = "p/";
+    public static final String PAGE_SIZE_PREFIX = "s/";
+    public static final String TAIL_OPTION = "--tail";
+    public static final String OPTION_SEPARATOR = "\\s+";
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int BUFFER_SIZE = 1 << 16;
+    public static final String MSG_SHOWING_RANGE = "Showing %d to %d of %d.\n";
+    public static final String MSG_EMPTY_RANGE = "There are no entries on this page of the list!";
+    public static final String MSG_INVALID_LIST_OPTIONS = "Invalid list options! Try 'list', "
+            + "'list p/PAGE s/PAGE_SIZE' or 'list --tail COUNT' with positive numbers.";
+
+    /**
+     * Returns the range of entries to be printed for a <code>list</code> command, as the index of the first
+     * entry and one more than the index of the last entry.
+     *
+     * @param userInput the list command entered by the user
+     * @param listSize  number of entries in the list
+     * @return start (inclusive) and end (exclusive) indices of the entries to be printed
+     * @throws IllegalArgumentException if an option is unknown, or is not a positive number
+     */
+    public static int[] parseRange(String userInput, int listSize) throws IllegalArgumentException {
+        String[] options = userInput.trim().split(OPTION_SEPARATOR);
+        int page = 0;
+        int pageSize = 0;
+        int tail = 0;
+        for (int i = 1; i < options.length; i++) {
+            if (options[i].startsWith(PAGE_PREFIX)) {
+                page = parsePositive(options[i].substring(PAGE_PREFIX.length()));
+            } else if (options[i].startsWith(PAGE_SIZE_PREFIX)) {
+                pageSize = parsePositive(options[i].substring(PAGE_SIZE_PREFIX.length()));
+            } else if (options[i].equals(TAIL_OPTION) && i + 1 < options.length) {
+                tail = parsePositive(options[++i]);
+            } else {
+                throw new IllegalArgumentException(MSG_INVALID_LIST_OPTIONS);
+            }
+        }
+        if (tail > 0 && (page > 0 || pageSize > 0)) {
+            throw new IllegalArgumentException(MSG_INVALID_LIST_OPTIONS);
+        }
+        if (tail > 0) {
+            return new int[]{Math.max(0, listSize - tail), listSize};
+        }
+        if (page == 0 && pageSize == 0) {
+            return new int[]{0, listSize};
+        }
+        long from = (long) (Math.max(page, 1) - 1) * (pageSize == 0 ? DEFAULT_PAGE_SIZE : pageSize);
+        long to = from + (pageSize == 0 ? DEFAULT_PAGE_SIZE : pageSize);
+        return new int[]{(int) Math.min(from, listSize), (int) Math.min(to, listSize)};
+    }
+
+    /**
+     * Prints <code>header</code>, then the entries of <code>entries</code> in <code>range</code>, each formatted
+     * with <code>entryFormat</code> from its index starting from 1 and the entry itself, then
+     * <code>footer</code>. If only a part of the list is printed, a line saying which part is printed before
+     * <code>footer</code>.
+     *
+     * @param header      text printed before the entries
+     * @param entries     the whole list
+     * @param range       start (inclusive) and end (exclusive) indices of the entries to be printed
+     * @param entryFormat format of each entry, taking its index and the entry
+     * @param footer      text printed after the entries
+     * @param <T>         type of the entries
+     */
+    public static <T> void print(String header, List<T> entries, int[] range, String entryFormat, String footer) {
+        print(header, entries, null, range, entryFormat, footer);
+    }
+
+    /**
+     * Prints the entries of <code>entries</code> like <code>print</code> does, but in the order given by
+     * <code>order</code>, so that <code>range</code> is a range of places in that order. Each entry is still
+     * formatted with its index in <code>entries</code>, so that it can be referred to by other commands.
+     *
+     * @param header      text printed before the entries
+     * @param entries     the whole list
+     * @param order       indices of all the entries in the order they are printed, or null for the list order
+     * @param range       start (inclusive) and end (exclusive) places of the entries to be printed
+     * @param entryFormat format of each entry, taking its index and the entry
+     * @param footer      text printed after the entries
+     * @param <T>         type of the entries
+     */
+    public static <T> void print(String header, List<T> entries, int[] order, int[] range, String entryFormat,
+            String footer) {
+        if (range[0] >= range[1]) {
+            System.out.println(MSG_EMPTY_RANGE);
+            return;
+        }
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out), BUFFER_SIZE));
+        out.print(header);
+        for (int i = range[0]; i < range[1]; i++) {
+            int index = order == null ? i : order[i];
+            out.print(String.format(entryFormat, index + 1, entries.get(index)));
+        }
+        if (range[1] - range[0] < entries.size()) {
+            out.print(String.format(MSG_SHOWING_RANGE, range[0] + 1, range[1], entries.size()));
+        }
+        out.print(footer);
+        out.flush();
+    }
+
+    private static int parsePositive(String number) throws IllegalArgumentException {
+        int value = Integer.parseInt(number.trim());
+        if (value <= 0) {
+            throw new IllegalArgumentException(MSG_INVALID_LIST_OPTIONS);
+        }
+        return value;
+    }
+}
@@ -10,7 +10,7 @@ import java.util.Scanner;
  */
 public class TextUi {
 
-    private static final String DIVIDER = "---------------------------------------------------";
+    public static final String DIVIDER = "---------------------------------------------------";
 
     private final Scanner in;
 
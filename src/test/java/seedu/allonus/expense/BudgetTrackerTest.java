@@ -0,0 +1,66 @@
+package seedu.allonus.expense;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BudgetTrackerTest {
+
+    private final List<Expense> expenses = new ArrayList<>(Arrays.asList(
+            new Expense("2022-03-01", "50", "Food", "Lunch"),
+            new Expense("2022-03-02", "20", "Transport", "Bus"),
+            new Expense("2022-02-01", "90", "Food", "Dinner")));
+    private final BudgetTracker budgets = new BudgetTracker(() -> expenses);
+
+    private List<String> add(Expense expense) {
+        expenses.add(expense);
+        return budgets.add(expense);
+    }
+
+    @Test
+    void getCentsSpent_monthAndCategory_totalsOfThatMonth() {
+        budgets.setLimit(BudgetTracker.OVERALL, 10000);
+        assertEquals(Long.valueOf(7000), Long.valueOf(budgets.getCentsSpent(BudgetTracker.OVERALL,
+                YearMonth.of(2022, 3))));
+        assertEquals(Long.valueOf(5000), Long.valueOf(budgets.getCentsSpent("Food", YearMonth.of(2022, 3))));
+        assertEquals(Long.valueOf(9000), Long.valueOf(budgets.getCentsSpent("Food", YearMonth.of(2022, 2))));
+    }
+
+    @Test
+    void add_thresholdsCrossed_alertOnlyWhenCrossing() {
+        budgets.setLimit("Food", 10000);
+        assertTrue(add(new Expense("2022-03-03", "10", "Food", "Snack")).isEmpty());
+        List<String> alerts = add(new Expense("2022-03-04", "25", "Food", "Groceries"));
+        assertEquals(1, alerts.size());
+        assertTrue(alerts.get(0).startsWith("Heads up! You have used 85%"));
+        assertTrue(add(new Expense("2022-03-05", "5", "Food", "Snack")).isEmpty());
+        alerts = add(new Expense("2022-03-06", "20", "Food", "Dinner"));
+        assertEquals(1, alerts.size());
+        assertTrue(alerts.get(0).startsWith("Alert! You have spent $110.00"));
+        assertTrue(add(new Expense("2022-03-07", "1", "Transport", "Bus")).isEmpty());
+    }
+
+    @Test
+    void replaceAndRemove_amountsKeptInStep() {
+        budgets.setLimit(BudgetTracker.OVERALL, 7400);
+        Expense original = expenses.get(1);
+        Expense edited = new Expense("2022-03-02", "25", "Transport", "Taxi");
+        expenses.set(1, edited);
+        List<String> alerts = budgets.replace(original, edited);
+        assertEquals(1, alerts.size());
+        assertTrue(alerts.get(0).contains("overall budget of $74.00 for 2022-03"));
+
+        budgets.remove(expenses.remove(0));
+        assertEquals(Long.valueOf(2500), Long.valueOf(budgets.getCentsSpent(BudgetTracker.OVERALL,
+                YearMonth.of(2022, 3))));
+        budgets.invalidate();
+        assertEquals(Long.valueOf(2500), Long.valueOf(budgets.getCentsSpent(BudgetTracker.OVERALL,
+                YearMonth.of(2022, 3))));
+    }
+}
@@ -0,0 +1,63 @@
+package seedu.allonus.expense;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ColumnarExpenseListTest {
+
+    private ColumnarExpenseList createList(int count) {
+        ColumnarExpenseList list = new ColumnarExpenseList();
+        for (int i = 0; i < count; i++) {
+            list.add(new Expense("2022-03-" + String.format("%02d", i % 28 + 1), i + ".5",
+                    i % 2 == 0 ? "Food" : "Transport", "Remark " + i));
+        }
+        return list;
+    }
+
+    @Test
+    void get_addedExpenses_sameAsOriginals() {
+        ColumnarExpenseList list = createList(100);
+        assertEquals(100, list.size());
+        assertEquals("2022-03-01 | $0.5 | Food | Remark 0", list.get(0).toString());
+        assertEquals("2022-03-16 | $99.5 | Transport | Remark 99", list.get(99).toString());
+        assertEquals(2, list.getCategoryCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(100));
+    }
+
+    @Test
+    void setAndRemove_manyChanges_remarksStillCorrect() {
+        ColumnarExpenseList list = createList(50);
+        for (int i = 0; i < 50; i++) {
+            Expense expense = list.get(i);
+            expense.setRemark("Edited remark number " + i);
+            list.set(i, expense);
+        }
+        list.remove(0);
+        list.add(0, new Expense("2022-04-01", "3", "Food", "First"));
+        assertEquals("First", list.getRemark(0));
+        assertEquals("Edited remark number 49", list.getRemark(49));
+        assertEquals("2022-03-22 | $49.5 | Transport | Edited remark number 49", list.get(49).toString());
+    }
+
+    @Test
+    void removeIf_oldExpenses_onlyNewerKept() {
+        ColumnarExpenseList list = createList(28);
+        int cutoff = (int) LocalDate.parse("2022-03-15").toEpochDay();
+        list.removeIf(expense -> expense.getEpochDay() < cutoff);
+        assertEquals(14, list.size());
+        assertEquals("Remark 14", list.getRemark(0));
+        assertEquals("Remark 27", list.getRemark(13));
+    }
+
+    @Test
+    void sumCents_dateRange_totalOfExpensesInRange() {
+        ColumnarExpenseList list = createList(3);
+        long from = LocalDate.parse("2022-03-02").toEpochDay();
+        long to = LocalDate.parse("2022-03-03").toEpochDay();
+        assertEquals(150 + 250, list.sumCents(from, to));
+    }
+}
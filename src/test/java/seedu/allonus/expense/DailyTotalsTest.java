@@ -0,0 +1,62 @@
+package seedu.allonus.expense;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DailyTotalsTest {
+
+    @Test
+    void getCentsBetween_daysAcrossDecades_sameAsSummingEachDay() {
+        DailyTotals dailyTotals = new DailyTotals();
+        long[] centsByDay = new long[20000];
+        int firstEpochDay = 5000;
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            int day = random.nextInt(centsByDay.length);
+            long cents = random.nextInt(10000) - (i % 10 == 0 ? 5000 : 0);
+            centsByDay[day] += cents;
+            dailyTotals.add(firstEpochDay + day, cents);
+        }
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(centsByDay.length);
+            int to = from + random.nextInt(centsByDay.length - from);
+            long expected = 0;
+            for (int day = from; day <= to; day++) {
+                expected += centsByDay[day];
+            }
+            assertEquals(expected, dailyTotals.getCentsBetween(firstEpochDay + from, firstEpochDay + to));
+        }
+    }
+
+    @Test
+    void getCentsUpTo_daysOutsideWindow_runningTotal() {
+        DailyTotals dailyTotals = new DailyTotals();
+        dailyTotals.add(19000, 100);
+        dailyTotals.add(10000, 50);
+        dailyTotals.add(25000, 25);
+        assertEquals(0, dailyTotals.getCentsUpTo(9999));
+        assertEquals(50, dailyTotals.getCentsUpTo(18999));
+        assertEquals(150, dailyTotals.getCentsUpTo(19000));
+        assertEquals(175, dailyTotals.getCentsUpTo(Integer.MAX_VALUE));
+        assertEquals(0, dailyTotals.getCentsBetween(19001, 19000));
+    }
+
+    @Test
+    void add_daysFarApart_totalsWithoutDenseWindow() {
+        DailyTotals dailyTotals = new DailyTotals();
+        dailyTotals.add(19000, 100);
+        dailyTotals.add(Integer.MAX_VALUE, 7);
+        dailyTotals.add(Integer.MIN_VALUE, 3);
+        dailyTotals.add(-1, 20);
+        assertEquals(100, dailyTotals.getCentsBetween(18993, 19358));
+        assertEquals(120, dailyTotals.getCentsBetween(-1, 19000));
+        assertEquals(3, dailyTotals.getCentsUpTo(Integer.MIN_VALUE));
+        assertEquals(123, dailyTotals.getCentsUpTo(Integer.MAX_VALUE - 1));
+        assertEquals(130, dailyTotals.getCentsBetween(Long.MIN_VALUE, Long.MAX_VALUE));
+        dailyTotals.add(Integer.MAX_VALUE, -7);
+        assertEquals(123, dailyTotals.getCentsUpTo(Integer.MAX_VALUE));
+    }
+}
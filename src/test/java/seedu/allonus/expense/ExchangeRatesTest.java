@@ -0,0 +1,58 @@
+package seedu.allonus.expense;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExchangeRatesTest {
+
+    private static int day(String date) {
+        return (int) LocalDate.parse(date).toEpochDay();
+    }
+
+    @Test
+    void toBaseCents_datedRates_latestRateOnOrBeforeDateUsed() {
+        ExchangeRates rates = new ExchangeRates();
+        rates.setRate("USD", day("2022-03-01"), new BigDecimal("1.35"));
+        rates.setRate("USD", day("2022-04-01"), new BigDecimal("1.4"));
+        assertEquals(Long.valueOf(1350), Long.valueOf(rates.toBaseCents(1000, "USD", day("2022-03-31"))));
+        assertEquals(Long.valueOf(1400), Long.valueOf(rates.toBaseCents(1000, "USD", day("2022-04-01"))));
+        assertEquals(Long.valueOf(1350), Long.valueOf(rates.toBaseCents(1000, "USD", day("2022-01-01"))));
+        assertEquals(Long.valueOf(1000), Long.valueOf(rates.toBaseCents(1000, null, day("2022-01-01"))));
+        assertNull(rates.getRate("EUR", day("2022-03-01")));
+        assertTrue(rates.canConvert("SGD"));
+        assertFalse(rates.canConvert("EUR"));
+        assertEquals(Arrays.asList("2022-03-01,USD,1.35", "2022-04-01,USD,1.4"), rates.getRateLines());
+    }
+
+    @Test
+    void setRate_afterRateResolved_newRateUsed() {
+        ExchangeRates rates = new ExchangeRates();
+        rates.setRate("JPY", day("2022-03-01"), new BigDecimal("0.0115"));
+        assertEquals(Long.valueOf(11500), Long.valueOf(rates.toBaseCents(1000000, "JPY", day("2022-03-15"))));
+        rates.setRate("JPY", day("2022-03-10"), new BigDecimal("0.012"));
+        assertEquals(Long.valueOf(12000), Long.valueOf(rates.toBaseCents(1000000, "JPY", day("2022-03-15"))));
+        rates.setRate("JPY", day("2022-03-10"), BigDecimal.ZERO);
+        assertEquals(Long.valueOf(11500), Long.valueOf(rates.toBaseCents(1000000, "JPY", day("2022-03-15"))));
+    }
+
+    @Test
+    void getBaseCents_expenseInOtherCurrency_convertedWithSharedRates() {
+        ExchangeRates rates = Expense.getExchangeRates();
+        rates.setRate("USD", day("2022-03-01"), new BigDecimal("1.35"));
+        Expense lunch = new Expense(day("2022-03-02"), 1001, "Food", "Lunch");
+        lunch.setCurrency("USD");
+        assertEquals(Long.valueOf(1351), Long.valueOf(lunch.getBaseCents()));
+        assertEquals("2022-03-02 | USD 10.01 | Food | Lunch", lunch.toString());
+        lunch.setCurrency(rates.getBaseCurrency());
+        assertNull(lunch.getCurrency());
+        rates.clear();
+    }
+}
@@ -0,0 +1,81 @@
+package seedu.allonus.expense;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExpenseAggregationTest {
+
+    private static final String[] CATEGORIES = {"Food", "Transport", "Bills", "Misc"};
+    private static final String[] REMARKS = {"Lunch with friends", "Grab home", "Phone bill", "Birthday LUNCH"};
+
+    private static void fill(List<Expense> expenses, int count) {
+        for (int i = 0; i < count; i++) {
+            int day = i % 28 + 1;
+            int month = i / 28 % 12 + 1;
+            String date = String.format("2021-%02d-%02d", month, day);
+            expenses.add(new Expense(date, (i % 97 + 1) + "." + (i % 10), CATEGORIES[i % CATEGORIES.length],
+                    REMARKS[i % 7 % REMARKS.length]));
+        }
+    }
+
+    private static void assertSameTotals(ExpenseAggregation.Totals expected, ExpenseAggregation.Totals actual) {
+        assertEquals(Long.valueOf(expected.getTotalCents()), Long.valueOf(actual.getTotalCents()));
+        assertEquals(expected.getCount(), actual.getCount());
+        assertEquals(expected.getCentsByCategory(), actual.getCentsByCategory());
+        assertEquals(expected.getCentsByMonth(), actual.getCentsByMonth());
+    }
+
+    @Test
+    void aggregate_noKeyword_sameAsSummary() {
+        List<Expense> expenses = new ArrayList<>();
+        fill(expenses, 500);
+        ExpenseSummary summary = new ExpenseSummary(() -> expenses);
+        ExpenseAggregation.Totals totals = ExpenseAggregation.aggregate(expenses, null);
+        assertEquals(500, totals.getCount());
+        assertEquals(Long.valueOf(summary.getTotalCents()), Long.valueOf(totals.getTotalCents()));
+        assertEquals(summary.getCentsByCategory(), totals.getCentsByCategory());
+        assertEquals(summary.getCentsByMonth(), totals.getCentsByMonth());
+    }
+
+    @Test
+    void aggregate_remarkKeyword_matchesIgnoringCase() {
+        List<Expense> expenses = new ArrayList<>();
+        expenses.add(new Expense("2021-01-05", "10", "Food", "Lunch with friends"));
+        expenses.add(new Expense("2021-02-05", "4.50", "Food", "birthday lunch"));
+        expenses.add(new Expense("2021-02-06", "20", "Transport", "Grab home"));
+        ExpenseAggregation.Totals totals = ExpenseAggregation.aggregate(expenses, "LUNCH");
+        assertEquals(2, totals.getCount());
+        assertEquals(Long.valueOf(1450), Long.valueOf(totals.getTotalCents()));
+        assertEquals(Long.valueOf(1450), totals.getCentsByCategory().get("Food"));
+        assertEquals(Long.valueOf(450), totals.getCentsByMonth().get(YearMonth.of(2021, 2)));
+        assertEquals(0, ExpenseAggregation.aggregate(expenses, "dinner").getCount());
+    }
+
+    @Test
+    void aggregate_parallel_sameAsSequential() {
+        List<Expense> expenses = new ArrayList<>();
+        fill(expenses, ExpenseAggregation.LEAF_SIZE * 3 + 17);
+        for (String keyword : new String[] {null, "lunch"}) {
+            ExpenseAggregation.Totals sequential = ExpenseAggregation.aggregate(expenses, keyword, Integer.MAX_VALUE);
+            assertSameTotals(sequential, ExpenseAggregation.aggregate(expenses, keyword, 0));
+        }
+    }
+
+    @Test
+    void aggregate_columnarList_sameAsArrayList() {
+        List<Expense> expenses = new ArrayList<>();
+        fill(expenses, ExpenseAggregation.LEAF_SIZE * 2 + 5);
+        ColumnarExpenseList columns = new ColumnarExpenseList();
+        columns.addAll(expenses);
+        for (String keyword : new String[] {null, "lunch"}) {
+            ExpenseAggregation.Totals expected = ExpenseAggregation.aggregate(expenses, keyword, Integer.MAX_VALUE);
+            assertSameTotals(expected, ExpenseAggregation.aggregate(columns, keyword, Integer.MAX_VALUE));
+            assertSameTotals(expected, ExpenseAggregation.aggregate(columns, keyword, 0));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package seedu.allonus.expense;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExpenseCsvImporterTest {
+
+    private static Path writeCsv(String... lines) throws IOException {
+        Path csvPath = Files.createTempFile("statement", ".csv");
+        csvPath.toFile().deleteOnExit();
+        ExpenseCsvImporter.getRejectedPath(csvPath).toFile().deleteOnExit();
+        Files.write(csvPath, Arrays.asList(lines), StandardCharsets.UTF_8);
+        return csvPath;
+    }
+
+    @Test
+    void parseLine_quotedFields_commasAndQuotesKept() {
+        assertEquals(Arrays.asList("2022-03-01", "1,234.50", "Say \"hi\"", ""),
+                ExpenseCsvImporter.parseLine("2022-03-01,\"1,234.50\",\"Say \"\"hi\"\"\","));
+    }
+
+    @Test
+    void importFile_namedColumns_validRowsImportedAndOthersRejected() throws IOException {
+        Path csvPath = writeCsv("Description,Date,Debit",
+                "Card/Visa lunch,2022-03-01,$12.50",
+                "Bad date,01/03/2022,5",
+                "Coffee,2022-03-02,\"1,004\"",
+                "Bad amount,2022-03-03,abc");
+        ExpenseCsvImporter importer = new ExpenseCsvImporter("date=Date,amount=Debit,remark=Description");
+        List<Expense> expenses = importer.importFile(csvPath);
+
+        assertEquals(2, expenses.size());
+        assertEquals("12.50", expenses.get(0).getAmount());
+        assertEquals(ExpenseCsvImporter.DEFAULT_CATEGORY, expenses.get(0).getCategory());
+        assertEquals("Card /Visa lunch", expenses.get(0).getRemark());
+        assertEquals("1004", expenses.get(1).getAmount());
+        assertEquals(2, importer.getRejectedCount());
+        List<String> rejected = Files.readAllLines(ExpenseCsvImporter.getRejectedPath(csvPath));
+        assertEquals(Arrays.asList("Description,Date,Debit,reason",
+                "Bad date,01/03/2022,5,\"" + ExpenseCsvImporter.MSG_INVALID_DATE + "\"",
+                "Bad amount,2022-03-03,abc,\"" + ExpenseCsvImporter.MSG_INVALID_AMOUNT + "\""), rejected);
+    }
+
+    @Test
+    void importFile_signedAmounts_moneyReceivedRejected() throws IOException {
+        Path csvPath = writeCsv("Date,Amount,Description", "2022-03-01,-12.50,Lunch", "2022-03-02,30,Refund",
+                "2022-03-03,($4.00),Coffee", "2022-03-04,0,Fee waived");
+        ExpenseCsvImporter importer = new ExpenseCsvImporter("date=Date,amount=Amount,remark=Description,"
+                + "sign=negative");
+        List<Expense> expenses = importer.importFile(csvPath);
+
+        assertEquals(3, expenses.size());
+        assertEquals("12.50", expenses.get(0).getAmount());
+        assertEquals("4.00", expenses.get(1).getAmount());
+        List<String> rejected = Files.readAllLines(ExpenseCsvImporter.getRejectedPath(csvPath));
+        assertEquals(Arrays.asList("Date,Amount,Description,reason",
+                "2022-03-02,30,Refund,\"" + ExpenseCsvImporter.MSG_NOT_SPENDING + "\""), rejected);
+
+        importer = new ExpenseCsvImporter("date=Date,amount=Amount,remark=Description");
+        expenses = importer.importFile(csvPath);
+        assertEquals(2, expenses.size());
+        assertEquals("30", expenses.get(0).getAmount());
+        assertEquals(2, importer.getRejectedCount());
+    }
+
+    @Test
+    void importFile_currencyColumn_rowsWithoutRateRejected() throws IOException {
+        Path csvPath = writeCsv("2022-03-01,5,Food,Lunch x/EUR,usd", "2022-03-02,7,Food,Dinner,EUR",
+                "2022-03-03,9,Food,Supper,");
+        Expense.getExchangeRates().setRate("USD", 0, new BigDecimal("1.35"));
+        ExpenseCsvImporter importer = new ExpenseCsvImporter("date=1,amount=2,category=3,remark=4,currency=5");
+        List<Expense> expenses = importer.importFile(csvPath);
+        Expense.getExchangeRates().clear();
+
+        assertEquals(2, expenses.size());
+        assertEquals("USD", expenses.get(0).getCurrency());
+        assertEquals("Lunch x/EUR", expenses.get(0).getRemark());
+        assertNull(expenses.get(1).getCurrency());
+        assertEquals(1, importer.getRejectedCount());
+    }
+
+    @Test
+    void importFile_defaultMappingWithoutHeader_firstRowImported() throws IOException {
+        Path csvPath = writeCsv("2022-03-01,5,Food,Lunch", "", "2022-03-02,7,Food,Dinner");
+        ExpenseCsvImporter importer = new ExpenseCsvImporter(null);
+        assertEquals(2, importer.importFile(csvPath).size());
+        assertEquals(0, importer.getRejectedCount());
+        assertFalse(Files.exists(ExpenseCsvImporter.getRejectedPath(csvPath)));
+    }
+
+    @Test
+    void constructor_invalidMapping_exceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () -> new ExpenseCsvImporter("remark=1"));
+        assertThrows(IllegalArgumentException.class, () -> new ExpenseCsvImporter("date=1,amount=0"));
+        assertThrows(IllegalArgumentException.class, () -> new ExpenseCsvImporter("date=1,cost=2"));
+        assertThrows(IllegalArgumentException.class, () -> new ExpenseCsvImporter("date=1,amount=2,sign=debit"));
+    }
+}
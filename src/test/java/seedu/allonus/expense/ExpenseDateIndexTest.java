@@ -0,0 +1,51 @@
+package seedu.allonus.expense;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class ExpenseDateIndexTest {
+
+    private final List<Expense> expenses = new ArrayList<>(Arrays.asList(
+            new Expense("2022-03-15", "1", "Food", "A"),
+            new Expense("2022-02-01", "1", "Food", "B"),
+            new Expense("2022-03-01", "1", "Food", "C"),
+            new Expense("2022-03-15", "1", "Food", "D"),
+            new Expense("2022-04-01", "1", "Food", "E")));
+    private final ExpenseDateIndex index = new ExpenseDateIndex(() -> expenses);
+
+    private static long day(String date) {
+        return LocalDate.parse(date).toEpochDay();
+    }
+
+    @Test
+    void getPositionsBetween_dateRange_positionsInDateOrder() {
+        assertArrayEquals(new int[]{2, 0, 3}, index.getPositionsBetween(day("2022-03-01"), day("2022-03-31")));
+        assertArrayEquals(new int[]{1, 2, 0, 3, 4}, index.getPositionsBetween(day("2000-01-01"), day("2099-01-01")));
+        assertArrayEquals(new int[0], index.getPositionsBetween(day("2022-03-02"), day("2022-03-14")));
+        assertArrayEquals(new int[0], index.getPositionsBetween(day("2022-03-31"), day("2022-03-01")));
+    }
+
+    @Test
+    void addRemoveAndMove_afterFirstQuery_indexKeptInStep() {
+        index.getPositionsBetween(0, 0);
+        Expense added = new Expense("2022-03-10", "1", "Food", "F");
+        expenses.add(added);
+        index.add(added.getEpochDay(), 5);
+        Expense removed = expenses.remove(0);
+        index.remove(removed.getEpochDay(), 0);
+        Expense moved = expenses.get(0);
+        int oldEpochDay = moved.getEpochDay();
+        moved.setDate("2022-03-20");
+        index.move(oldEpochDay, moved.getEpochDay(), 0);
+
+        assertArrayEquals(new int[]{1, 4, 2, 0}, index.getPositionsBetween(day("2022-03-01"), day("2022-03-31")));
+        index.invalidate();
+        assertArrayEquals(new int[]{1, 4, 2, 0}, index.getPositionsBetween(day("2022-03-01"), day("2022-03-31")));
+    }
+}
@@ -0,0 +1,59 @@
+package seedu.allonus.expense;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpenseFingerprintsTest {
+
+    private final List<Expense> expenses = new ArrayList<>(Arrays.asList(
+            new Expense("2022-03-01", "5", "Food", "Lunch with  friends"),
+            new Expense("2022-03-01", "5.00", "food", " lunch with friends"),
+            new Expense("2022-03-02", "5", "Food", "Lunch with friends")));
+    private final ExpenseFingerprints fingerprints = new ExpenseFingerprints(() -> expenses);
+
+    @Test
+    void countDuplicates_sameContentApartFromCaseAndSpacing_counted() {
+        assertEquals(2, fingerprints.countDuplicates(new Expense("2022-03-01", "5", "FOOD", "lunch with friends")));
+        assertFalse(fingerprints.isDuplicate(new Expense("2022-03-01", "5.01", "Food", "Lunch with friends")));
+    }
+
+    @Test
+    void addRemoveAndReplace_afterFirstUse_keptInStep() {
+        Expense dinner = new Expense("2022-03-03", "8", "Food", "Dinner");
+        assertFalse(fingerprints.isDuplicate(dinner));
+        expenses.add(dinner);
+        fingerprints.add(dinner);
+        assertTrue(fingerprints.isDuplicate(dinner));
+        Expense edited = new Expense("2022-03-03", "9", "Food", "Dinner");
+        fingerprints.replace(dinner, edited);
+        assertFalse(fingerprints.isDuplicate(dinner));
+        fingerprints.remove(expenses.get(0));
+        assertEquals(1, fingerprints.countDuplicates(expenses.get(0)));
+    }
+
+    @Test
+    void newAlreadyAddedCheck_repeatedExpenses_onlyThoseInListMatched() {
+        List<Expense> imported = new ArrayList<>(Arrays.asList(
+                new Expense("2022-03-01", "5", "Food", "Lunch with friends"),
+                new Expense("2022-03-01", "5", "Food", "Lunch with friends"),
+                new Expense("2022-03-01", "5", "Food", "Lunch with friends"),
+                new Expense("2022-03-04", "5", "Food", "Lunch")));
+        imported.removeIf(fingerprints.newAlreadyAddedCheck());
+        assertEquals(2, imported.size());
+        assertEquals("2022-03-04", imported.get(1).getDate());
+    }
+
+    @Test
+    void newRepeatCheck_list_laterCopiesRemoved() {
+        expenses.removeIf(ExpenseFingerprints.newRepeatCheck());
+        assertEquals(2, expenses.size());
+        assertEquals("2022-03-02", expenses.get(1).getDate());
+    }
+}
@@ -2,12 +2,16 @@ package seedu.allonus.expense;
 
 import org.junit.jupiter.api.Test;
 import seedu.allonus.expense.exceptions.ExpenseAmountException;
+import seedu.allonus.expense.exceptions.ExpenseCurrencyException;
 import seedu.allonus.expense.exceptions.ExpenseEmptyFieldException;
 import seedu.allonus.expense.exceptions.ExpenseMissingFieldException;
 
 import java.time.format.DateTimeParseException;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static seedu.allonus.expense.ExpenseParser.parseNewExpense;
 import static seedu.allonus.expense.ExpenseParser.parseKeywordExpense;
 import static seedu.allonus.expense.ExpenseParser.isAmountValid;
@@ -15,6 +19,8 @@ import static seedu.allonus.expense.ExpenseParser.reformatDate;
 import static seedu.allonus.expense.ExpenseParser.parseDeleteExpense;
 import static seedu.allonus.expense.ExpenseParser.parseEditExpense;
 import static seedu.allonus.expense.ExpenseParser.parseFindExpense;
+import static seedu.allonus.expense.ExpenseParser.parseSingleWordField;
+import static seedu.allonus.expense.ExpenseParser.removeRecurrenceFields;
 import static seedu.allonus.expense.ExpenseTracker.MSG_EMPTY_FIELDS;
 import static seedu.allonus.expense.ExpenseTracker.MSG_INCORRECT_DATE_FORMAT;
 import static seedu.allonus.expense.ExpenseTracker.MSG_NUMBERS_ONLY_AMOUNT;
@@ -51,6 +57,15 @@ class ExpenseParserTest {
         assertEquals("2022-03-27", parsedTestDate);
     }
 
+    @Test
+    void reformatDate_yearOutsideFourDigits_exceptionThrown() {
+        assertEquals("9999-12-31", reformatDate("9999-12-31"));
+        assertThrows(DateTimeParseException.class, () -> reformatDate("+1000000-01-01"));
+        assertThrows(DateTimeParseException.class, () -> reformatDate("+999999999-12-31"));
+        assertThrows(DateTimeParseException.class, () -> reformatDate("-0001-01-01"));
+        assertThrows(DateTimeParseException.class, () -> new Expense("+10000-01-01", "1", "Food", "far"));
+    }
+
     @Test
     void testIsAmountValid_negativeAmount_exceptionThrown() {
         try {
@@ -77,12 +92,37 @@ class ExpenseParserTest {
             System.out.println(e.getMessage());
         } catch (ExpenseEmptyFieldException e) {
             System.out.println(e.getMessage());
-        } catch (ExpenseMissingFieldException e) {
+        } catch (ExpenseMissingFieldException | ExpenseCurrencyException e) {
             System.out.println(e.getMessage());
         }
 
     }
 
+    @Test
+    void parseNewExpense_currencyGiven_currencyParsedAndRemovedFromFields() throws Exception {
+        String[] result = parseNewExpense("add d/2022-03-13 a/18.00 x/usd c/Movie r/This is a remark");
+        String[] expected = {"2022-03-13", "18.00", "Movie", "This is a remark", "USD"};
+        assertArrayEquals(expected, result);
+        assertNull(parseNewExpense("add d/2022-03-13 a/18 c/Movie r/Tax/fees")[4]);
+        assertThrows(ExpenseCurrencyException.class, () -> parseNewExpense("add d/2022-03-13 a/1 x/ABCD c/A r/B"));
+    }
+
+    @Test
+    void parseNewExpense_currencyLikeTextInRemarks_remarksKept() throws Exception {
+        String[] expected = {"2022-03-15", "9.50", "Movie", "ratio x/y screen", null};
+        assertArrayEquals(expected, parseNewExpense("add d/2022-03-15 a/9.50 c/Movie r/ratio x/y screen"));
+        String[] withCurrency = {"2022-03-15", "9.50", "Movie", "Paid x/EUR", "USD"};
+        assertArrayEquals(withCurrency, parseNewExpense("add d/2022-03-15 a/9.50 x/USD c/Movie r/Paid x/EUR"));
+    }
+
+    @Test
+    void parseSingleWordField_recurrenceLikeTextInRemarks_remarksKept() {
+        String input = "recur d/2022-03-15 a/30 f/weekly c/Sport r/Gym f/friends e/2022-04-01";
+        assertEquals("weekly", parseSingleWordField(input, ExpenseParser.FREQUENCY_DELIMITER));
+        assertNull(parseSingleWordField(input, ExpenseParser.END_DATE_DELIMITER));
+        assertEquals("recur d/2022-03-15 a/30 c/Sport r/Gym f/friends e/2022-04-01", removeRecurrenceFields(input));
+    }
+
     @Test
     void testparseEditExpense() {
         String testInput = "edit 1";
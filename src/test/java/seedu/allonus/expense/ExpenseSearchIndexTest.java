@@ -0,0 +1,77 @@
+package seedu.allonus.expense;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpenseSearchIndexTest {
+
+    private final List<Expense> expenses = new ArrayList<>(Arrays.asList(
+            new Expense("2022-03-22", "9.50", "Movie", "Jujutsu Kaisen"),
+            new Expense("2022-03-23", "5", "Food", "Lunch with friends #4242"),
+            new Expense("2022-04-01", "12", "Food", "Dinner with family"),
+            new Expense("2022-04-02", "3", "Transport", "Bus home")));
+    private final ExpenseSearchIndex index = new ExpenseSearchIndex(() -> expenses);
+
+    private int[] search(String query) {
+        return index.search(ExpenseSearchIndex.parseQuery(query));
+    }
+
+    @Test
+    void parseQuery_andOrKeywords_groupsOfTerms() {
+        assertEquals("[[lunch, friends], [dinner]]",
+                ExpenseSearchIndex.parseQuery(" Lunch and friends OR dinner ").toString());
+        assertEquals("[]", ExpenseSearchIndex.parseQuery("or").toString());
+    }
+
+    @Test
+    void search_singleTerm_prefixMatchesOnAnyField() {
+        assertArrayEquals(new int[]{0}, search("juju"));
+        assertArrayEquals(new int[]{1, 2}, search("FOOD"));
+        assertArrayEquals(new int[]{0, 1}, search("2022-03"));
+        assertArrayEquals(new int[]{1}, search("#4242"));
+        assertArrayEquals(new int[]{1}, search("4242"));
+        assertArrayEquals(new int[0], search("pizza"));
+    }
+
+    @Test
+    void search_andOrQuery_combinedMatches() {
+        assertArrayEquals(new int[]{1, 2}, search("with food"));
+        assertArrayEquals(new int[]{2}, search("with family"));
+        assertArrayEquals(new int[]{0, 2, 3}, search("bus or movie or dinner"));
+        assertArrayEquals(new int[]{1, 3}, search("lunch friends or bus"));
+    }
+
+    @Test
+    void addRemoveAndReplace_afterFirstSearch_indexKeptInStep() {
+        search("food");
+        Expense added = new Expense("2022-04-03", "4", "Food", "Breakfast");
+        expenses.add(added);
+        index.add(added, 4);
+        Expense removed = expenses.remove(0);
+        index.remove(removed, 0);
+        Expense original = expenses.get(2);
+        Expense edited = new Expense("2022-04-02", "3", "Transport", "Train home");
+        expenses.set(2, edited);
+        index.replace(original, edited, 2);
+
+        assertArrayEquals(new int[]{0, 1, 3}, search("food"));
+        assertArrayEquals(new int[]{2}, search("train"));
+        assertArrayEquals(new int[0], search("bus or juju"));
+    }
+
+    @Test
+    void isMatching_expenseNotInIndex_sameRulesAsSearch() {
+        Expense expense = new Expense("2021-01-05", "8", "Food", "Noodles #7");
+        assertTrue(ExpenseSearchIndex.isMatching(expense, ExpenseSearchIndex.parseQuery("noodle 2021")));
+        assertTrue(ExpenseSearchIndex.isMatching(expense, ExpenseSearchIndex.parseQuery("rice or 7")));
+        assertFalse(ExpenseSearchIndex.isMatching(expense, ExpenseSearchIndex.parseQuery("noodle rice")));
+    }
+}
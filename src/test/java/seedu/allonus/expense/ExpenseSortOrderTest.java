@@ -0,0 +1,45 @@
+package seedu.allonus.expense;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExpenseSortOrderTest {
+
+    private final List<Expense> expenses = new ArrayList<>(Arrays.asList(
+            new Expense("2022-03-15", "12", "Transport", "A"),
+            new Expense("2022-02-01", "5", "food", "B"),
+            new Expense("2022-03-01", "30", "Bills", "C"),
+            new Expense("2022-03-15", "5", "Food", "D")));
+    private final ExpenseSortOrder sortOrder = new ExpenseSortOrder(() -> expenses);
+
+    @Test
+    void getPositions_eachKey_sortedWithTiesInListOrder() {
+        assertArrayEquals(new int[]{1, 2, 0, 3}, sortOrder.getPositions(ExpenseSortOrder.SORT_BY_DATE, false));
+        assertArrayEquals(new int[]{1, 3, 0, 2}, sortOrder.getPositions(ExpenseSortOrder.SORT_BY_AMOUNT, false));
+        assertArrayEquals(new int[]{2, 0, 3, 1}, sortOrder.getPositions(ExpenseSortOrder.SORT_BY_AMOUNT, true));
+        assertArrayEquals(new int[]{2, 1, 3, 0}, sortOrder.getPositions(ExpenseSortOrder.SORT_BY_CATEGORY, false));
+        assertThrows(IllegalArgumentException.class, () -> sortOrder.getPositions("remark", false));
+    }
+
+    @Test
+    void addRemoveAndUpdate_afterFirstUse_sameAsSortingAgain() {
+        sortOrder.getPositions(ExpenseSortOrder.SORT_BY_AMOUNT, false);
+        expenses.add(new Expense("2022-04-01", "7", "Food", "E"));
+        sortOrder.add(4);
+        expenses.remove(0);
+        sortOrder.remove(0);
+        expenses.get(1).setAmount("1");
+        sortOrder.update(1);
+
+        int[] patched = sortOrder.getPositions(ExpenseSortOrder.SORT_BY_AMOUNT, false);
+        assertArrayEquals(new int[]{1, 0, 2, 3}, patched);
+        sortOrder.invalidate();
+        assertArrayEquals(patched, sortOrder.getPositions(ExpenseSortOrder.SORT_BY_AMOUNT, false));
+    }
+}
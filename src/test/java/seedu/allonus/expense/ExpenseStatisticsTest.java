@@ -0,0 +1,73 @@
+package seedu.allonus.expense;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpenseStatisticsTest {
+
+    private final List<Expense> expenses = new ArrayList<>();
+    private final ExpenseStatistics statistics = new ExpenseStatistics(() -> expenses);
+
+    @Test
+    void getQuantile_manyAmounts_withinRelativeAccuracy() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (long cents = 1; cents <= 100000; cents++) {
+            sketch.add(cents);
+        }
+        assertEquals(0, new QuantileSketch().getQuantile(0.5));
+        assertTrue(Math.abs(sketch.getQuantile(0.5) - 50000) <= 50000 * QuantileSketch.RELATIVE_ACCURACY);
+        assertTrue(Math.abs(sketch.getQuantile(0.99) - 99000) <= 99000 * QuantileSketch.RELATIVE_ACCURACY);
+        for (long cents = 50001; cents <= 100000; cents++) {
+            sketch.remove(cents);
+        }
+        assertTrue(Math.abs(sketch.getQuantile(0.5) - 25000) <= 25000 * QuantileSketch.RELATIVE_ACCURACY);
+    }
+
+    @Test
+    void addAndRemove_afterFirstUse_sameAsRebuilding() {
+        for (int i = 1; i <= 4; i++) {
+            expenses.add(new Expense("2022-03-0" + i, Integer.toString(i * 2), "Food", "Lunch"));
+        }
+        expenses.add(new Expense("2022-03-05", "100", "Bills", "Phone"));
+        assertEquals(Long.valueOf(500), Long.valueOf(statistics.getStatistics("Food").getMeanCents()));
+        assertEquals(Long.valueOf(258), Long.valueOf(statistics.getStatistics("Food").getStandardDeviationCents()));
+        assertNull(statistics.getStatistics("Transport"));
+
+        Expense removed = expenses.remove(4);
+        statistics.remove(removed);
+        Expense added = new Expense("2022-03-06", "10", "Food", "Dinner");
+        expenses.add(added);
+        statistics.add(added);
+        ExpenseStatistics.Statistics patched = statistics.getStatistics(null);
+        long mean = patched.getMeanCents();
+        long standardDeviation = patched.getStandardDeviationCents();
+        assertNull(statistics.getStatistics("Bills"));
+
+        statistics.invalidate();
+        assertEquals(Long.valueOf(mean), Long.valueOf(statistics.getStatistics(null).getMeanCents()));
+        assertEquals(Long.valueOf(standardDeviation),
+                Long.valueOf(statistics.getStatistics(null).getStandardDeviationCents()));
+    }
+
+    @Test
+    void isOutlier_amountFarAboveUsual_flaggedOnceEnoughExpenses() {
+        Expense expensive = new Expense("2022-03-20", "200", "Food", "Banquet");
+        for (int i = 1; i < ExpenseStatistics.MIN_EXPENSES_FOR_OUTLIERS; i++) {
+            expenses.add(new Expense("2022-03-01", Integer.toString(5 + i), "Food", "Lunch"));
+        }
+        assertFalse(statistics.isOutlier(expensive));
+        Expense lunch = new Expense("2022-03-02", "8", "Food", "Lunch");
+        expenses.add(lunch);
+        statistics.add(lunch);
+        assertTrue(statistics.isOutlier(expensive));
+        assertFalse(statistics.isOutlier(new Expense("2022-03-20", "15", "Food", "Dinner")));
+        assertFalse(statistics.isOutlier(new Expense("2022-03-20", "200", "Bills", "Rent")));
+    }
+}
@@ -0,0 +1,69 @@
+package seedu.allonus.expense;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExpenseSummaryTest {
+
+    private final List<Expense> expenses = new ArrayList<>(Arrays.asList(
+            new Expense("2022-02-28", "10", "Food", "Dinner"),
+            new Expense("2022-03-01", "2.50", "Transport", "Bus"),
+            new Expense("2022-03-15", "20", "Food", "Lunch"),
+            new Expense("2022-03-31", "7.25", "Movie", "Batman")));
+    private final ExpenseSummary summary = new ExpenseSummary(() -> expenses);
+
+    @Test
+    void getCentsByCategory_expenseList_totalledPerCategory() {
+        assertEquals("{Food=3000, Movie=725, Transport=250}", summary.getCentsByCategory().toString());
+        assertEquals(3975, summary.getTotalCents());
+    }
+
+    @Test
+    void getCentsByMonth_expenseList_totalledPerMonth() {
+        assertEquals(Long.valueOf(1000), summary.getCentsByMonth().get(YearMonth.of(2022, 2)));
+        assertEquals(Long.valueOf(2975), summary.getCentsByMonth().get(YearMonth.of(2022, 3)));
+    }
+
+    @Test
+    void getCentsBetween_dateRange_onlyExpensesInRangeCounted() {
+        assertEquals(2250, summary.getCentsBetween(LocalDate.parse("2022-03-01"), LocalDate.parse("2022-03-15")));
+        assertEquals(0, summary.getCentsBetween(LocalDate.parse("2022-03-15"), LocalDate.parse("2022-03-01")));
+    }
+
+    @Test
+    void getCentsBetween_categoryAndDateRange_onlyThatCategoryCounted() {
+        assertEquals(2000, summary.getCentsBetween("Food", LocalDate.parse("2022-03-01"),
+                LocalDate.parse("2022-03-31")));
+        assertEquals(0, summary.getCentsBetween("Rent", LocalDate.parse("2022-03-01"),
+                LocalDate.parse("2022-03-31")));
+        assertEquals(1250, summary.getCentsUpTo(LocalDate.parse("2022-03-01")));
+    }
+
+    @Test
+    void getTopCategories_countSmallerThanCategories_highestFirst() {
+        assertEquals("[Food=3000, Movie=725]", summary.getTopCategories(2).toString());
+        assertEquals(3, summary.getTopCategories(10).size());
+    }
+
+    @Test
+    void addAndRemove_afterFirstReport_totalsUpdatedIncrementally() {
+        summary.getTotalCents();
+        Expense removed = expenses.remove(1);
+        summary.remove(removed);
+        Expense added = new Expense("2022-04-01", "5", "Food", "Snack");
+        expenses.add(added);
+        summary.add(added);
+        assertEquals("{Food=3500, Movie=725}", summary.getCentsByCategory().toString());
+        assertEquals(Long.valueOf(500), summary.getCentsByMonth().get(YearMonth.of(2022, 4)));
+
+        summary.invalidate();
+        assertEquals("{Food=3500, Movie=725}", summary.getCentsByCategory().toString());
+    }
+}
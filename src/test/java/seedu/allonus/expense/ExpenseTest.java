@@ -66,14 +66,29 @@ class ExpenseTest {
 
     @Test
     void setDate() {
-        test1.setDate("1/1/2022");
-        assertEquals("1/1/2022", test1.getDate());
+        test1.setDate("2022-01-01");
+        assertEquals("2022-01-01", test1.getDate());
+        assertEquals(18993, test1.getEpochDay());
     }
 
     @Test
     void setAmount() {
         test2.setAmount("500");
         assertEquals("500", test2.getAmount());
+        assertEquals(50000, test2.getCents());
+    }
+
+    @Test
+    void setAmount_fractionalAmounts_keptInExactCents() {
+        Expense expense = new Expense("2022-03-24", "0.1", "Food", "Snack");
+        assertEquals(10, expense.getCents());
+        assertEquals("0.1", expense.getAmount());
+        expense.setAmount("0.015");
+        assertEquals(2, expense.getCents());
+        assertEquals("0.02", expense.getAmount());
+        expense.setAmount("16777217");
+        assertEquals(1677721700, expense.getCents());
+        assertEquals("16777217", expense.getAmount());
     }
 
     @Test
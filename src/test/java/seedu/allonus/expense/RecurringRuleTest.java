@@ -0,0 +1,61 @@
+package seedu.allonus.expense;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecurringRuleTest {
+
+    private final Expense rent = new Expense("2022-01-31", "1200", "Rent", "Room");
+
+    @Test
+    void getOccurrenceDate_monthly_clampedToEndOfShorterMonths() {
+        RecurringRule rule = new RecurringRule(rent, RecurringRule.FREQUENCY_MONTHLY, null, 0);
+        assertEquals(LocalDate.parse("2022-01-31"), rule.getOccurrenceDate(0));
+        assertEquals(LocalDate.parse("2022-02-28"), rule.getOccurrenceDate(1));
+        assertEquals(LocalDate.parse("2022-03-31"), rule.getOccurrenceDate(2));
+    }
+
+    @Test
+    void materializeUpTo_calledTwice_eachOccurrenceReturnedOnce() {
+        RecurringRule rule = new RecurringRule(rent, RecurringRule.FREQUENCY_WEEKLY, LocalDate.parse("2022-03-01"),
+                0);
+        List<Expense> occurrences = rule.materializeUpTo(LocalDate.parse("2022-02-14"));
+        assertEquals(3, occurrences.size());
+        assertEquals("2022-02-14", occurrences.get(2).getDate());
+        assertEquals("1200", occurrences.get(2).getAmount());
+        assertEquals(2, rule.materializeUpTo(LocalDate.parse("2099-01-01")).size());
+        assertTrue(rule.materializeUpTo(LocalDate.parse("2099-01-01")).isEmpty());
+        assertEquals(5, rule.getMaterializedCount());
+    }
+
+    @Test
+    void constructor_invalidRule_exceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () -> new RecurringRule(rent, "yearly", null, 0));
+        assertThrows(IllegalArgumentException.class, () -> new RecurringRule(rent, RecurringRule.FREQUENCY_DAILY,
+                LocalDate.parse("2022-01-01"), 0));
+    }
+
+    @Test
+    void forEachPendingOccurrence_futurePeriod_occurrencesNotCountedAsAdded() {
+        RecurringRule rule = new RecurringRule(rent, RecurringRule.FREQUENCY_MONTHLY, null, 0);
+        rule.materializeUpTo(LocalDate.parse("2022-03-31"));
+        List<String> dates = new ArrayList<>();
+        rule.forEachPendingOccurrence(LocalDate.parse("2030-01-15"), LocalDate.parse("2030-04-30"),
+                occurrence -> dates.add(occurrence.getDate()));
+        assertEquals(Arrays.asList("2030-01-31", "2030-02-28", "2030-03-31", "2030-04-30"), dates);
+        assertEquals(3, rule.getMaterializedCount());
+
+        dates.clear();
+        rule.forEachPendingOccurrence(LocalDate.parse("2022-01-01"), LocalDate.parse("2022-05-31"),
+                occurrence -> dates.add(occurrence.getDate()));
+        assertEquals(Arrays.asList("2022-04-30", "2022-05-31"), dates);
+    }
+}
@@ -0,0 +1,71 @@
+package seedu.allonus.storage;
+
+import org.junit.jupiter.api.Test;
+import seedu.allonus.contacts.entry.Contact;
+import seedu.allonus.contacts.entry.Description;
+import seedu.allonus.contacts.entry.Email;
+import seedu.allonus.contacts.entry.Faculty;
+import seedu.allonus.contacts.entry.Name;
+import seedu.allonus.expense.Expense;
+import seedu.allonus.modules.Module;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the functionality of BinarySnapshot class.
+ */
+public class BinarySnapshotTest {
+
+    @Test
+    public void read_writtenSnapshot_sameEntriesReturned() throws IOException {
+        File f = File.createTempFile("allonus", StorageFile.BINARY_FILE_SUFFIX);
+        f.deleteOnExit();
+        ArrayList<Expense> expenses = new ArrayList<>(Arrays.asList(
+                new Expense("2022-03-15", "9.50", "Movie", "Spiderman: No Way Home"),
+                new Expense("2022-02-17", "2.4", "Food", "Popcorn \u00e9"))); // e with acute accent
+        expenses.get(1).setCurrency("USD");
+        ArrayList<Module> modules = new ArrayList<>(Arrays.asList(
+                new Module("CS2113", "Lecture", "Friday", "4pm-6pm")));
+        ArrayList<Contact> contacts = new ArrayList<>(Arrays.asList(
+                new Contact(new Name("Jane Doe"), new Faculty("SoC"), new Email("e0334987@u.nus.edu"),
+                        new Description("group mate for CS4215"))));
+        FileOutputStream out = new FileOutputStream(f);
+        BinarySnapshot.write(out, expenses, modules, contacts);
+        out.close();
+
+        BinarySnapshot.Contents contents = BinarySnapshot.read(f.getPath());
+        assertEquals(2, contents.expenses.size());
+        assertEquals("2022-03-15 | $9.50 | Movie | Spiderman: No Way Home", contents.expenses.get(0).toString());
+        assertEquals("2022-02-17 | USD 2.40 | Food | Popcorn \u00e9", // e with acute accent
+                contents.expenses.get(1).toString());
+        assertTrue(modules.get(0).isEqualTo(contents.modules.get(0)));
+        assertEquals(contacts.get(0).toString(), contents.contacts.get(0).toString());
+    }
+
+    @Test
+    public void read_textDataFile_exceptionThrown() throws IOException {
+        File f = File.createTempFile("allonus", StorageFile.BINARY_FILE_SUFFIX);
+        f.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(f);
+        out.write("E,add d/2022-03-15 a/9.50 c/Movie r/Matrix\n".getBytes());
+        out.close();
+
+        assertThrows(IOException.class, () -> BinarySnapshot.read(f.getPath()));
+    }
+
+    @Test
+    public void toCents_variousAmounts_convertedExactly() {
+        assertEquals(950, BinarySnapshot.toCents("9.50"));
+        assertEquals(1800, BinarySnapshot.toCents("18"));
+        assertEquals(3, BinarySnapshot.toCents("0.025"));
+        assertEquals("9.50", BinarySnapshot.fromCents(950));
+    }
+}
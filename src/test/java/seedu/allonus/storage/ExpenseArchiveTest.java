@@ -0,0 +1,92 @@
+package seedu.allonus.storage;
+
+import org.junit.jupiter.api.Test;
+import seedu.allonus.expense.Expense;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests the functionality of ExpenseArchive class.
+ */
+public class ExpenseArchiveTest {
+    private static ExpenseArchive newArchive() throws IOException {
+        File directory = Files.createTempDirectory("allonus").toFile();
+        directory.deleteOnExit();
+        return new ExpenseArchive(new File(directory, "allonusData.txt").getPath());
+    }
+
+    private static ArrayList<String> getRemarks(ExpenseArchive archive) {
+        ArrayList<String> remarks = new ArrayList<>();
+        archive.forEach(null, null, expense -> remarks.add(expense.getRemark()));
+        for (File segment : archive.getSegments()) {
+            segment.deleteOnExit();
+        }
+        return remarks;
+    }
+
+    @Test
+    public void forEach_appendedTwice_allExpensesInRangeReturned() throws IOException {
+        File directory = Files.createTempDirectory("allonus").toFile();
+        directory.deleteOnExit();
+        ExpenseArchive archive = new ExpenseArchive(new File(directory, "allonusData.txt").getPath());
+        archive.append(Arrays.asList(new Expense("2021-03-15", "9.50", "Movie", "Dune"),
+                new Expense("2021-04-02", "4", "Food", "Chicken rice")));
+        archive.commitAppend();
+        archive.append(Arrays.asList(new Expense("2021-03-20", "3", "Food", "Kopi")));
+        archive.commitAppend();
+        for (File segment : archive.getSegments()) {
+            segment.deleteOnExit();
+        }
+
+        ArrayList<String> archived = new ArrayList<>();
+        archive.forEach(null, null, expense -> archived.add(expense.toString()));
+        assertEquals(Arrays.asList("2021-03-15 | $9.50 | Movie | Dune", "2021-03-20 | $3 | Food | Kopi",
+                "2021-04-02 | $4 | Food | Chicken rice"), archived);
+
+        archived.clear();
+        archive.forEach("2021-03-16", "2021-03-31", expense -> archived.add(expense.getRemark()));
+        assertEquals(Arrays.asList("Kopi"), archived);
+        assertEquals(2, archive.getSegments().size());
+    }
+
+    @Test
+    public void recoverPendingAppend_completeAppend_onlyAppendedEntriesReturned() throws IOException {
+        ExpenseArchive archive = newArchive();
+        Expense dune = new Expense("2021-03-15", "9.50", "Movie", "Dune");
+        archive.append(Arrays.asList(new Expense("2021-02-01", "3", "Food", "Kopi")));
+        archive.commitAppend();
+        archive.append(Arrays.asList(dune));
+
+        assertEquals(Arrays.asList(StorageFile.formatExpense(dune)), archive.recoverPendingAppend());
+        assertEquals(Arrays.asList(StorageFile.formatExpense(dune)), archive.recoverPendingAppend());
+        archive.commitAppend();
+        assertNull(archive.recoverPendingAppend());
+        assertEquals(Arrays.asList("Kopi", "Dune"), getRemarks(archive));
+    }
+
+    @Test
+    public void recoverPendingAppend_tornAppend_undone() throws IOException {
+        ExpenseArchive archive = newArchive();
+        archive.append(Arrays.asList(new Expense("2021-03-15", "9.50", "Movie", "Dune")));
+        archive.commitAppend();
+        archive.append(Arrays.asList(new Expense("2021-03-20", "3", "Food", "Kopi"),
+                new Expense("2021-04-02", "4", "Food", "Chicken rice")));
+        File march = archive.getSegments().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(march, "rw")) {
+            file.setLength(file.length() - 4);
+        }
+
+        assertNull(archive.recoverPendingAppend());
+        assertNull(archive.recoverPendingAppend());
+        assertEquals(Arrays.asList("Dune"), getRemarks(archive));
+        assertEquals(1, archive.getSegments().size());
+    }
+}
@@ -0,0 +1,92 @@
+package seedu.allonus.storage;
+
+import org.junit.jupiter.api.Test;
+import seedu.allonus.expense.Expense;
+import seedu.allonus.expense.ExpenseTracker;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the functionality of ParallelDataLoader class.
+ */
+public class ParallelDataLoaderTest {
+    private static final String CRLF = "\r\n";
+    private static final String EXPENSE_ENTRY = "E,add d/2022-03-24 a/9.50 c/Movie r/Jujutsu Kaisen";
+
+    private static File writeTempFile(byte[] bytes) throws IOException {
+        File f = File.createTempFile("allonus", ".txt");
+        f.deleteOnExit();
+        try (FileOutputStream out = new FileOutputStream(f)) {
+            out.write(bytes);
+        }
+        return f;
+    }
+
+    private static List<String> readSequentially(File f) throws IOException {
+        List<String> sequentialEntries = new ArrayList<>();
+        try (Scanner fileReader = new Scanner(f, StandardCharsets.UTF_8.name())) {
+            while (fileReader.hasNext()) {
+                sequentialEntries.add(fileReader.nextLine());
+            }
+        }
+        return sequentialEntries;
+    }
+
+    private static List<ParallelDataLoader.ParsedLine> loadInParallel(File f) throws IOException {
+        return new ParallelDataLoader(null, Collections.singletonList(StorageFile.EXPENSE_TAG)).load(f.getPath());
+    }
+
+    @Test
+    public void load_crlfLinesAcrossChunkBoundaries_sameAsSequentialLoad() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; content.length() < ParallelDataLoader.MIN_CHUNK_BYTES * 3; i++) {
+            content.append(StorageFile.EXPENSE_TAG).append(StorageFile.ENTRY_DELIMITER)
+                    .append(String.format("add d/2022-03-%02d a/%d.50 c/Food r/Lunch %d", i % 28 + 1, i % 100, i))
+                    .append(CRLF);
+        }
+        byte[] bytes = content.toString().getBytes(StandardCharsets.UTF_8);
+        int boundary = (int) ParallelDataLoader.MIN_CHUNK_BYTES;
+        assertTrue(bytes[boundary - 1] != '\n' && bytes[boundary] != '\n');
+        File f = writeTempFile(bytes);
+
+        List<String> sequentialEntries = readSequentially(f);
+        List<ParallelDataLoader.ParsedLine> parsedLines = loadInParallel(f);
+
+        assertEquals(sequentialEntries.size(), parsedLines.size());
+        for (int i = 0; i < parsedLines.size(); i++) {
+            String entry = sequentialEntries.get(i);
+            ParallelDataLoader.ParsedLine parsedLine = parsedLines.get(i);
+            assertEquals(entry, parsedLine.entry);
+            Expense expected = ExpenseTracker.parseSavedExpense(entry.split(StorageFile.ENTRY_DELIMITER, 2)[1]);
+            assertEquals(expected.toString(), parsedLine.parsed.toString());
+        }
+    }
+
+    @Test
+    public void load_emptyLines_sameLinesAsSequentialLoad() throws IOException {
+        String content = EXPENSE_ENTRY + "\n\n" + EXPENSE_ENTRY + CRLF + CRLF + "\n";
+        File f = writeTempFile(content.getBytes(StandardCharsets.UTF_8));
+
+        List<String> sequentialEntries = readSequentially(f);
+        List<ParallelDataLoader.ParsedLine> parsedLines = loadInParallel(f);
+
+        assertEquals(Arrays.asList(EXPENSE_ENTRY, "", EXPENSE_ENTRY), sequentialEntries);
+        assertEquals(sequentialEntries.size(), parsedLines.size());
+        for (int i = 0; i < parsedLines.size(); i++) {
+            assertEquals(sequentialEntries.get(i), parsedLines.get(i).entry);
+        }
+        assertNull(parsedLines.get(1).parsed);
+    }
+}
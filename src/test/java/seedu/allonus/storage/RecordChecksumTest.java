@@ -0,0 +1,35 @@
+package seedu.allonus.storage;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the functionality of RecordChecksum class.
+ */
+public class RecordChecksumTest {
+    private static final String RECORD = "E,add d/2022-03-15 a/9.50 c/Movie r/Spiderman: No Way Home";
+
+    @Test
+    public void unseal_sealedRecord_recordReturned() {
+        String line = RecordChecksum.seal(RECORD);
+        assertTrue(RecordChecksum.isSealed(line));
+        assertEquals(RECORD, RecordChecksum.unseal(line));
+    }
+
+    @Test
+    public void unseal_legacyRecord_nullReturned() {
+        assertFalse(RecordChecksum.isSealed(RECORD));
+        assertNull(RecordChecksum.unseal(RECORD));
+    }
+
+    @Test
+    public void unseal_tornRecord_nullReturned() {
+        String line = RecordChecksum.seal(RECORD);
+        assertNull(RecordChecksum.unseal(line.substring(0, line.length() - 3)));
+        assertNull(RecordChecksum.unseal(line.replace("9.50", "9.60")));
+    }
+}
@@ -1,11 +1,130 @@
 package seedu.allonus.storage;
 
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
+import seedu.allonus.contacts.ContactsManager;
+import seedu.allonus.expense.Expense;
+import seedu.allonus.expense.ExpenseTracker;
+import seedu.allonus.modules.StudyManager;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Tests the functionality of StorageFile class.
  */
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class StorageFileTest {
+    private static final String EXPENSE_ENTRY = "E,add d/2022-03-24 a/9.50 c/Movie r/Jujutsu Kaisen";
+    private static final String CONTACT_ENTRY = "C,add n/Jane Doe f/SoC e/e0334987@u.nus.edu d/group mate";
+    private static final long OLD_LAST_MODIFIED = 1000000000000L;
+
+    private final ContactsManager contactsManager = new ContactsManager();
+    private final ExpenseTracker expenseTracker = new ExpenseTracker();
+    private final StudyManager studyManager = new StudyManager();
+    private StorageFile storageFile;
+    private String fileName;
+
+    @BeforeEach
+    public void setUp() {
+        fileName = "allonusTest" + System.nanoTime() + ".txt";
+        StorageFile.setFields(contactsManager, expenseTracker, studyManager, fileName);
+        new File(StorageFile.DIRECTORY_NAME).mkdirs();
+        storageFile = new StorageFile();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        storageFile.ensureAllLoaded();
+        StorageFile.setShardedMode(false);
+        StorageFile.setJournalMode(false);
+        clearLists();
+        File[] files = new File(StorageFile.DIRECTORY_NAME).listFiles((dir, name) -> name.startsWith(fileName));
+        for (File file : files == null ? new File[0] : files) {
+            file.delete();
+        }
+    }
+
+    private void clearLists() {
+        ExpenseTracker.removeArchivedExpenses(expense -> true);
+        contactsManager.getContactsList().clear();
+        studyManager.getModulesList().clear();
+    }
+
+    private static void writeDataFile(String relativePath, String... entries) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String entry : entries) {
+            lines.add(RecordChecksum.seal(entry));
+        }
+        Files.write(Paths.get(relativePath), lines, StandardCharsets.UTF_8);
+    }
+
+    private List<String> getExpenses() {
+        List<String> expenses = new ArrayList<>();
+        for (Expense expense : expenseTracker.getExpenseList()) {
+            expenses.add(expense.toString());
+        }
+        return expenses;
+    }
+
+    @Test
+    public void writeDataToFile_oneManagerModified_onlyItsShardRewritten() throws IOException {
+        StorageFile.setShardedMode(true);
+        writeDataFile(storageFile.getDatafileRelativePath(), EXPENSE_ENTRY, CONTACT_ENTRY);
+        storageFile.deferLoadData();
+        storageFile.writeDataToFile();
+        File expenseShard = new File(storageFile.getShardRelativePath(StorageFile.EXPENSE_TAG));
+        File contactShard = new File(storageFile.getShardRelativePath(StorageFile.CONTACT_TAG));
+        assertTrue(expenseShard.exists());
+        assertTrue(contactShard.setLastModified(OLD_LAST_MODIFIED));
+
+        ExpenseTracker.loadAdd("add d/2022-03-25 a/4 c/Food r/Chicken rice");
+        storageFile.recordAdd(StorageFile.EXPENSE_TAG, expenseTracker.getExpenseCount() - 1);
+        storageFile.writeDataToFile();
+
+        assertEquals(OLD_LAST_MODIFIED, contactShard.lastModified());
+        assertEquals(2, Files.readAllLines(expenseShard.toPath(), StandardCharsets.UTF_8).size());
+
+        clearLists();
+        storageFile.deferLoadData();
+        storageFile.ensureAllLoaded();
+        assertEquals(Arrays.asList("2022-03-24 | $9.50 | Movie | Jujutsu Kaisen",
+                "2022-03-25 | $4 | Food | Chicken rice"), getExpenses());
+        assertEquals(1, contactsManager.getContactsCount());
+        assertEquals("Jane Doe", contactsManager.getContactsList().get(0).getName().toString());
+    }
+
+    @Test
+    public void ensureLoaded_oneTag_onlyItsEntriesLoadedWithJournalReplayed() throws IOException {
+        StorageFile.setJournalMode(true);
+        writeDataFile(storageFile.getDatafileRelativePath(), EXPENSE_ENTRY, CONTACT_ENTRY);
+        StorageJournal journal = new StorageJournal(storageFile.getDatafileRelativePath()
+                + StorageFile.JOURNAL_FILE_SUFFIX);
+        journal.append(StorageJournal.OP_ADD, 1, "E,add d/2022-03-25 a/4 c/Food r/Chicken rice");
+        journal.append(StorageJournal.OP_ADD, 1, "C,add n/John Doe f/FASS e/e0123456@u.nus.edu d/tutor");
+        journal.flush();
+
+        storageFile.deferLoadData();
+        storageFile.ensureLoaded(StorageFile.EXPENSE_TAG);
+        assertEquals(Arrays.asList("2022-03-24 | $9.50 | Movie | Jujutsu Kaisen",
+                "2022-03-25 | $4 | Food | Chicken rice"), getExpenses());
+        assertEquals(0, contactsManager.getContactsCount());
+
+        Files.delete(Paths.get(storageFile.getDatafileRelativePath()));
+        storageFile.ensureLoaded(StorageFile.CONTACT_TAG);
+        assertEquals(2, contactsManager.getContactsCount());
+        assertEquals("John Doe", contactsManager.getContactsList().get(1).getName().toString());
+        assertEquals(2, expenseTracker.getExpenseCount());
+    }
 }
@@ -0,0 +1,71 @@
+package seedu.allonus.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the functionality of StorageJournal class.
+ */
+public class StorageJournalTest {
+
+    @Test
+    public void flush_queuedRecords_appendedInOrder() throws IOException {
+        File f = File.createTempFile("allonus", StorageFile.JOURNAL_FILE_SUFFIX);
+        f.deleteOnExit();
+        StorageJournal journal = new StorageJournal(f.getPath());
+        journal.clear();
+
+        journal.append(StorageJournal.OP_ADD, 0, "E,add d/2022-03-24 a/9.50 c/Movie r/Jujutsu Kaisen");
+        journal.append(StorageJournal.OP_REMOVE, 0, StorageFile.EXPENSE_TAG);
+        journal.flush();
+        journal.append(StorageJournal.OP_ADD, 0, "C,add n/Jane Doe f/SoC e/e0334987@u.nus.edu d/group mate");
+        journal.flush();
+
+        ArrayList<String> records = journal.readRecords();
+        assertEquals(3, records.size());
+        assertEquals("A,0,E,add d/2022-03-24 a/9.50 c/Movie r/Jujutsu Kaisen", records.get(0));
+        assertEquals("D,0,E", records.get(1));
+        assertEquals(3, journal.getRecordCount());
+    }
+
+    @Test
+    public void clear_afterFlush_noRecordsLeft() throws IOException {
+        File f = File.createTempFile("allonus", StorageFile.JOURNAL_FILE_SUFFIX);
+        f.deleteOnExit();
+        StorageJournal journal = new StorageJournal(f.getPath());
+
+        journal.append(StorageJournal.OP_UPDATE, 2, "S,add m/CS2113 c/lec d/Friday t/4pm-6pm");
+        journal.flush();
+        journal.clear();
+
+        assertEquals(0, journal.readRecords().size());
+        assertEquals(0, journal.getRecordCount());
+    }
+
+    @Test
+    public void discardCorruptedRecords_tornRecord_laterRecordsReadable() throws IOException {
+        File f = File.createTempFile("allonus", StorageFile.JOURNAL_FILE_SUFFIX);
+        f.deleteOnExit();
+        StorageJournal journal = new StorageJournal(f.getPath());
+        journal.clear();
+        journal.append(StorageJournal.OP_REMOVE, 1, StorageFile.CONTACT_TAG);
+        journal.flush();
+        FileWriter fileWrite = new FileWriter(f, true);
+        fileWrite.write("A,0,E,add d/2022-0");
+        fileWrite.close();
+
+        journal.discardCorruptedRecords();
+        journal.append(StorageJournal.OP_REMOVE, 0, StorageFile.EXPENSE_TAG);
+        journal.flush();
+
+        ArrayList<String> records = journal.readRecords();
+        assertEquals(2, records.size());
+        assertEquals("D,0,E", records.get(1));
+    }
+}
@@ -0,0 +1,72 @@
+package seedu.allonus.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the functionality of StorageWriter class.
+ */
+public class StorageWriterTest {
+    private static final long COALESCING_WINDOW_MILLIS = 200;
+    private static final long LONG_WINDOW_MILLIS = 60000;
+
+    /**
+     * Counts flushes instead of writing a journal.
+     */
+    private static class CountingStorageFile extends StorageFile {
+        private final AtomicInteger flushCount = new AtomicInteger();
+
+        @Override
+        public void flushJournal() {
+            flushCount.incrementAndGet();
+        }
+
+        private int getFlushCount() {
+            return flushCount.get();
+        }
+    }
+
+    @Test
+    public void markDirty_severalWithinWindow_flushedOnce() throws InterruptedException {
+        CountingStorageFile storageFile = new CountingStorageFile();
+        StorageWriter writer = new StorageWriter(storageFile, COALESCING_WINDOW_MILLIS);
+        writer.start();
+        for (int i = 0; i < 5; i++) {
+            writer.markDirty();
+        }
+        Thread.sleep(COALESCING_WINDOW_MILLIS * 3);
+        assertEquals(1, storageFile.getFlushCount());
+
+        writer.markDirty();
+        Thread.sleep(COALESCING_WINDOW_MILLIS * 3);
+        assertEquals(2, storageFile.getFlushCount());
+        writer.close();
+    }
+
+    @Test
+    public void close_pendingRecords_flushedWithoutWaitingForWindow() {
+        CountingStorageFile storageFile = new CountingStorageFile();
+        StorageWriter writer = new StorageWriter(storageFile, LONG_WINDOW_MILLIS);
+        writer.start();
+        writer.markDirty();
+        long start = System.currentTimeMillis();
+        writer.close();
+        assertTrue(System.currentTimeMillis() - start < LONG_WINDOW_MILLIS);
+        assertTrue(storageFile.getFlushCount() >= 1);
+    }
+
+    @Test
+    public void close_calledTwice_flushesEachTime() {
+        CountingStorageFile storageFile = new CountingStorageFile();
+        StorageWriter writer = new StorageWriter(storageFile, COALESCING_WINDOW_MILLIS);
+        writer.start();
+        writer.close();
+        int flushCount = storageFile.getFlushCount();
+        writer.close();
+        assertEquals(flushCount + 1, storageFile.getFlushCount());
+    }
+}
@@ -0,0 +1,57 @@
+package seedu.allonus.tools;
+
+import org.junit.jupiter.api.Test;
+import seedu.allonus.expense.ExpenseTracker;
+import seedu.allonus.storage.RecordChecksum;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the functionality of DatasetGenerator class.
+ */
+public class DatasetGeneratorTest {
+    private static final LocalDate FROM_DATE = LocalDate.parse("2022-01-01");
+    private static final LocalDate TO_DATE = LocalDate.parse("2022-03-31");
+
+    @Test
+    public void writeDataFile_sameSeed_sameValidEntries() throws IOException {
+        File first = File.createTempFile("allonus", ".txt");
+        File second = File.createTempFile("allonus", ".txt");
+        first.deleteOnExit();
+        second.deleteOnExit();
+        new DatasetGenerator(7, 1.0, FROM_DATE, TO_DATE).writeDataFile(first.getPath(), 50, 5, 5);
+        new DatasetGenerator(7, 1.0, FROM_DATE, TO_DATE).writeDataFile(second.getPath(), 50, 5, 5);
+
+        List<String> lines = Files.readAllLines(first.toPath(), StandardCharsets.UTF_8);
+        assertEquals(lines, Files.readAllLines(second.toPath(), StandardCharsets.UTF_8));
+        assertEquals(60, lines.size());
+        for (String line : lines.subList(0, 50)) {
+            String entry = RecordChecksum.unseal(line);
+            assertNotNull(entry);
+            String date = ExpenseTracker.parseSavedExpense(entry.substring(2)).getDate();
+            assertTrue(date.compareTo(FROM_DATE.toString()) >= 0 && date.compareTo(TO_DATE.toString()) <= 0);
+        }
+        assertTrue(RecordChecksum.unseal(lines.get(59)).startsWith("C,add n/Contact 4 "));
+    }
+
+    @Test
+    public void nextExpenseEntry_highSkew_firstCategoryMostCommon() {
+        DatasetGenerator generator = new DatasetGenerator(7, 2.0, FROM_DATE, TO_DATE);
+        int firstCategoryCount = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (generator.nextExpenseEntry(i).contains(" c/" + DatasetGenerator.EXPENSE_CATEGORIES[0] + " ")) {
+                firstCategoryCount++;
+            }
+        }
+        assertTrue(firstCategoryCount > 500);
+    }
+}
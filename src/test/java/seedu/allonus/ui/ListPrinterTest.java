@@ -0,0 +1,58 @@
+package seedu.allonus.ui;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ListPrinterTest {
+
+    @Test
+    void parseRange_noOptions_wholeList() {
+        assertArrayEquals(new int[]{0, 45}, ListPrinter.parseRange("list", 45));
+    }
+
+    @Test
+    void parseRange_pageOptions_onePage() {
+        assertArrayEquals(new int[]{20, 40}, ListPrinter.parseRange("list p/2", 45));
+        assertArrayEquals(new int[]{40, 45}, ListPrinter.parseRange("list p/3", 45));
+        assertArrayEquals(new int[]{10, 15}, ListPrinter.parseRange("list p/3 s/5", 45));
+        assertArrayEquals(new int[]{0, 50}, ListPrinter.parseRange("list s/50", 100));
+        assertArrayEquals(new int[]{45, 45}, ListPrinter.parseRange("list p/4", 45));
+    }
+
+    @Test
+    void parseRange_tailOption_lastEntries() {
+        assertArrayEquals(new int[]{40, 45}, ListPrinter.parseRange("list --tail 5", 45));
+        assertArrayEquals(new int[]{0, 45}, ListPrinter.parseRange("list --tail 100", 45));
+    }
+
+    @Test
+    void parseRange_invalidOptions_exceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () -> ListPrinter.parseRange("list p/0", 45));
+        assertThrows(IllegalArgumentException.class, () -> ListPrinter.parseRange("list p/x", 45));
+        assertThrows(IllegalArgumentException.class, () -> ListPrinter.parseRange("list --tail", 45));
+        assertThrows(IllegalArgumentException.class, () -> ListPrinter.parseRange("list --tail 2 p/1", 45));
+        assertThrows(IllegalArgumentException.class, () -> ListPrinter.parseRange("list all", 45));
+    }
+
+    @Test
+    void print_partOfList_entriesAndRangeLine() {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        try {
+            List<String> entries = Arrays.asList("a", "b", "c");
+            ListPrinter.print("Entries:\n", entries, new int[]{1, 3}, " %d. %s\n", "end\n");
+        } finally {
+            System.setOut(originalOut);
+        }
+        assertEquals("Entries:\n 2. b\n 3. c\nShowing 2 to 3 of 3.\nend\n", output.toString());
+    }
+}